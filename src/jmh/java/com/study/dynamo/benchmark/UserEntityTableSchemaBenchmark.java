@@ -0,0 +1,66 @@
+package com.study.dynamo.benchmark;
+
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityTableSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de mapeamento por item do schema por introspeccao ({@code fromBean}) contra o schema estatico.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserEntityTableSchemaBenchmark {
+
+    @Param({"bean", "static"})
+    private String schema;
+
+    private TableSchema<UserEntity> tableSchema;
+
+    private UserEntity userEntity;
+
+    private Map<String, AttributeValue> item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tableSchema = "bean".equals(schema) ? TableSchema.fromBean(UserEntity.class) : UserEntityTableSchema.INSTANCE;
+        userEntity = UserEntity.builder()
+                .uuid(UUID.randomUUID())
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .cpf("88661696097")
+                .phoneNumber("11988435898")
+                .build();
+        item = tableSchema.itemToMap(userEntity, true);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> itemToMap() {
+        return tableSchema.itemToMap(userEntity, true);
+    }
+
+    @Benchmark
+    public UserEntity mapToItem() {
+        return tableSchema.mapToItem(item);
+    }
+}
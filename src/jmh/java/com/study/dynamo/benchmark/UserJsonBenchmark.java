@@ -0,0 +1,76 @@
+package com.study.dynamo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializacao da resposta e leitura dos corpos de POST e PATCH, com o ObjectMapper configurado como o do Spring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserJsonBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final UserDto userDto = UserDto.builder()
+            .uuid(UUID.randomUUID())
+            .username("João da Silva")
+            .email("joao.silva@email.com")
+            .cpf("88661696097")
+            .phoneNumber("11988435898")
+            .build();
+
+    private byte[] createUserJson;
+
+    private byte[] updateUserJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        createUserJson = objectMapper.writeValueAsBytes(CreateUserDto.builder()
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .cpf("88661696097")
+                .phoneNumber("11988435898")
+                .build());
+        updateUserJson = objectMapper.writeValueAsBytes(UpdateUserDto.builder()
+                .email("joao.silva@email.com")
+                .build());
+    }
+
+    @Benchmark
+    public byte[] writeUserDto() throws IOException {
+        return objectMapper.writeValueAsBytes(userDto);
+    }
+
+    @Benchmark
+    public CreateUserDto readCreateUserDto() throws IOException {
+        return objectMapper.readValue(createUserJson, CreateUserDto.class);
+    }
+
+    @Benchmark
+    public UpdateUserDto readUpdateUserDto() throws IOException {
+        return objectMapper.readValue(updateUserJson, UpdateUserDto.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.study.dynamo.benchmark;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.entity.UserEntity;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversoes do MapStruct feitas em todo request: entidade para resposta, corpo do POST e corpo do PATCH.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    private final UUID uuid = UUID.randomUUID();
+
+    private final String userId = uuid.toString();
+
+    private final UserEntity userEntity = UserEntity.builder()
+            .uuid(uuid)
+            .username("João da Silva")
+            .email("joao.silva@email.com")
+            .cpf("88661696097")
+            .phoneNumber("11988435898")
+            .build();
+
+    private final CreateUserDto createUserDto = CreateUserDto.builder()
+            .username("João da Silva")
+            .email("joao.silva@email.com")
+            .cpf("88661696097")
+            .phoneNumber("11988435898")
+            .build();
+
+    private final UpdateUserDto updateUserDto = UpdateUserDto.builder()
+            .email("joao.silva@email.com")
+            .build();
+
+    @Benchmark
+    public UserDto toUserDto() {
+        return userMapper.toUserDto(userEntity);
+    }
+
+    @Benchmark
+    public UserEntity toUserEntityFromCreate() {
+        return userMapper.toUserEntity(userId, createUserDto);
+    }
+
+    @Benchmark
+    public UserEntity toUserEntityFromPatch() {
+        return userMapper.toUserEntity(uuid, updateUserDto);
+    }
+}
@@ -0,0 +1,76 @@
+package com.study.dynamo.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityTableSchema;
+import com.study.dynamo.respository.support.UserItemCodec;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de leitura do item bruto ate o JSON: entidade + MapStruct contra a decodificacao direta em {@link UserDto}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserReadPathBenchmark {
+
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, AttributeValue> item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var userEntity = UserEntity.builder()
+                .uuid(UUID.randomUUID())
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .cpf("88661696097")
+                .phoneNumber("11988435898")
+                .build();
+        item = UserEntityTableSchema.INSTANCE.itemToMap(userEntity, true);
+    }
+
+    @Benchmark
+    public UserDto entityAndMapper() {
+        return userMapper.toUserDto(UserEntityTableSchema.INSTANCE.mapToItem(item));
+    }
+
+    @Benchmark
+    public UserDto directCodec() {
+        return UserItemCodec.toUserDto(item);
+    }
+
+    @Benchmark
+    public byte[] entityAndMapperToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entityAndMapper());
+    }
+
+    @Benchmark
+    public byte[] directCodecToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(directCodec());
+    }
+}
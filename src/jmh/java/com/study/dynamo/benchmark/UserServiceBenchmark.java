@@ -0,0 +1,107 @@
+package com.study.dynamo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.EmbeddedUserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.service.DefaultUserService;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link DefaultUserService} de ponta a ponta sobre o {@link EmbeddedUserRepository}: o custo do servico, do mapper e
+ * do repositorio sem nenhum I/O. O create remove o usuario criado para o tamanho do repositorio ficar estavel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private final CreateUserDto createUserDto = CreateUserDto.builder()
+            .username("João da Silva")
+            .email("joao.silva@email.com")
+            .cpf("88661696097")
+            .phoneNumber("11988435898")
+            .build();
+
+    private final UpdateUserDto updateUserDto = UpdateUserDto.builder()
+            .phoneNumber("11988435899")
+            .build();
+
+    private EmbeddedUserRepository userRepository;
+
+    private DefaultUserService userService;
+
+    private List<UUID> uuids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userRepository = new EmbeddedUserRepository(64, new ObjectMapper(), null, Duration.ZERO);
+        userService = new DefaultUserService(Mappers.getMapper(UserMapper.class), userRepository, Optional.empty());
+        uuids = IntStream.range(0, USERS)
+                .mapToObj(i -> UUID.randomUUID())
+                .toList();
+        userRepository.saveAll(uuids.stream()
+                .map(uuid -> UserEntity.builder()
+                        .uuid(uuid)
+                        .username("user" + uuid)
+                        .email(uuid + "@email.com")
+                        .cpf(uuid.toString())
+                        .phoneNumber("11988435898")
+                        .build())
+                .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        userRepository.close();
+    }
+
+    @Benchmark
+    public UserDto findUserByUuid() {
+        return userService.findUserByUuid(randomUuid());
+    }
+
+    @Benchmark
+    public UserDto patchUser() {
+        return userService.patchUser(randomUuid(), updateUserDto);
+    }
+
+    @Benchmark
+    public UserDto createAndDeleteUser() {
+        var userDto = userService.createUser(createUserDto);
+        userService.deleteUser(userDto.uuid());
+        return userDto;
+    }
+
+    private UUID randomUuid() {
+        return uuids.get(ThreadLocalRandom.current().nextInt(USERS));
+    }
+}
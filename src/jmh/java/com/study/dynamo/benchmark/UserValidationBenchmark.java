@@ -0,0 +1,80 @@
+package com.study.dynamo.benchmark;
+
+import com.study.dynamo.annotation.ValidatorUpdateUser;
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ValidatorUpdateUser} chamado direto contra a validacao completa pelo Hibernate Validator, que e o que o
+ * request paga. O log de INFO do validador fica de fora pelo logback.xml do source set jmh.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserValidationBenchmark {
+
+    private final ValidatorUpdateUser validatorUpdateUser = new ValidatorUpdateUser();
+
+    private final UpdateUserDto updateUserDto = UpdateUserDto.builder()
+            .email("joao.silva@email.com")
+            .build();
+
+    private final CreateUserDto createUserDto = CreateUserDto.builder()
+            .username("João da Silva")
+            .email("joao.silva@email.com")
+            .cpf("88661696097")
+            .phoneNumber("11988435898")
+            .build();
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean validatorUpdateUser() {
+        return validatorUpdateUser.isValid(updateUserDto, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UpdateUserDto>> beanValidationUpdateUser() {
+        return validator.validate(updateUserDto);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateUserDto>> beanValidationCreateUser() {
+        return validator.validate(createUserDto);
+    }
+}
@@ -0,0 +1,197 @@
+package com.study.dynamo.benchmark;
+
+import com.study.dynamo.integration.DynamoDbStubServer;
+import com.study.dynamo.respository.DefaultUserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Vazao do GET por uuid com o Tomcat em threads de plataforma contra virtual threads, na mesma concorrencia de
+ * clientes ({@link Threads}). O DynamoDB e o {@link DynamoDbStubServer} com latencia fixa, para que as threads passem
+ * a maior parte do tempo bloqueadas como em producao. A aplicacao roda em um processo proprio, a partir do jar do
+ * {@code bootJar}, e o pico de RSS e o numero de threads desse processo saem no log ao final de cada modo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class VirtualThreadsBenchmark {
+
+    private static final int USERS = 1_000;
+
+    private static final Duration DYNAMODB_LATENCY = Duration.ofMillis(20);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private DynamoDbStubServer stubServer;
+
+    private Process application;
+
+    private HttpClient httpClient;
+
+    private List<URI> userUris;
+
+    private final LongAdder failures = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        stubServer = new DynamoDbStubServer(0).start();
+        stubServer.createUserTables();
+        var userEntities = seedUsers();
+        stubServer.withLatency(DYNAMODB_LATENCY, Duration.ZERO);
+
+        var port = freePort();
+        var bootJar = Path.of(System.getProperty("benchmark.boot-jar", "build/libs/user-dynamo-db-0.0.1-SNAPSHOT.jar"));
+        var java = ProcessHandle.current().info().command().orElse("java");
+        application = new ProcessBuilder(java, "-Xms512m", "-Xmx512m",
+                "-Daws.accessKeyId=access-key", "-Daws.secretAccessKey=secret-key",
+                "-jar", bootJar.toAbsolutePath().toString(),
+                "--server.port=" + port,
+                "--server.tomcat.threads.max=200",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--aws.dynamodb.url=" + stubServer.endpoint(),
+                "--aws.dynamodb.http.max-connections=1000",
+                "--aws.dynamodb.cache.enabled=false",
+                "--aws.dynamodb.throttling.enabled=false",
+                "--aws.dynamodb.http.api-call-timeout=60s",
+                "--aws.dynamodb.http.api-call-attempt-timeout=30s",
+                "--logging.level.com.study.dynamo=WARN")
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("build", "tmp", "virtual-threads-benchmark-" + virtualThreads + ".log").toFile())
+                .start();
+
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        waitUntilHealthy(URI.create(String.format("http://localhost:%d/user-dynamo/actuator/health", port)));
+        userUris = userEntities.stream()
+                .map(userEntity -> URI.create(String.format("http://localhost:%d/user-dynamo/users/%s", port, userEntity.getUuid())))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        System.out.printf("%nvirtualThreads=%s pico de RSS=%s threads=%s respostas com erro=%d%n", virtualThreads,
+                processStatus("VmHWM:"), processStatus("Threads:"), failures.sum());
+        application.destroy();
+        if (!application.waitFor(30, TimeUnit.SECONDS)) {
+            application.destroyForcibly();
+        }
+        stubServer.close();
+    }
+
+    @Benchmark
+    public int getUser() throws IOException, InterruptedException {
+        var uri = userUris.get(ThreadLocalRandom.current().nextInt(userUris.size()));
+        var response = httpClient.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+        // Erros nao interrompem a medicao, mas uma contagem alta no log invalida o resultado
+        if (response.statusCode() != 200) {
+            failures.increment();
+        }
+        return response.statusCode();
+    }
+
+    private List<UserEntity> seedUsers() {
+        var userEntities = IntStream.range(0, USERS)
+                .mapToObj(i -> UserEntity.builder()
+                        .uuid(UUID.randomUUID())
+                        .username("user" + i)
+                        .email("user" + i + "@email.com")
+                        .cpf(String.valueOf(i))
+                        .phoneNumber("11988435898")
+                        .build())
+                .toList();
+        var executor = Executors.newFixedThreadPool(4);
+        try (var dynamoDbClient = DynamoDbClient.builder()
+                .endpointOverride(stubServer.endpoint())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("access-key", "secret-key")))
+                .build()) {
+            var dynamoDbEnhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build();
+            new DefaultUserRepository(dynamoDbEnhancedClient, dynamoDbClient, executor).saveAll(userEntities);
+        } finally {
+            executor.shutdownNow();
+        }
+        return userEntities;
+    }
+
+    private void waitUntilHealthy(URI health) throws InterruptedException {
+        var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("A aplicacao terminou durante a subida, veja build/tmp/virtual-threads-benchmark-*.log");
+            }
+            try {
+                var response = httpClient.send(HttpRequest.newBuilder(health).GET().build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // ainda subindo
+            }
+            TimeUnit.MILLISECONDS.sleep(250);
+        }
+        throw new IllegalStateException("A aplicacao nao subiu em " + STARTUP_TIMEOUT);
+    }
+
+    // Linha do /proc/<pid>/status do processo da aplicacao; so existe no Linux
+    private String processStatus(String field) throws IOException {
+        var status = Path.of("/proc", String.valueOf(application.pid()), "status");
+        if (!Files.exists(status)) {
+            return "indisponivel";
+        }
+        try (var lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith(field))
+                    .map(line -> line.substring(field.length()).trim())
+                    .findFirst()
+                    .orElse("indisponivel");
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
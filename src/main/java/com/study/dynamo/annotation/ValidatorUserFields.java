@@ -0,0 +1,24 @@
+package com.study.dynamo.annotation;
+
+import com.study.dynamo.dto.UserDto;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ValidatorUserFields implements ConstraintValidator<ValidUserFields, Collection<String>> {
+
+    private static final Set<String> USER_FIELDS = Arrays.stream(UserDto.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    @Override
+    public boolean isValid(Collection<String> fields, ConstraintValidatorContext constraintValidatorContext) {
+        return Objects.isNull(fields) || USER_FIELDS.containsAll(fields);
+    }
+}
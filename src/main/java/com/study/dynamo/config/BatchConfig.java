@@ -0,0 +1,71 @@
+package com.study.dynamo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+public class BatchConfig {
+
+    public static final String BATCH_EXECUTOR = "dynamoDbBatchExecutor";
+
+    public static final String MICRO_BATCH_SCHEDULER = "dynamoDbMicroBatchScheduler";
+
+    public static final String MICRO_BATCH_LOADER_EXECUTOR = "dynamoDbMicroBatchLoaderExecutor";
+
+    @Value("${aws.dynamodb.batch.parallelism:4}")
+    private int parallelism;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Com virtual threads cada lote ganha sua thread e o limite de chamadas simultaneas ao DynamoDB passa a ser o pool
+     * de conexoes HTTP ({@code aws.dynamodb.http.max-connections}), nao {@code aws.dynamodb.batch.parallelism}.
+     */
+    @Bean(name = BATCH_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService getDynamoDbBatchExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(workerThreadFactory("dynamodb-batch-", true));
+        }
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("dynamodb-batch-"));
+    }
+
+    @Bean(name = MICRO_BATCH_SCHEDULER, destroyMethod = "shutdown")
+    public ScheduledExecutorService getDynamoDbMicroBatchScheduler() {
+        var threadFactory = new CustomizableThreadFactory("dynamodb-micro-batch-");
+        threadFactory.setDaemon(true);
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    /**
+     * Pool proprio do carregamento dos micro-batches: o loader chama {@code findAllByUuids}, que usa o executor de lotes,
+     * e dividir o mesmo pool deixaria as threads esperando por tarefas enfileiradas atras delas.
+     */
+    @Bean(name = MICRO_BATCH_LOADER_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService getDynamoDbMicroBatchLoaderExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(workerThreadFactory("dynamodb-micro-batch-loader-", true));
+        }
+        return Executors.newFixedThreadPool(parallelism, workerThreadFactory("dynamodb-micro-batch-loader-", false));
+    }
+
+    /**
+     * Fabrica das threads de trabalho (lotes, exportacao, importacao): virtuais ou de plataforma daemon, conforme
+     * {@code spring.threads.virtual.enabled}.
+     */
+    public static ThreadFactory workerThreadFactory(String prefix, boolean virtualThreads) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(prefix, 1).factory();
+        }
+        var threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -1,19 +1,27 @@
 package com.study.dynamo.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 import java.net.URI;
 
 @Configuration
 @Profile("!Test")
+@ConditionalOnProperty(name = "aws.dynamodb.embedded", havingValue = "false", matchIfMissing = true)
 public class DynamoDbConfig {
 
     @Value("${aws.region}")
@@ -28,11 +36,37 @@ public class DynamoDbConfig {
     }
 
     @Bean
-    public DynamoDbClient getDynamoDBClient(AwsCredentialsProvider awsCredentialsProvider) {
+    public DynamoDbClient getDynamoDBClient(AwsCredentialsProvider awsCredentialsProvider,
+                                            SdkHttpClient dynamoDbHttpClient,
+                                            @Qualifier(DynamoDbHttpClientConfig.CLIENT_OVERRIDE_CONFIGURATION)
+                                            ClientOverrideConfiguration dynamoDbClientOverrideConfiguration) {
         return DynamoDbClient.builder()
                 .region(Region.of(region))
                 .endpointOverride(URI.create(dynamoDBEndpoint))
                 .credentialsProvider(awsCredentialsProvider)
+                .httpClient(dynamoDbHttpClient)
+                .overrideConfiguration(dynamoDbClientOverrideConfiguration)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "aws.dynamodb.async", havingValue = "true")
+    public DynamoDbEnhancedAsyncClient getDynamoDBEnhancedAsyncClient(DynamoDbAsyncClient dynamoDbAsyncClient) {
+        return DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(dynamoDbAsyncClient).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "aws.dynamodb.async", havingValue = "true")
+    public DynamoDbAsyncClient getDynamoDBAsyncClient(AwsCredentialsProvider awsCredentialsProvider,
+                                                      SdkAsyncHttpClient dynamoDbAsyncHttpClient,
+                                                      @Qualifier(DynamoDbHttpClientConfig.ASYNC_CLIENT_OVERRIDE_CONFIGURATION)
+                                                      ClientOverrideConfiguration dynamoDbAsyncClientOverrideConfiguration) {
+        return DynamoDbAsyncClient.builder()
+                .region(Region.of(region))
+                .endpointOverride(URI.create(dynamoDBEndpoint))
+                .credentialsProvider(awsCredentialsProvider)
+                .httpClient(dynamoDbAsyncHttpClient)
+                .overrideConfiguration(dynamoDbAsyncClientOverrideConfiguration)
                 .build();
     }
 }
@@ -0,0 +1,173 @@
+package com.study.dynamo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+import java.time.Duration;
+
+/**
+ * Transporte HTTP dos clientes DynamoDB. {@code aws.dynamodb.http.client} escolhe a implementacao sincrona; cada uma
+ * aceita um subconjunto das opcoes e as demais sao ignoradas com aviso no log.
+ */
+@Configuration
+@Profile("!Test")
+@ConditionalOnProperty(name = "aws.dynamodb.embedded", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class DynamoDbHttpClientConfig {
+
+    public static final String CLIENT_OVERRIDE_CONFIGURATION = "dynamoDbClientOverrideConfiguration";
+
+    public static final String ASYNC_CLIENT_OVERRIDE_CONFIGURATION = "dynamoDbAsyncClientOverrideConfiguration";
+
+    private static final Duration CRT_KEEP_ALIVE_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final String ASYNC_CLIENT = "netty";
+
+    @Value("${aws.dynamodb.http.client:apache}")
+    private String client;
+
+    @Value("${aws.dynamodb.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${aws.dynamodb.http.connection-timeout:2s}")
+    private Duration connectionTimeout;
+
+    @Value("${aws.dynamodb.http.socket-timeout:5s}")
+    private Duration socketTimeout;
+
+    @Value("${aws.dynamodb.http.connection-acquisition-timeout:1s}")
+    private Duration connectionAcquisitionTimeout;
+
+    @Value("${aws.dynamodb.http.connection-time-to-live:60s}")
+    private Duration connectionTimeToLive;
+
+    @Value("${aws.dynamodb.http.connection-max-idle-time:30s}")
+    private Duration connectionMaxIdleTime;
+
+    @Value("${aws.dynamodb.http.use-idle-connection-reaper:true}")
+    private boolean useIdleConnectionReaper;
+
+    @Value("${aws.dynamodb.http.tcp-keep-alive:true}")
+    private boolean tcpKeepAlive;
+
+    @Value("${aws.dynamodb.http.tcp-keep-alive-interval:30s}")
+    private Duration tcpKeepAliveInterval;
+
+    @Value("${aws.dynamodb.http.api-call-timeout:10s}")
+    private Duration apiCallTimeout;
+
+    @Value("${aws.dynamodb.http.api-call-attempt-timeout:3s}")
+    private Duration apiCallAttemptTimeout;
+
+    @Bean
+    public SdkHttpClient getDynamoDbHttpClient() {
+        log.info("Cliente HTTP do DynamoDB: [{}] com ate [{}] conexoes", client, maxConnections);
+        return switch (client) {
+            case "apache" -> {
+                if (tcpKeepAlive) {
+                    log.warn("Apache usa o intervalo de keep-alive do sistema operacional; ignorando tcp-keep-alive-interval");
+                }
+                yield ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionTimeout(connectionTimeout)
+                        .socketTimeout(socketTimeout)
+                        .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                        .connectionTimeToLive(connectionTimeToLive)
+                        .connectionMaxIdleTime(connectionMaxIdleTime)
+                        .useIdleConnectionReaper(useIdleConnectionReaper)
+                        .tcpKeepAlive(tcpKeepAlive)
+                        .build();
+            }
+            case "url-connection" -> {
+                log.warn("URLConnection nao tem pool configuravel; ignorando max-connections, time-to-live, idle e keep-alive");
+                yield UrlConnectionHttpClient.builder()
+                        .connectionTimeout(connectionTimeout)
+                        .socketTimeout(socketTimeout)
+                        .build();
+            }
+            case "crt" -> {
+                log.warn("CRT nao suporta socket-timeout, connection-acquisition-timeout e connection-time-to-live; ignorando");
+                var builder = AwsCrtHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .connectionTimeout(connectionTimeout)
+                        .connectionMaxIdleTime(connectionMaxIdleTime);
+                if (tcpKeepAlive) {
+                    builder.tcpKeepAliveConfiguration(keepAlive -> keepAlive
+                            .keepAliveInterval(tcpKeepAliveInterval)
+                            .keepAliveTimeout(CRT_KEEP_ALIVE_TIMEOUT));
+                }
+                yield builder.build();
+            }
+            default -> throw new IllegalStateException(String.format(
+                    "aws.dynamodb.http.client invalido: %s (esperado apache, url-connection ou crt)", client));
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "aws.dynamodb.async", havingValue = "true")
+    public SdkAsyncHttpClient getDynamoDbAsyncHttpClient() {
+        if (tcpKeepAlive) {
+            log.warn("Netty usa o intervalo de keep-alive do sistema operacional; ignorando tcp-keep-alive-interval");
+        }
+        return NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(maxConnections)
+                .connectionTimeout(connectionTimeout)
+                .readTimeout(socketTimeout)
+                .writeTimeout(socketTimeout)
+                .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                .connectionTimeToLive(connectionTimeToLive)
+                .connectionMaxIdleTime(connectionMaxIdleTime)
+                .useIdleConnectionReaper(useIdleConnectionReaper)
+                .tcpKeepAlive(tcpKeepAlive)
+                .build();
+    }
+
+    @Bean(name = CLIENT_OVERRIDE_CONFIGURATION)
+    public ClientOverrideConfiguration getDynamoDbClientOverrideConfiguration(
+            MeterRegistry meterRegistry,
+            ObjectProvider<DynamoDbThrottlingInterceptor> throttlingInterceptor,
+            ObjectProvider<RetryBudgetStrategy> retryStrategy) {
+        var overrideConfiguration = overrideConfiguration(new HttpClientMetricPublisher(meterRegistry, client));
+        // Presentes apenas com aws.dynamodb.throttling.enabled
+        throttlingInterceptor.ifAvailable(overrideConfiguration::addExecutionInterceptor);
+        retryStrategy.ifAvailable(overrideConfiguration::retryStrategy);
+        return overrideConfiguration.build();
+    }
+
+    /**
+     * O interceptor roda no pipeline assincrono do SDK, onde esperar pelo limitador prenderia a thread do Netty; por
+     * isso o cliente assincrono recebe a versao que falha na hora acima da taxa. O pool do Netty e outro, entao as
+     * metricas dele saem com {@code client=netty}.
+     */
+    @Bean(name = ASYNC_CLIENT_OVERRIDE_CONFIGURATION)
+    @ConditionalOnProperty(name = "aws.dynamodb.async", havingValue = "true")
+    public ClientOverrideConfiguration getDynamoDbAsyncClientOverrideConfiguration(
+            MeterRegistry meterRegistry,
+            ObjectProvider<DynamoDbThrottlingInterceptor> throttlingInterceptor,
+            ObjectProvider<RetryBudgetStrategy> retryStrategy) {
+        var overrideConfiguration = overrideConfiguration(new HttpClientMetricPublisher(meterRegistry, ASYNC_CLIENT));
+        throttlingInterceptor.ifAvailable(interceptor -> overrideConfiguration.addExecutionInterceptor(interceptor.nonBlocking()));
+        retryStrategy.ifAvailable(overrideConfiguration::retryStrategy);
+        return overrideConfiguration.build();
+    }
+
+    private ClientOverrideConfiguration.Builder overrideConfiguration(HttpClientMetricPublisher metricPublisher) {
+        return ClientOverrideConfiguration.builder()
+                .apiCallTimeout(apiCallTimeout)
+                .apiCallAttemptTimeout(apiCallAttemptTimeout)
+                .addMetricPublisher(metricPublisher);
+    }
+}
@@ -0,0 +1,93 @@
+package com.study.dynamo.config;
+
+import com.study.dynamo.respository.support.AdaptiveRateLimiter;
+import com.study.dynamo.respository.support.RetryBudget;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+
+import java.time.Duration;
+
+/**
+ * Limitadores adaptativos de leitura e escrita e orcamento global de retentativas dos clientes DynamoDB.
+ */
+@Configuration
+@Profile("!Test")
+@ConditionalOnProperty(name = "aws.dynamodb.throttling.enabled", havingValue = "true")
+public class DynamoDbThrottlingConfig {
+
+    @Value("${aws.dynamodb.throttling.read.min-rate:10}")
+    private double readMinRate;
+
+    @Value("${aws.dynamodb.throttling.read.max-rate:2000}")
+    private double readMaxRate;
+
+    @Value("${aws.dynamodb.throttling.write.min-rate:5}")
+    private double writeMinRate;
+
+    @Value("${aws.dynamodb.throttling.write.max-rate:1000}")
+    private double writeMaxRate;
+
+    @Value("${aws.dynamodb.throttling.decrease-factor:0.7}")
+    private double decreaseFactor;
+
+    @Value("${aws.dynamodb.throttling.recovery-per-second:20}")
+    private double recoveryPerSecond;
+
+    @Value("${aws.dynamodb.throttling.cooldown:100ms}")
+    private Duration cooldown;
+
+    @Value("${aws.dynamodb.throttling.max-wait:1s}")
+    private Duration maxWait;
+
+    @Value("${aws.dynamodb.throttling.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${aws.dynamodb.throttling.retry-budget.ratio:0.1}")
+    private double retryBudgetRatio;
+
+    @Value("${aws.dynamodb.throttling.retry-budget.min-per-second:10}")
+    private double retryBudgetMinPerSecond;
+
+    @Value("${aws.dynamodb.throttling.retry-budget.max-tokens:100}")
+    private double retryBudgetMaxTokens;
+
+    @Bean
+    public DynamoDbThrottlingInterceptor getDynamoDbThrottlingInterceptor(MeterRegistry meterRegistry) {
+        var readRateLimiter = rateLimiter("leitura", readMinRate, readMaxRate);
+        var writeRateLimiter = rateLimiter("escrita", writeMinRate, writeMaxRate);
+        Gauge.builder("dynamodb.throttling.rate", readRateLimiter, AdaptiveRateLimiter::rate)
+                .description("Taxa atual permitida pelo limitador adaptativo")
+                .tag("operation", "read")
+                .register(meterRegistry);
+        Gauge.builder("dynamodb.throttling.rate", writeRateLimiter, AdaptiveRateLimiter::rate)
+                .description("Taxa atual permitida pelo limitador adaptativo")
+                .tag("operation", "write")
+                .register(meterRegistry);
+        return new DynamoDbThrottlingInterceptor(readRateLimiter, writeRateLimiter);
+    }
+
+    @Bean
+    public RetryBudgetStrategy getDynamoDbRetryStrategy(MeterRegistry meterRegistry) {
+        var retryBudget = new RetryBudget(retryBudgetRatio, retryBudgetMinPerSecond, retryBudgetMaxTokens);
+        Gauge.builder("dynamodb.retry.budget", retryBudget, RetryBudget::available)
+                .description("Retentativas disponiveis no orcamento global")
+                .register(meterRegistry);
+        // O orcamento substitui o circuit breaker do SDK, que nao tem capacidade configuravel
+        var delegate = AwsRetryStrategy.standardRetryStrategy().toBuilder()
+                .maxAttempts(maxAttempts)
+                .circuitBreakerEnabled(false)
+                .build();
+        return new RetryBudgetStrategy(delegate, retryBudget);
+    }
+
+    private AdaptiveRateLimiter rateLimiter(String name, double minRate, double maxRate) {
+        return new AdaptiveRateLimiter(name, minRate, maxRate, decreaseFactor, recoveryPerSecond,
+                cooldown.toNanos(), maxWait.toNanos());
+    }
+}
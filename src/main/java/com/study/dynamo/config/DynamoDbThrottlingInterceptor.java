@@ -0,0 +1,124 @@
+package com.study.dynamo.config;
+
+import com.study.dynamo.respository.support.AdaptiveRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Passa cada tentativa (inclusive retentativas) pelo limitador de leitura ou de escrita e ensina o limitador com as
+ * respostas de throttling. O tipo do erro so vem no corpo da resposta 400, por isso o corpo e lido e devolvido intacto.
+ * A versao {@link #nonBlocking()} divide os mesmos limitadores mas nunca espera: acima da taxa a tentativa falha na hora.
+ */
+@Slf4j
+public class DynamoDbThrottlingInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<AdaptiveRateLimiter> RATE_LIMITER = new ExecutionAttribute<>("DynamoDbRateLimiter");
+
+    private static final List<String> THROTTLING_ERROR_CODES = List.of(
+            "ProvisionedThroughputExceededException", "ThrottlingException", "RequestLimitExceeded");
+
+    private final AdaptiveRateLimiter readRateLimiter;
+
+    private final AdaptiveRateLimiter writeRateLimiter;
+
+    private final boolean blocking;
+
+    public DynamoDbThrottlingInterceptor(AdaptiveRateLimiter readRateLimiter, AdaptiveRateLimiter writeRateLimiter) {
+        this(readRateLimiter, writeRateLimiter, true);
+    }
+
+    private DynamoDbThrottlingInterceptor(AdaptiveRateLimiter readRateLimiter, AdaptiveRateLimiter writeRateLimiter,
+                                          boolean blocking) {
+        this.readRateLimiter = readRateLimiter;
+        this.writeRateLimiter = writeRateLimiter;
+        this.blocking = blocking;
+    }
+
+    public DynamoDbThrottlingInterceptor nonBlocking() {
+        return new DynamoDbThrottlingInterceptor(readRateLimiter, writeRateLimiter, false);
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        var rateLimiter = rateLimiterFor(context.request());
+        if (rateLimiter != null) {
+            executionAttributes.putAttribute(RATE_LIMITER, rateLimiter);
+        }
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        var rateLimiter = executionAttributes.getAttribute(RATE_LIMITER);
+        if (rateLimiter == null) {
+            return;
+        }
+        boolean acquired;
+        try {
+            acquired = blocking ? rateLimiter.acquire() : rateLimiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SdkClientException.create("Interrompido aguardando o limitador de taxa do DynamoDB", e);
+        }
+        if (!acquired) {
+            throw SdkClientException.create(String.format(
+                    "Limite de taxa de %s do DynamoDB atingido (%.1f req/s)", rateLimiter.name(), rateLimiter.rate()));
+        }
+    }
+
+    @Override
+    public Optional<InputStream> modifyHttpResponseContent(Context.ModifyHttpResponse context,
+                                                           ExecutionAttributes executionAttributes) {
+        var rateLimiter = executionAttributes.getAttribute(RATE_LIMITER);
+        var responseBody = context.responseBody();
+        if (rateLimiter == null || context.httpResponse().statusCode() != 400 || responseBody.isEmpty()) {
+            return responseBody;
+        }
+        byte[] body;
+        try (var inputStream = responseBody.get()) {
+            body = inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        var error = new String(body, StandardCharsets.UTF_8);
+        if (THROTTLING_ERROR_CODES.stream().anyMatch(error::contains)) {
+            rateLimiter.onThrottle();
+            log.debug("Throttling no limitador de {}; taxa agora em [{}] req/s", rateLimiter.name(), rateLimiter.rate());
+        }
+        return Optional.of(new ByteArrayInputStream(body));
+    }
+
+    private AdaptiveRateLimiter rateLimiterFor(SdkRequest request) {
+        if (request instanceof GetItemRequest || request instanceof BatchGetItemRequest || request instanceof QueryRequest
+                || request instanceof ScanRequest || request instanceof TransactGetItemsRequest) {
+            return readRateLimiter;
+        }
+        if (request instanceof PutItemRequest || request instanceof UpdateItemRequest || request instanceof DeleteItemRequest
+                || request instanceof BatchWriteItemRequest || request instanceof TransactWriteItemsRequest) {
+            return writeRateLimiter;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.study.dynamo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publica no Micrometer a ocupacao do pool de conexoes informada pelo SDK a cada chamada. Os gauges mostram a
+ * ultima amostra, entao so se movem enquanto ha requisicoes; o URLConnection nao informa pool.
+ */
+public class HttpClientMetricPublisher implements MetricPublisher {
+
+    private final AtomicInteger maxConcurrency = new AtomicInteger();
+
+    private final AtomicInteger leasedConcurrency = new AtomicInteger();
+
+    private final AtomicInteger availableConcurrency = new AtomicInteger();
+
+    private final AtomicInteger pendingConcurrencyAcquires = new AtomicInteger();
+
+    private final Timer concurrencyAcquireDuration;
+
+    public HttpClientMetricPublisher(MeterRegistry registry, String client) {
+        Gauge.builder("dynamodb.http.pool.connections", maxConcurrency, AtomicInteger::get)
+                .description("Conexoes permitidas no pool")
+                .tags("client", client, "state", "max")
+                .register(registry);
+        Gauge.builder("dynamodb.http.pool.connections", leasedConcurrency, AtomicInteger::get)
+                .description("Conexoes em uso")
+                .tags("client", client, "state", "leased")
+                .register(registry);
+        Gauge.builder("dynamodb.http.pool.connections", availableConcurrency, AtomicInteger::get)
+                .description("Conexoes abertas e livres")
+                .tags("client", client, "state", "available")
+                .register(registry);
+        Gauge.builder("dynamodb.http.pool.pending", pendingConcurrencyAcquires, AtomicInteger::get)
+                .description("Requisicoes esperando conexao")
+                .tag("client", client)
+                .register(registry);
+        Gauge.builder("dynamodb.http.pool.utilization", this, HttpClientMetricPublisher::utilization)
+                .description("Fracao do pool em uso")
+                .tag("client", client)
+                .register(registry);
+        this.concurrencyAcquireDuration = Timer.builder("dynamodb.http.pool.acquire")
+                .description("Tempo para obter uma conexao do pool")
+                .tag("client", client)
+                .register(registry);
+    }
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        metricCollection.metricValues(HttpMetric.MAX_CONCURRENCY).forEach(maxConcurrency::set);
+        metricCollection.metricValues(HttpMetric.LEASED_CONCURRENCY).forEach(leasedConcurrency::set);
+        metricCollection.metricValues(HttpMetric.AVAILABLE_CONCURRENCY).forEach(availableConcurrency::set);
+        metricCollection.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES).forEach(pendingConcurrencyAcquires::set);
+        metricCollection.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION).forEach(concurrencyAcquireDuration::record);
+        metricCollection.children().forEach(this::publish);
+    }
+
+    public double utilization() {
+        var max = maxConcurrency.get();
+        return max == 0 ? 0 : (double) leasedConcurrency.get() / max;
+    }
+
+    @Override
+    public void close() {
+    }
+}
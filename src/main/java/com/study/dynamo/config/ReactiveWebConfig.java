@@ -0,0 +1,20 @@
+package com.study.dynamo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+    // Com o Tomcat no classpath o Spring Boot o escolheria tambem para o WebFlux, atras da ponte servlet
+    @Bean
+    public NettyReactiveWebServerFactory getNettyReactiveWebServerFactory(ReactorResourceFactory reactorResourceFactory) {
+        var nettyReactiveWebServerFactory = new NettyReactiveWebServerFactory();
+        nettyReactiveWebServerFactory.setResourceFactory(reactorResourceFactory);
+        return nettyReactiveWebServerFactory;
+    }
+}
@@ -0,0 +1,58 @@
+package com.study.dynamo.config;
+
+import com.study.dynamo.respository.support.RetryBudget;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenRequest;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenResponse;
+import software.amazon.awssdk.retries.api.RecordSuccessRequest;
+import software.amazon.awssdk.retries.api.RecordSuccessResponse;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenRequest;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenResponse;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+import software.amazon.awssdk.retries.api.TokenAcquisitionFailedException;
+
+/**
+ * Envolve a estrategia de retentativa do SDK com um {@link RetryBudget} compartilhado por todas as chamadas:
+ * sem ficha no orcamento a falha sobe sem nova tentativa.
+ */
+public class RetryBudgetStrategy implements RetryStrategy {
+
+    private final RetryStrategy delegate;
+
+    private final RetryBudget retryBudget;
+
+    public RetryBudgetStrategy(RetryStrategy delegate, RetryBudget retryBudget) {
+        this.delegate = delegate;
+        this.retryBudget = retryBudget;
+    }
+
+    @Override
+    public AcquireInitialTokenResponse acquireInitialToken(AcquireInitialTokenRequest request) {
+        return delegate.acquireInitialToken(request);
+    }
+
+    @Override
+    public RefreshRetryTokenResponse refreshRetryToken(RefreshRetryTokenRequest request) {
+        var response = delegate.refreshRetryToken(request);
+        if (!retryBudget.tryWithdraw()) {
+            throw new TokenAcquisitionFailedException("Orcamento de retentativas do DynamoDB esgotado",
+                    response.token(), request.failure());
+        }
+        return response;
+    }
+
+    @Override
+    public RecordSuccessResponse recordSuccess(RecordSuccessRequest request) {
+        retryBudget.deposit();
+        return delegate.recordSuccess(request);
+    }
+
+    @Override
+    public int maxAttempts() {
+        return delegate.maxAttempts();
+    }
+
+    @Override
+    public Builder<?, ?> toBuilder() {
+        return delegate.toBuilder();
+    }
+}
@@ -0,0 +1,153 @@
+package com.study.dynamo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.respository.CachingUserRepository;
+import com.study.dynamo.respository.DefaultReactiveUserRepository;
+import com.study.dynamo.respository.DefaultUserRepository;
+import com.study.dynamo.respository.DualReadReactiveUserRepository;
+import com.study.dynamo.respository.DualReadUserRepository;
+import com.study.dynamo.respository.EmbeddedUserRepository;
+import com.study.dynamo.respository.MicroBatchingUserRepository;
+import com.study.dynamo.respository.ReactiveUserRepository;
+import com.study.dynamo.respository.UserRepository;
+import com.study.dynamo.respository.entity.UserItemLayout;
+import com.study.dynamo.respository.support.MicroBatcher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Configuration
+public class UserRepositoryConfig {
+
+    private static final int BATCH_GET_MAX_KEYS = 100;
+
+    @Value("${aws.dynamodb.encoding.mode:legacy}")
+    private String encodingMode;
+
+    @Value("${aws.dynamodb.micro-batch.enabled:false}")
+    private boolean microBatchEnabled;
+
+    @Value("${aws.dynamodb.micro-batch.window:2ms}")
+    private Duration microBatchWindow;
+
+    @Value("${aws.dynamodb.micro-batch.max-keys:100}")
+    private int microBatchMaxKeys;
+
+    @Value("${aws.dynamodb.micro-batch.timeout:10s}")
+    private Duration microBatchTimeout;
+
+    @Value("${aws.dynamodb.cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Value("${aws.dynamodb.cache.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${aws.dynamodb.cache.expire-after-write:60s}")
+    private Duration expireAfterWrite;
+
+    @Value("${aws.dynamodb.cache.refresh-after-write:45s}")
+    private Duration refreshAfterWrite;
+
+    @Value("${aws.dynamodb.cache.missing-expire-after-write:10s}")
+    private Duration missingExpireAfterWrite;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${aws.dynamodb.embedded-store.lock-stripes:64}")
+    private int embeddedLockStripes;
+
+    @Value("${aws.dynamodb.embedded-store.snapshot.file:}")
+    private String embeddedSnapshotFile;
+
+    @Value("${aws.dynamodb.embedded-store.snapshot.interval:30s}")
+    private Duration embeddedSnapshotInterval;
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "aws.dynamodb.embedded", havingValue = "false", matchIfMissing = true)
+    public UserRepository getUserRepository(DefaultUserRepository defaultUserRepository,
+                                            @Qualifier(BatchConfig.MICRO_BATCH_LOADER_EXECUTOR) ExecutorService microBatchLoaderExecutor,
+                                            @Qualifier(BatchConfig.MICRO_BATCH_SCHEDULER) ScheduledExecutorService microBatchScheduler,
+                                            MeterRegistry meterRegistry) {
+        UserRepository userRepository = switch (encodingMode) {
+            case "compact" -> defaultUserRepository.withLayout(UserItemLayout.COMPACT);
+            case "dual" -> new DualReadUserRepository(defaultUserRepository.withLayout(UserItemLayout.COMPACT),
+                    defaultUserRepository);
+            case "legacy" -> defaultUserRepository;
+            default -> throw invalidEncodingMode();
+        };
+        if (microBatchEnabled) {
+            var microBatchingUserRepository = new MicroBatchingUserRepository(userRepository, microBatchWindow,
+                    Math.min(microBatchMaxKeys, BATCH_GET_MAX_KEYS), microBatchTimeout, microBatchScheduler,
+                    microBatchLoaderExecutor);
+            bindMicroBatchMetrics(meterRegistry, microBatchingUserRepository.getBatcher());
+            userRepository = microBatchingUserRepository;
+        }
+        if (cacheEnabled) {
+            var cachingUserRepository = new CachingUserRepository(userRepository, maximumSize,
+                    expireAfterWrite, refreshAfterWrite, missingExpireAfterWrite, virtualThreads);
+            CaffeineCacheMetrics.monitor(meterRegistry, cachingUserRepository.getCache(), "users");
+            CaffeineCacheMetrics.monitor(meterRegistry, cachingUserRepository.getMissingCache(), "users-missing");
+            userRepository = cachingUserRepository;
+        }
+        return userRepository;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveUserRepository getReactiveUserRepository(DefaultReactiveUserRepository defaultReactiveUserRepository) {
+        return switch (encodingMode) {
+            case "compact" -> defaultReactiveUserRepository.withLayout(UserItemLayout.COMPACT);
+            case "dual" -> new DualReadReactiveUserRepository(
+                    defaultReactiveUserRepository.withLayout(UserItemLayout.COMPACT), defaultReactiveUserRepository);
+            case "legacy" -> defaultReactiveUserRepository;
+            default -> throw invalidEncodingMode();
+        };
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "aws.dynamodb.embedded", havingValue = "true")
+    public EmbeddedUserRepository getEmbeddedUserRepository(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        var snapshotFile = embeddedSnapshotFile.isBlank() ? null : Path.of(embeddedSnapshotFile);
+        var embeddedUserRepository = new EmbeddedUserRepository(embeddedLockStripes, objectMapper, snapshotFile,
+                embeddedSnapshotInterval);
+        Gauge.builder("users.repository.embedded.size", embeddedUserRepository, EmbeddedUserRepository::size)
+                .description("Usuarios guardados no repositorio em memoria")
+                .register(meterRegistry);
+        FunctionCounter.builder("users.repository.embedded.snapshots", embeddedUserRepository,
+                        EmbeddedUserRepository::snapshotCount)
+                .description("Snapshots do repositorio em memoria gravados em disco")
+                .register(meterRegistry);
+        return embeddedUserRepository;
+    }
+
+    private IllegalStateException invalidEncodingMode() {
+        return new IllegalStateException(String.format(
+                "aws.dynamodb.encoding.mode invalido: %s (esperado legacy, dual ou compact)", encodingMode));
+    }
+
+    private static void bindMicroBatchMetrics(MeterRegistry meterRegistry, MicroBatcher<?, ?> batcher) {
+        FunctionCounter.builder("users.repository.microbatch.batches", batcher, MicroBatcher::batchCount)
+                .description("BatchGetItem disparados pelo micro-batching de leituras por uuid")
+                .register(meterRegistry);
+        FunctionCounter.builder("users.repository.microbatch.keys", batcher, MicroBatcher::keyCount)
+                .description("Chaves agrupadas pelo micro-batching de leituras por uuid")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,94 @@
+package com.study.dynamo.controller;
+
+import com.study.dynamo.annotation.ValidUpdateUser;
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RequestMapping("/users")
+@Tag(name = "Users")
+@Validated
+public interface AsyncUserController {
+
+    @Operation(summary = "Get an user by its uuid")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the user",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid uuid supplied",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content
+            ),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @GetMapping("/{uuid}")
+    CompletableFuture<ResponseEntity<UserDto>> getOneUser(@PathVariable @NotNull UUID uuid);
+
+    @Operation(summary = "Create an user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "User created",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid body content",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @PostMapping
+    CompletableFuture<ResponseEntity<UserDto>> createUser(@RequestBody @Valid CreateUserDto createUserDto);
+
+    @Operation(summary = "Update user attributes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User created",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid body content",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @PatchMapping("/{uuid}")
+    CompletableFuture<ResponseEntity<UserDto>> patchUser(@PathVariable @NotNull UUID uuid, @RequestBody @ValidUpdateUser UpdateUserDto updateUserDto);
+
+    @Operation(summary = "Delete user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204"),
+            @ApiResponse(responseCode = "400", description = "Invalid uuid supplied",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content
+            ),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @DeleteMapping("/{uuid}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    CompletableFuture<Void> deleteUser(@PathVariable @NotNull UUID uuid);
+}
@@ -0,0 +1,46 @@
+package com.study.dynamo.controller;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.service.AsyncUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "aws.dynamodb.async", havingValue = "true")
+public class DefaultAsyncUserController implements AsyncUserController {
+
+    private final AsyncUserService asyncUserService;
+
+    public CompletableFuture<ResponseEntity<UserDto>> getOneUser(UUID uuid) {
+        return asyncUserService.findUserByUuid(uuid)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    public CompletableFuture<ResponseEntity<UserDto>> createUser(CreateUserDto createUserDto) {
+        return asyncUserService.createUser(createUserDto)
+                .thenApply(userDto -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(userDto));
+    }
+
+    public CompletableFuture<ResponseEntity<UserDto>> patchUser(UUID uuid, UpdateUserDto updateUserDto) {
+        return asyncUserService.patchUser(uuid, updateUserDto)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    public CompletableFuture<Void> deleteUser(UUID uuid) {
+        return asyncUserService.deleteUser(uuid);
+    }
+
+}
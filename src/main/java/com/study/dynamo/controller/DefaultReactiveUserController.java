@@ -0,0 +1,37 @@
+package com.study.dynamo.controller;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.service.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class DefaultReactiveUserController implements ReactiveUserController {
+
+    private final ReactiveUserService reactiveUserService;
+
+    public Mono<UserDto> getOneUser(UUID uuid) {
+        return reactiveUserService.findUserByUuid(uuid);
+    }
+
+    public Mono<UserDto> createUser(Mono<CreateUserDto> createUserDto) {
+        return createUserDto.flatMap(reactiveUserService::createUser);
+    }
+
+    public Mono<UserDto> patchUser(UUID uuid, Mono<UpdateUserDto> updateUserDto) {
+        return updateUserDto.flatMap(userDto -> reactiveUserService.patchUser(uuid, userDto));
+    }
+
+    public Mono<Void> deleteUser(UUID uuid) {
+        return reactiveUserService.deleteUser(uuid);
+    }
+
+}
@@ -1,25 +1,83 @@
 package com.study.dynamo.controller;
 
+import com.study.dynamo.dto.BatchGetUserDto;
+import com.study.dynamo.dto.BatchGetUserResultDto;
+import com.study.dynamo.dto.BulkCreateUserDto;
+import com.study.dynamo.dto.BulkCreateUserResultDto;
 import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.ReadConsistency;
+import com.study.dynamo.dto.SparseUserDto;
 import com.study.dynamo.dto.UpdateUserDto;
 import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.dto.UserPageDto;
+import com.study.dynamo.service.UserExportService;
 import com.study.dynamo.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "aws.dynamodb.async", havingValue = "false", matchIfMissing = true)
 public class DefaultUserController implements UserController {
 
     private final UserService userService;
 
-    public ResponseEntity<UserDto> getOneUser(UUID uuid) {
+    private final UserExportService userExportService;
+
+    public ResponseEntity<?> getOneUser(UUID uuid, Set<String> fields, ReadConsistency consistency) {
+        var allFields = fields == null || fields.isEmpty();
+        if (allFields && consistency == ReadConsistency.EVENTUAL) {
+            return ResponseEntity
+                    .ok(userService.findUserByUuid(uuid));
+        }
+        if (allFields) {
+            return ResponseEntity
+                    .ok(userService.findUserByUuid(uuid, Set.of(), consistency));
+        }
+        return ResponseEntity
+                .ok(SparseUserDto.of(userService.findUserByUuid(uuid, fields, consistency)));
+    }
+
+    public ResponseEntity<UserPageDto> listUsers(int limit, String cursor) {
+        return ResponseEntity
+                .ok(userService.findUsers(limit, cursor));
+    }
+
+    public void exportUsers(boolean gzip, HttpServletResponse response) throws IOException {
+        // Escrita sincrona na resposta: o Scan avanca no ritmo em que o cliente le
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        userExportService.export(response.getOutputStream(), gzip);
+    }
+
+    public ResponseEntity<List<UserDto>> findUsersByEmail(String email) {
         return ResponseEntity
-                .ok(userService.findUserByUuid(uuid));
+                .ok(userService.findUsersByEmail(email));
+    }
+
+    public ResponseEntity<List<UserDto>> findUsersByCpf(String cpf) {
+        return ResponseEntity
+                .ok(userService.findUsersByCpf(cpf));
+    }
+
+    public ResponseEntity<BatchGetUserResultDto> batchGetUsers(BatchGetUserDto batchGetUserDto) {
+        return ResponseEntity
+                .ok(userService.findUsersByUuids(batchGetUserDto.uuids()));
     }
 
     public ResponseEntity<UserDto> createUser(CreateUserDto createUserDto) {
@@ -28,6 +86,13 @@ public class DefaultUserController implements UserController {
                 .body(userService.createUser(createUserDto));
     }
 
+    public ResponseEntity<BulkCreateUserResultDto> bulkCreateUsers(BulkCreateUserDto bulkCreateUserDto) {
+        var result = userService.createUsers(bulkCreateUserDto.users());
+        return ResponseEntity
+                .status(result.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(result);
+    }
+
     public ResponseEntity<UserDto> patchUser(UUID uuid, UpdateUserDto updateUserDto) {
         return ResponseEntity.ok(userService.patchUser(uuid, updateUserDto));
 
@@ -3,6 +3,7 @@ package com.study.dynamo.controller;
 import com.study.dynamo.exception.BaseException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -21,6 +22,7 @@ import java.util.Map;
 import java.util.function.Function;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
 //    @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -64,7 +66,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(status).body(body);
     }
 
-    private static <T> HashMap<String, Object> buildErrorBody(Collection<T> errors, Function<T, String> messageMapper) {
+    static <T> HashMap<String, Object> buildErrorBody(Collection<T> errors, Function<T, String> messageMapper) {
         var body = new HashMap<String, Object>();
         var errorMessages = errors.stream().map(messageMapper);
         body.put("error_title", "Parâmetros incorretos na requisição");
@@ -0,0 +1,51 @@
+package com.study.dynamo.controller;
+
+import com.study.dynamo.exception.BaseException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Contraparte do {@link GlobalExceptionHandler} para o WebFlux, com os mesmos corpos de erro.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+            final WebExchangeBindException ex,
+            final HttpHeaders headers,
+            final HttpStatusCode status,
+            final ServerWebExchange exchange) {
+        var body = GlobalExceptionHandler.buildErrorBody(ex.getBindingResult().getAllErrors(), ObjectError::getDefaultMessage);
+        return Mono.just(ResponseEntity.status(status).body(body));
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Object> handleBaseException(RuntimeException runtimeException) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                .body(Map.of("error_title", "Ocorreu um erro inesperado",
+                        "error_description", String.valueOf(runtimeException.getMessage())));
+    }
+
+    @ExceptionHandler(BaseException.class)
+    public ResponseEntity<Object> handleBaseException(BaseException baseException) {
+        return ResponseEntity
+                .status(baseException.getHttpStatus())
+                .body(Map.of("error_title", baseException.getErrorTitle(),
+                        "error_description", baseException.getMessage()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.study.dynamo.controller;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+// Sem @Validated: os corpos sao validados pelo WebFlux na decodificacao, dentro do proprio Mono
+@RequestMapping("/users")
+@Tag(name = "Users")
+public interface ReactiveUserController {
+
+    @Operation(summary = "Get an user by its uuid")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the user",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid uuid supplied",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content
+            ),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @GetMapping("/{uuid}")
+    Mono<UserDto> getOneUser(@PathVariable UUID uuid);
+
+    @Operation(summary = "Create an user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "User created",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid body content",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    Mono<UserDto> createUser(@RequestBody @Valid Mono<CreateUserDto> createUserDto);
+
+    @Operation(summary = "Update user attributes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User created",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid body content",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @PatchMapping("/{uuid}")
+    Mono<UserDto> patchUser(@PathVariable UUID uuid, @RequestBody @Valid Mono<UpdateUserDto> updateUserDto);
+
+    @Operation(summary = "Delete user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204"),
+            @ApiResponse(responseCode = "400", description = "Invalid uuid supplied",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content
+            ),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @DeleteMapping("/{uuid}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    Mono<Void> deleteUser(@PathVariable UUID uuid);
+}
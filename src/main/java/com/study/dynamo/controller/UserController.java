@@ -1,22 +1,39 @@
 package com.study.dynamo.controller;
 
 import com.study.dynamo.annotation.ValidUpdateUser;
+import com.study.dynamo.annotation.ValidUserFields;
+import com.study.dynamo.dto.BatchGetUserDto;
+import com.study.dynamo.dto.BatchGetUserResultDto;
+import com.study.dynamo.dto.BulkCreateUserDto;
+import com.study.dynamo.dto.BulkCreateUserResultDto;
 import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.ReadConsistency;
 import com.study.dynamo.dto.UpdateUserDto;
 import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.dto.UserPageDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RequestMapping("/users")
@@ -24,9 +41,13 @@ import java.util.UUID;
 @Validated
 public interface UserController {
 
+    String READ_CONSISTENCY_HEADER = "X-Read-Consistency";
+
+    int MAX_PAGE_SIZE = 100;
+
     @Operation(summary = "Get an user by its uuid")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Found the user",
+            @ApiResponse(responseCode = "200", description = "Found the user; with fields, the fields not requested are omitted",
                     content = {
                             @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = UserDto.class))
@@ -41,7 +62,88 @@ public interface UserController {
             )
     })
     @GetMapping("/{uuid}")
-    ResponseEntity<UserDto> getOneUser(@PathVariable @NotNull UUID uuid);
+    ResponseEntity<?> getOneUser(@PathVariable @NotNull UUID uuid,
+                                 @Parameter(description = "Comma separated fields to return; uuid is always returned")
+                                 @RequestParam(required = false) @ValidUserFields Set<String> fields,
+                                 @Parameter(description = "EVENTUAL (default) or STRONG for read-your-writes flows")
+                                 @RequestHeader(name = READ_CONSISTENCY_HEADER, defaultValue = "EVENTUAL") ReadConsistency consistency);
+
+    @Operation(summary = "List users page by page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "A page of users and the cursor of the next page, null on the last one",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserPageDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or cursor supplied",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @GetMapping
+    ResponseEntity<UserPageDto> listUsers(@RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+                                          @RequestParam(required = false) String cursor);
+
+    @Operation(summary = "Export every user as NDJSON, one user per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users streamed as NDJSON, gzip encoded when requested",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = UserDto.class))
+                    })
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    void exportUsers(@RequestParam(defaultValue = "false") boolean gzip,
+                     @Parameter(hidden = true) HttpServletResponse response) throws IOException;
+
+    @Operation(summary = "Find users by email")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users with the email, empty when none",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = UserDto.class)))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid email supplied",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @GetMapping(params = "email")
+    ResponseEntity<List<UserDto>> findUsersByEmail(@RequestParam @NotBlank String email);
+
+    @Operation(summary = "Find users by cpf")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users with the cpf, empty when none",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = UserDto.class)))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid cpf supplied",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @GetMapping(params = "cpf")
+    ResponseEntity<List<UserDto>> findUsersByCpf(@RequestParam @NotBlank String cpf);
+
+    @Operation(summary = "Get many users by their uuids")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found users, in request order, and the missing uuids",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BatchGetUserResultDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid body content",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @PostMapping("/batch-get")
+    ResponseEntity<BatchGetUserResultDto> batchGetUsers(@RequestBody @Valid BatchGetUserDto batchGetUserDto);
 
     @Operation(summary = "Create an user")
     @ApiResponses(value = {
@@ -59,6 +161,27 @@ public interface UserController {
     @PostMapping
     ResponseEntity<UserDto> createUser(@RequestBody @Valid CreateUserDto createUserDto);
 
+    @Operation(summary = "Create many users at once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All users created",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkCreateUserResultDto.class))
+                    }),
+            @ApiResponse(responseCode = "207", description = "Some users were not created, see the item outcomes",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkCreateUserResultDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid body content",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content
+            )
+    })
+    @PostMapping("/bulk")
+    ResponseEntity<BulkCreateUserResultDto> bulkCreateUsers(@RequestBody @Valid BulkCreateUserDto bulkCreateUserDto);
+
     @Operation(summary = "Update user attributes")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User created",
@@ -0,0 +1,17 @@
+package com.study.dynamo.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+public record BatchGetUserDto(
+        @NotEmpty(message = "'uuids' should not be empty")
+        @Size(max = 1000, message = "'uuids' should have at most 1000 items")
+        List<@NotNull(message = "'uuids' should not contain null values") UUID> uuids
+) {
+}
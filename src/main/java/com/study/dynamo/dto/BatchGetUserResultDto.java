@@ -0,0 +1,13 @@
+package com.study.dynamo.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+public record BatchGetUserResultDto(
+        List<UserDto> users,
+        List<UUID> missingUuids
+) {
+}
@@ -0,0 +1,17 @@
+package com.study.dynamo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BulkCreateUserDto(
+        @NotEmpty(message = "'users' should not be empty")
+        @Size(max = 10000, message = "'users' should have at most 10000 items")
+        List<@Valid @NotNull(message = "'users' should not contain null values") CreateUserDto> users
+) {
+}
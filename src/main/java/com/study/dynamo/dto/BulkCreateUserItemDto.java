@@ -0,0 +1,17 @@
+package com.study.dynamo.dto;
+
+import lombok.Builder;
+
+@Builder
+public record BulkCreateUserItemDto(
+        int index,
+        Status status,
+        UserDto user,
+        String error
+) {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+}
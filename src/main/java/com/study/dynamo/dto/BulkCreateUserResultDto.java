@@ -0,0 +1,13 @@
+package com.study.dynamo.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BulkCreateUserResultDto(
+        int created,
+        int failed,
+        List<BulkCreateUserItemDto> items
+) {
+}
@@ -0,0 +1,10 @@
+package com.study.dynamo.dto;
+
+/**
+ * Consistencia da leitura no DynamoDB. A leitura forte custa o dobro de RCU e deve ficar restrita aos fluxos que
+ * precisam ler a propria escrita (ex.: logo apos criar ou atualizar um usuario).
+ */
+public enum ReadConsistency {
+    EVENTUAL,
+    STRONG
+}
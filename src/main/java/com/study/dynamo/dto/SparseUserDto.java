@@ -0,0 +1,23 @@
+package com.study.dynamo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * Resposta do GET com {@code fields}: os campos nao pedidos ficam fora do JSON. As demais respostas usam
+ * {@link UserDto}, que mantem todos os campos, inclusive os nulos.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SparseUserDto(
+        UUID uuid,
+        String username,
+        String email,
+        String cpf,
+        String phoneNumber
+) {
+
+    public static SparseUserDto of(UserDto userDto) {
+        return new SparseUserDto(userDto.uuid(), userDto.username(), userDto.email(), userDto.cpf(), userDto.phoneNumber());
+    }
+}
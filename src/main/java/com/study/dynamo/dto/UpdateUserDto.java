@@ -1,7 +1,10 @@
 package com.study.dynamo.dto;
 
+import com.study.dynamo.annotation.ValidUpdateUser;
 import lombok.Builder;
 
+// No tipo para que o corpo seja validado dentro do pipeline reativo (@Valid Mono<UpdateUserDto>)
+@ValidUpdateUser
 @Builder
 public record UpdateUserDto(
         String username,
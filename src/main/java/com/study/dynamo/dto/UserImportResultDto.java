@@ -0,0 +1,11 @@
+package com.study.dynamo.dto;
+
+import lombok.Builder;
+
+@Builder
+public record UserImportResultDto(
+        long read,
+        long imported,
+        long rejected
+) {
+}
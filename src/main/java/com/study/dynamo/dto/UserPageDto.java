@@ -0,0 +1,12 @@
+package com.study.dynamo.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record UserPageDto(
+        List<UserDto> users,
+        String nextCursor
+) {
+}
@@ -14,4 +14,10 @@ public abstract class BaseException extends RuntimeException {
         this.httpStatus = httpStatus;
         this.errorTitle = errorTitle;
     }
+
+    protected BaseException(int httpStatus, String errorTitle, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.httpStatus = httpStatus;
+        this.errorTitle = errorTitle;
+    }
 }
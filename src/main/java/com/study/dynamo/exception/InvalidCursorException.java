@@ -0,0 +1,10 @@
+package com.study.dynamo.exception;
+
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidCursorException extends BaseException {
+    public InvalidCursorException(String errorTitle, String message) {
+        super(HttpStatus.BAD_REQUEST.value(), errorTitle, message);
+    }
+}
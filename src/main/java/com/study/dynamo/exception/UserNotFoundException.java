@@ -3,8 +3,9 @@ package com.study.dynamo.exception;
 
 import org.springframework.http.HttpStatus;
 
+// 404 e um resultado esperado e frequente; o stack trace nao e preenchido para nao custar CPU
 public class UserNotFoundException extends BaseException {
     public UserNotFoundException(String errorTitle, String message) {
-        super(HttpStatus.NOT_FOUND.value(), errorTitle, message);
+        super(HttpStatus.NOT_FOUND.value(), errorTitle, message, false);
     }
 }
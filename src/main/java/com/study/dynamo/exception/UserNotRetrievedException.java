@@ -0,0 +1,10 @@
+package com.study.dynamo.exception;
+
+
+import org.springframework.http.HttpStatus;
+
+public class UserNotRetrievedException extends BaseException {
+    public UserNotRetrievedException(String errorTitle, String message) {
+        super(HttpStatus.INTERNAL_SERVER_ERROR.value(), errorTitle, message);
+    }
+}
@@ -7,7 +7,7 @@ import com.study.dynamo.respository.entity.UserEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-import java.util.Objects;
+import java.util.UUID;
 
 @Mapper(componentModel = "spring")
 public interface UserMapper {
@@ -17,20 +17,7 @@ public interface UserMapper {
     @Mapping(source = "userId", target = "uuid")
     UserEntity toUserEntity(String userId, CreateUserDto createUserDto);
 
-    @Mapping(source = "userId", target = "uuid")
-    default void patchUserEntity(UserEntity userEntityToUpdate, UpdateUserDto updateUserDto) {
-        if (Objects.nonNull(updateUserDto.cpf())) {
-            userEntityToUpdate.setCpf(updateUserDto.cpf());
-        }
-        if (Objects.nonNull(updateUserDto.email())) {
-            userEntityToUpdate.setEmail(updateUserDto.email());
-        }
-        if (Objects.nonNull(updateUserDto.phoneNumber())) {
-            userEntityToUpdate.setPhoneNumber(updateUserDto.phoneNumber());
-        }
-        if (Objects.nonNull(updateUserDto.username())) {
-            userEntityToUpdate.setUsername(updateUserDto.username());
-        }
-    }
+    @Mapping(source = "uuid", target = "uuid")
+    UserEntity toUserEntity(UUID uuid, UpdateUserDto updateUserDto);
 
 }
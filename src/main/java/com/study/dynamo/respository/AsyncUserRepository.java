@@ -0,0 +1,18 @@
+package com.study.dynamo.respository;
+
+import com.study.dynamo.respository.entity.UserEntity;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncUserRepository {
+
+    CompletableFuture<Optional<UserEntity>> findByUuid(UUID uuid);
+
+    CompletableFuture<Void> save(UserEntity userEntity);
+
+    CompletableFuture<Optional<UserEntity>> patch(UserEntity userEntity);
+
+    CompletableFuture<Optional<UserEntity>> delete(UUID uuid);
+}
@@ -0,0 +1,288 @@
+package com.study.dynamo.respository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.study.dynamo.dto.ReadConsistency;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityPage;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cache de usuarios por uuid na frente do repositorio. Com virtual threads a carga de um usuario e feita fora do
+ * cache: o {@code get} do Caffeine carrega dentro do compute do mapa, sob um lock que prende a virtual thread a sua
+ * carrier durante toda a chamada ao DynamoDB. Ausencias so sao lembradas se nenhuma escrita no usuario aconteceu entre
+ * a leitura e o registro, para que um save concorrente nao fique escondido pelo cache negativo.
+ */
+@Slf4j
+public class CachingUserRepository implements UserRepository {
+
+    private static final int WRITE_VERSION_STRIPES = 1024;
+
+    private final UserRepository delegate;
+
+    private final boolean loadOutsideCache;
+
+    // Versao de escrita por faixa de uuids; uma carga so entra no cache se nenhuma escrita na faixa aconteceu durante ela
+    private final AtomicLongArray writeVersions = new AtomicLongArray(WRITE_VERSION_STRIPES);
+
+    @Getter
+    private final LoadingCache<UUID, UserEntity> cache;
+
+    @Getter
+    private final Cache<UUID, Boolean> missingCache;
+
+    public CachingUserRepository(UserRepository delegate, long maximumSize, Duration expireAfterWrite,
+                                 Duration refreshAfterWrite, Duration missingExpireAfterWrite, boolean loadOutsideCache) {
+        this.delegate = delegate;
+        this.loadOutsideCache = loadOutsideCache;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .recordStats()
+                .build(new UserCacheLoader());
+        this.missingCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(missingExpireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid) {
+        if (isKnownMissing(uuid)) {
+            return Optional.empty();
+        }
+        var version = writeVersion(uuid);
+        var userEntity = loadOutsideCache ? getOrLoadOutsideCache(uuid, version) : cache.get(uuid);
+        if (userEntity == null) {
+            markMissing(uuid, version);
+            return Optional.empty();
+        }
+        return Optional.of(copy(userEntity));
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, ReadConsistency consistency) {
+        if (consistency != ReadConsistency.STRONG) {
+            return findByUuid(uuid);
+        }
+        // Leitura forte ignora o cache e aproveita o resultado para atualiza-lo
+        var version = writeVersion(uuid);
+        var userEntity = delegate.findByUuid(uuid, consistency);
+        userEntity.ifPresentOrElse(
+                found -> {
+                    missingCache.invalidate(uuid);
+                    cacheIfUnchanged(uuid, version, copy(found));
+                },
+                () -> {
+                    cacheIfUnchanged(uuid, version, null);
+                    markMissing(uuid, version);
+                });
+        return userEntity;
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, Set<String> fields, ReadConsistency consistency) {
+        if (consistency == ReadConsistency.STRONG) {
+            return delegate.findByUuid(uuid, fields, consistency);
+        }
+        if (isKnownMissing(uuid)) {
+            return Optional.empty();
+        }
+        // Projecao servida do cache quando o usuario ja esta carregado; caso contrario nao popula o cache com item parcial
+        var userEntity = cache.getIfPresent(uuid);
+        if (userEntity != null) {
+            return Optional.of(project(userEntity, fields));
+        }
+        return delegate.findByUuid(uuid, fields, consistency);
+    }
+
+    @Override
+    public List<UserEntity> findAllByUuids(Collection<UUID> uuids) {
+        var uuidsToLoad = uuids.stream()
+                .filter(uuid -> !isKnownMissing(uuid))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        var versions = uuidsToLoad.stream()
+                .collect(Collectors.toMap(Function.identity(), this::writeVersion));
+        var cachedUserEntities = cache.getAllPresent(uuidsToLoad);
+        var misses = uuidsToLoad.stream()
+                .filter(uuid -> !cachedUserEntities.containsKey(uuid))
+                .toList();
+        // Carregado fora do cache: o getAll do Caffeine grava o lote sem checar escritas concorrentes
+        var loadedUserEntities = misses.isEmpty() ? Map.<UUID, UserEntity>of() : load(misses);
+        loadedUserEntities.forEach((uuid, loaded) -> cacheIfUnchanged(uuid, versions.get(uuid), copy(loaded)));
+        misses.stream()
+                .filter(uuid -> !loadedUserEntities.containsKey(uuid))
+                .forEach(uuid -> markMissing(uuid, versions.get(uuid)));
+        return uuidsToLoad.stream()
+                .map(uuid -> cachedUserEntities.getOrDefault(uuid, loadedUserEntities.get(uuid)))
+                .filter(Objects::nonNull)
+                .map(CachingUserRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<UserEntity> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public List<UserEntity> findByCpf(String cpf) {
+        return delegate.findByCpf(cpf);
+    }
+
+    @Override
+    public UserEntityPage findPage(int limit, String cursor) {
+        return delegate.findPage(limit, cursor);
+    }
+
+    @Override
+    public UserEntityPage findSegmentPage(int segment, int totalSegments, int limit, String cursor) {
+        return delegate.findSegmentPage(segment, totalSegments, limit, cursor);
+    }
+
+    @Override
+    public void save(UserEntity userEntity) {
+        delegate.save(userEntity);
+        written(userEntity.getUuid());
+        missingCache.invalidate(userEntity.getUuid());
+        cache.put(userEntity.getUuid(), copy(userEntity));
+    }
+
+    @Override
+    public List<UserEntity> saveAll(List<UserEntity> userEntities) {
+        var unsavedUserEntities = delegate.saveAll(userEntities);
+        var unsavedUuids = unsavedUserEntities.stream()
+                .map(UserEntity::getUuid)
+                .collect(Collectors.toSet());
+        userEntities.stream()
+                .filter(userEntity -> !unsavedUuids.contains(userEntity.getUuid()))
+                .forEach(userEntity -> {
+                    written(userEntity.getUuid());
+                    missingCache.invalidate(userEntity.getUuid());
+                    cache.put(userEntity.getUuid(), copy(userEntity));
+                });
+        return unsavedUserEntities;
+    }
+
+    @Override
+    public Optional<UserEntity> patch(UserEntity userEntity) {
+        try {
+            var patchedUserEntity = delegate.patch(userEntity);
+            var version = written(userEntity.getUuid());
+            patchedUserEntity.ifPresentOrElse(
+                    patched -> cache.put(patched.getUuid(), copy(patched)),
+                    () -> {
+                        cache.invalidate(userEntity.getUuid());
+                        markMissing(userEntity.getUuid(), version);
+                    });
+            return patchedUserEntity;
+        } catch (RuntimeException e) {
+            written(userEntity.getUuid());
+            cache.invalidate(userEntity.getUuid());
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<UserEntity> delete(UUID uuid) {
+        Optional<UserEntity> deletedUserEntity;
+        long version;
+        try {
+            deletedUserEntity = delegate.delete(uuid);
+        } finally {
+            version = written(uuid);
+            cache.invalidate(uuid);
+        }
+        markMissing(uuid, version);
+        return deletedUserEntity;
+    }
+
+    /**
+     * Cargas concorrentes da mesma chave nao sao colapsadas aqui; o {@link DefaultUserRepository} ja as colapsa sem
+     * bloquear sob lock. O valor lido so vai para o cache se nenhuma escrita aconteceu enquanto ele era carregado, para
+     * nao sobrescrever um mais novo.
+     */
+    private Map<UUID, UserEntity> load(List<UUID> uuids) {
+        log.debug("Carregando [{}] usuarios ausentes no cache", uuids.size());
+        return delegate.findAllByUuids(uuids).stream()
+                .collect(Collectors.toMap(UserEntity::getUuid, Function.identity(), (first, second) -> first));
+    }
+
+    private UserEntity getOrLoadOutsideCache(UUID uuid, long version) {
+        var cached = cache.getIfPresent(uuid);
+        if (cached != null) {
+            return cached;
+        }
+        var loaded = delegate.findByUuid(uuid).orElse(null);
+        if (loaded != null) {
+            cacheIfUnchanged(uuid, version, loaded);
+        }
+        return loaded;
+    }
+
+    // O compute serializa com o put/invalidate de quem escreve, que sempre incrementa a versao antes; null remove a entrada
+    private void cacheIfUnchanged(UUID uuid, long version, UserEntity userEntity) {
+        cache.asMap().compute(uuid, (key, current) -> writeVersion(uuid) == version ? userEntity : current);
+    }
+
+    private void markMissing(UUID uuid, long version) {
+        missingCache.asMap().compute(uuid, (key, current) -> writeVersion(uuid) == version ? Boolean.TRUE : current);
+    }
+
+    private long writeVersion(UUID uuid) {
+        return writeVersions.get(stripe(uuid));
+    }
+
+    private long written(UUID uuid) {
+        return writeVersions.incrementAndGet(stripe(uuid));
+    }
+
+    private static int stripe(UUID uuid) {
+        return Math.floorMod(uuid.hashCode(), WRITE_VERSION_STRIPES);
+    }
+
+    private boolean isKnownMissing(UUID uuid) {
+        return missingCache.getIfPresent(uuid) != null;
+    }
+
+    private static UserEntity project(UserEntity userEntity, Set<String> fields) {
+        return UserEntity.builder()
+                .uuid(userEntity.getUuid())
+                .username(fields.contains("username") ? userEntity.getUsername() : null)
+                .email(fields.contains("email") ? userEntity.getEmail() : null)
+                .cpf(fields.contains("cpf") ? userEntity.getCpf() : null)
+                .phoneNumber(fields.contains("phoneNumber") ? userEntity.getPhoneNumber() : null)
+                .build();
+    }
+
+    // O cache guarda copias para que alteracoes feitas pelo chamador na entidade devolvida (ex.: um setter) nao vazem para outras leituras
+    private static UserEntity copy(UserEntity userEntity) {
+        return userEntity.toBuilder().build();
+    }
+
+    private class UserCacheLoader implements CacheLoader<UUID, UserEntity> {
+
+        @Override
+        public UserEntity load(UUID uuid) {
+            return delegate.findByUuid(uuid).orElse(null);
+        }
+    }
+}
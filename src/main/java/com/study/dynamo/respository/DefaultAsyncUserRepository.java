@@ -0,0 +1,108 @@
+package com.study.dynamo.respository;
+
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityTableSchema;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.IgnoreNullsMode;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@RequiredArgsConstructor
+@Repository
+@Slf4j
+@ConditionalOnProperty(name = "aws.dynamodb.async", havingValue = "true")
+public class DefaultAsyncUserRepository implements AsyncUserRepository {
+
+    private static final String TABLE_NANE = "user_table";
+
+    private static final Expression USER_EXISTS_CONDITION = Expression.builder()
+            .expression("attribute_exists(#user_id)")
+            .putExpressionName("#user_id", "user_id")
+            .build();
+
+    private final DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient;
+
+    private DynamoDbAsyncTable<UserEntity> dynamoDbTable;
+
+    @Override
+    public CompletableFuture<Optional<UserEntity>> findByUuid(UUID uuid) {
+        log.info("Recuperando usuario pelo uuid [{}]", uuid);
+        var table = getTable();
+        var searchKey = buildKey(uuid);
+        return table.getItem(searchKey).thenApply(Optional::ofNullable);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(UserEntity userEntity) {
+        log.info("Salvando usuario com uuid [{}] e username [{}]", userEntity.getUuid(), userEntity.getUsername());
+        var table = getTable();
+        return table.putItem(userEntity);
+    }
+
+    @Override
+    public CompletableFuture<Optional<UserEntity>> patch(UserEntity userEntity) {
+        log.info("Atualizando usuario com uuid [{}]", userEntity.getUuid());
+        var table = getTable();
+        var request = UpdateItemEnhancedRequest.builder(UserEntity.class)
+                .item(userEntity)
+                .ignoreNullsMode(IgnoreNullsMode.SCALAR_ONLY)
+                .conditionExpression(USER_EXISTS_CONDITION)
+                .build();
+        return emptyIfConditionFailed(table.updateItem(request));
+    }
+
+    @Override
+    public CompletableFuture<Optional<UserEntity>> delete(UUID uuid) {
+        log.info("Removendo usuario com uuid [{}]", uuid);
+        var table = getTable();
+        var request = DeleteItemEnhancedRequest.builder()
+                .key(buildKey(uuid))
+                .conditionExpression(USER_EXISTS_CONDITION)
+                .build();
+        return emptyIfConditionFailed(table.deleteItem(request));
+    }
+
+    private static CompletableFuture<Optional<UserEntity>> emptyIfConditionFailed(CompletableFuture<UserEntity> future) {
+        return future
+                .thenApply(Optional::of)
+                .exceptionally(e -> {
+                    var cause = e instanceof CompletionException ? e.getCause() : e;
+                    if (cause instanceof ConditionalCheckFailedException) {
+                        return Optional.empty();
+                    }
+                    throw e instanceof CompletionException completionException
+                            ? completionException : new CompletionException(e);
+                });
+    }
+
+    private static Key buildKey(UUID uuid) {
+        return Key.builder().partitionValue(uuid.toString()).build();
+    }
+
+    // Resolve o schema e a tabela na subida da aplicacao em vez de no primeiro request
+    @PostConstruct
+    public void init() {
+        getTable();
+    }
+
+    public DynamoDbAsyncTable<UserEntity> getTable() {
+        if (dynamoDbTable == null) {
+            dynamoDbTable = dynamoDbEnhancedAsyncClient.table(TABLE_NANE, UserEntityTableSchema.INSTANCE);
+        }
+        return dynamoDbTable;
+    }
+}
@@ -0,0 +1,102 @@
+package com.study.dynamo.respository;
+
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserItemLayout;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.IgnoreNullsMode;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.UUID;
+
+/**
+ * Repositorio sobre o cliente assincrono. Cada chamada so e enviada na inscricao e cancelar o Mono cancela o
+ * request; usuario inexistente vira Mono vazio. Como no servlet, tabela e chave saem do {@link UserItemLayout}.
+ */
+@RequiredArgsConstructor
+@Repository
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class DefaultReactiveUserRepository implements ReactiveUserRepository {
+
+    private final DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient;
+
+    private UserItemLayout layout = UserItemLayout.LEGACY;
+
+    private DynamoDbAsyncTable<UserEntity> dynamoDbTable;
+
+    @Override
+    public Mono<UserEntity> findByUuid(UUID uuid) {
+        return Mono.fromFuture(() -> {
+            log.debug("Recuperando usuario pelo uuid [{}]", uuid);
+            return getTable().getItem(layout.key(uuid));
+        });
+    }
+
+    @Override
+    public Mono<Void> save(UserEntity userEntity) {
+        return Mono.fromFuture(() -> {
+            log.debug("Salvando usuario com uuid [{}] e username [{}]", userEntity.getUuid(), userEntity.getUsername());
+            return getTable().putItem(userEntity);
+        });
+    }
+
+    @Override
+    public Mono<UserEntity> patch(UserEntity userEntity) {
+        var request = UpdateItemEnhancedRequest.builder(UserEntity.class)
+                .item(userEntity)
+                .ignoreNullsMode(IgnoreNullsMode.SCALAR_ONLY)
+                .conditionExpression(layout.existsCondition())
+                .build();
+        return emptyIfConditionFailed(Mono.fromFuture(() -> {
+            log.debug("Atualizando usuario com uuid [{}]", userEntity.getUuid());
+            return getTable().updateItem(request);
+        }));
+    }
+
+    @Override
+    public Mono<UserEntity> delete(UUID uuid) {
+        var request = DeleteItemEnhancedRequest.builder()
+                .key(layout.key(uuid))
+                .conditionExpression(layout.existsCondition())
+                .build();
+        return emptyIfConditionFailed(Mono.fromFuture(() -> {
+            log.debug("Removendo usuario com uuid [{}]", uuid);
+            return getTable().deleteItem(request);
+        }));
+    }
+
+    private static Mono<UserEntity> emptyIfConditionFailed(Mono<UserEntity> userEntity) {
+        return userEntity.onErrorResume(ConditionalCheckFailedException.class, e -> Mono.empty());
+    }
+
+    /**
+     * Cria um repositorio sobre a tabela do layout informado, compartilhando o cliente.
+     */
+    public DefaultReactiveUserRepository withLayout(UserItemLayout layout) {
+        var reactiveUserRepository = new DefaultReactiveUserRepository(dynamoDbEnhancedAsyncClient);
+        reactiveUserRepository.layout = layout;
+        return reactiveUserRepository;
+    }
+
+    // Resolve o schema e a tabela na subida da aplicacao em vez de no primeiro request
+    @PostConstruct
+    public void init() {
+        getTable();
+    }
+
+    public DynamoDbAsyncTable<UserEntity> getTable() {
+        if (dynamoDbTable == null) {
+            dynamoDbTable = dynamoDbEnhancedAsyncClient.table(layout.tableName(), layout.tableSchema());
+        }
+        return dynamoDbTable;
+    }
+}
@@ -0,0 +1,40 @@
+package com.study.dynamo.respository;
+
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.respository.support.UserItemCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Repository
+@Slf4j
+// O codec conhece apenas o layout legado
+@ConditionalOnExpression("${aws.dynamodb.direct-read.enabled:false} and '${aws.dynamodb.encoding.mode:legacy}' == 'legacy'"
+        + " and !${aws.dynamodb.embedded:false}")
+public class DefaultUserDtoRepository implements UserDtoRepository {
+
+    private static final String TABLE_NANE = "user_table";
+
+    private final DynamoDbClient dynamoDbClient;
+
+    @Override
+    public Optional<UserDto> findByUuid(UUID uuid) {
+        log.info("Recuperando usuario pelo uuid [{}] sem mapeamento de entidade", uuid);
+        var request = GetItemRequest.builder()
+                .tableName(TABLE_NANE)
+                .key(UserItemCodec.key(uuid))
+                .build();
+        var response = dynamoDbClient.getItem(request);
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(UserItemCodec.toUserDto(response.item()));
+    }
+}
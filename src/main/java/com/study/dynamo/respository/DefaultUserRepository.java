@@ -1,35 +1,171 @@
 package com.study.dynamo.respository;
 
+import com.study.dynamo.config.BatchConfig;
+import com.study.dynamo.dto.ReadConsistency;
 import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityPage;
+import com.study.dynamo.respository.entity.UserItemLayout;
+import com.study.dynamo.respository.support.SingleFlight;
+import com.study.dynamo.respository.support.UserPageCursor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.IgnoreNullsMode;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 
 @RequiredArgsConstructor
 @Repository
+@ConditionalOnProperty(name = "aws.dynamodb.embedded", havingValue = "false", matchIfMissing = true)
 @Slf4j
-public class DefaultUserRepository implements UserRepository {
+public class DefaultUserRepository implements UserRepository, MeterBinder {
 
-    private static final String TABLE_NANE = "user_table";
+    private static final int BATCH_GET_MAX_KEYS = 100;
+
+    private static final int BATCH_WRITE_MAX_ITEMS = 25;
+
+    private static final int BATCH_MAX_ATTEMPTS = 5;
+
+    private static final long BATCH_BASE_BACKOFF_MILLIS = 50;
 
     private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
 
+    private final DynamoDbClient dynamoDbClient;
+
+    @Qualifier(BatchConfig.BATCH_EXECUTOR)
+    private final ExecutorService batchExecutor;
+
+    private final SingleFlight<UUID, UserEntity> getItemFlight = new SingleFlight<>();
+
+    private UserItemLayout layout = UserItemLayout.LEGACY;
+
     private DynamoDbTable<UserEntity> dynamoDbTable;
 
     @Override
     public Optional<UserEntity> findByUuid(UUID uuid) {
         log.info("Recuperando usuario pelo uuid [{}]", uuid);
         var table = getTable();
-        var searchKey = buildKey(uuid);
-        var result = table.getItem(searchKey);
-        return Optional.ofNullable(result);
+        var searchKey = layout.key(uuid);
+        var result = getItemFlight.execute(uuid, () -> table.getItem(searchKey));
+        // Leituras concorrentes compartilham o mesmo resultado; cada chamador recebe sua propria copia
+        return Optional.ofNullable(result)
+                .map(userEntity -> userEntity.toBuilder().build());
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, ReadConsistency consistency) {
+        if (consistency != ReadConsistency.STRONG) {
+            return findByUuid(uuid);
+        }
+        log.info("Recuperando usuario pelo uuid [{}] com leitura consistente", uuid);
+        var table = getTable();
+        // Leitura forte nao entra no single-flight: um GetItem ja em andamento pode ter comecado antes da escrita
+        var request = GetItemEnhancedRequest.builder()
+                .key(layout.key(uuid))
+                .consistentRead(true)
+                .build();
+        return Optional.ofNullable(table.getItem(request));
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, Set<String> fields, ReadConsistency consistency) {
+        log.info("Recuperando atributos {} do usuario pelo uuid [{}]", fields, uuid);
+        var table = getTable();
+        // O enhanced client nao expoe ProjectionExpression no GetItem, por isso a leitura vai pelo cliente de baixo nivel
+        var properties = new LinkedHashSet<String>();
+        properties.add("uuid");
+        properties.addAll(fields);
+        var expressionNames = new HashMap<String, String>();
+        properties.forEach(property -> expressionNames.put("#" + property, layout.attributeName(property)));
+        var request = GetItemRequest.builder()
+                .tableName(table.tableName())
+                .key(layout.keyMap(uuid))
+                .projectionExpression(String.join(", ", expressionNames.keySet()))
+                .expressionAttributeNames(expressionNames)
+                .consistentRead(consistency == ReadConsistency.STRONG)
+                .build();
+        var response = dynamoDbClient.getItem(request);
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(table.tableSchema().mapToItem(response.item()));
+    }
+
+    @Override
+    public List<UserEntity> findAllByUuids(Collection<UUID> uuids) {
+        log.info("Recuperando [{}] usuarios em lote", uuids.size());
+        var chunks = partition(List.copyOf(new LinkedHashSet<>(uuids)), BATCH_GET_MAX_KEYS);
+        // Um unico chunk (o caso do micro-batch) roda na thread do chamador, sem ocupar o executor de lotes
+        if (chunks.size() == 1) {
+            return batchGetChunk(chunks.get(0));
+        }
+        var futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> batchGetChunk(chunk), batchExecutor))
+                .toList();
+        var result = new ArrayList<UserEntity>(uuids.size());
+        futures.forEach(future -> result.addAll(join(future)));
+        return result;
+    }
+
+    @Override
+    public List<UserEntity> findByEmail(String email) {
+        log.info("Recuperando usuarios pelo indice de email");
+        return queryIndex(UserEntity.EMAIL_INDEX, email);
+    }
+
+    @Override
+    public List<UserEntity> findByCpf(String cpf) {
+        log.info("Recuperando usuarios pelo indice de cpf");
+        return queryIndex(UserEntity.CPF_INDEX, cpf);
+    }
+
+    @Override
+    public UserEntityPage findPage(int limit, String cursor) {
+        log.info("Recuperando pagina de ate [{}] usuarios", limit);
+        return scanPage(ScanEnhancedRequest.builder().limit(limit), cursor);
+    }
+
+    @Override
+    public UserEntityPage findSegmentPage(int segment, int totalSegments, int limit, String cursor) {
+        log.debug("Recuperando pagina de ate [{}] usuarios do segmento [{}/{}]", limit, segment, totalSegments);
+        var request = ScanEnhancedRequest.builder()
+                .segment(segment)
+                .totalSegments(totalSegments)
+                .limit(limit);
+        return scanPage(request, cursor);
     }
 
     @Override
@@ -40,27 +176,183 @@ public class DefaultUserRepository implements UserRepository {
     }
 
     @Override
-    public UserEntity patch(UserEntity userEntity) {
+    public List<UserEntity> saveAll(List<UserEntity> userEntities) {
+        log.info("Salvando [{}] usuarios em lote", userEntities.size());
+        var futures = partition(userEntities, BATCH_WRITE_MAX_ITEMS).stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> batchWriteChunk(chunk), batchExecutor))
+                .toList();
+        var unprocessed = new ArrayList<UserEntity>();
+        futures.forEach(future -> unprocessed.addAll(join(future)));
+        return unprocessed;
+    }
+
+    @Override
+    public Optional<UserEntity> patch(UserEntity userEntity) {
         log.info("Atualizando usuario com uuid [{}]", userEntity.getUuid());
         var table = getTable();
-        return table.updateItem(userEntity);
+        // Com IgnoreNullsMode.SCALAR_ONLY o UpdateExpression contem apenas os atributos preenchidos e o item retornado e o ALL_NEW
+        var request = UpdateItemEnhancedRequest.builder(UserEntity.class)
+                .item(userEntity)
+                .ignoreNullsMode(IgnoreNullsMode.SCALAR_ONLY)
+                .conditionExpression(layout.existsCondition())
+                .build();
+        try {
+            return Optional.of(table.updateItem(request));
+        } catch (ConditionalCheckFailedException e) {
+            return Optional.empty();
+        }
     }
 
     @Override
-    public void delete(UUID uuid) {
+    public Optional<UserEntity> delete(UUID uuid) {
         log.info("Removendo usuario com uuid [{}]", uuid);
         var table = getTable();
-        var searchKey = buildKey(uuid);
-        table.deleteItem(searchKey);
+        // O DeleteItem do enhanced client pede ALL_OLD; a condicao distingue o usuario inexistente sem uma leitura previa
+        var request = DeleteItemEnhancedRequest.builder()
+                .key(layout.key(uuid))
+                .conditionExpression(layout.existsCondition())
+                .build();
+        try {
+            return Optional.of(table.deleteItem(request));
+        } catch (ConditionalCheckFailedException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("users.repository.get.calls", getItemFlight, SingleFlight::executedCount)
+                .description("Leituras por uuid que executaram um GetItem")
+                .tag("result", "executed")
+                .register(registry);
+        FunctionCounter.builder("users.repository.get.calls", getItemFlight, SingleFlight::collapsedCount)
+                .description("Leituras por uuid que reaproveitaram um GetItem em andamento")
+                .tag("result", "coalesced")
+                .register(registry);
+    }
+
+    private UserEntityPage scanPage(ScanEnhancedRequest.Builder request, String cursor) {
+        if (cursor != null && !cursor.isEmpty()) {
+            request.exclusiveStartKey(layout.keyMap(UserPageCursor.decode(cursor)));
+        }
+        request.returnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        var page = getTable().scan(request.build()).iterator().next();
+        var lastEvaluatedKey = page.lastEvaluatedKey();
+        var nextCursor = lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()
+                ? null
+                : UserPageCursor.encode(layout.tableSchema().mapToItem(lastEvaluatedKey).getUuid());
+        var consumedCapacity = page.consumedCapacity() == null ? 0 : page.consumedCapacity().capacityUnits();
+        return new UserEntityPage(page.items(), nextCursor, consumedCapacity);
+    }
+
+    private List<UserEntity> queryIndex(String indexName, String value) {
+        var index = getTable().index(indexName);
+        var queryConditional = QueryConditional.keyEqualTo(Key.builder().partitionValue(value).build());
+        var result = new ArrayList<UserEntity>();
+        index.query(queryConditional).forEach(page -> result.addAll(page.items()));
+        return result;
+    }
+
+    private List<UserEntity> batchGetChunk(List<UUID> uuids) {
+        var table = getTable();
+        var readBatch = ReadBatch.builder(UserEntity.class).mappedTableResource(table);
+        uuids.forEach(uuid -> readBatch.addGetItem(layout.key(uuid)));
+        var request = BatchGetItemEnhancedRequest.builder()
+                .readBatches(readBatch.build())
+                .build();
+
+        // O paginador do SDK reenvia as UnprocessedKeys como proxima pagina; o backoff acontece entre as paginas
+        var result = new ArrayList<UserEntity>(uuids.size());
+        var attempt = 0;
+        for (var page : dynamoDbEnhancedClient.batchGetItem(request)) {
+            result.addAll(page.resultsForTable(table));
+            var unprocessedKeys = page.unprocessedKeysForTable(table);
+            if (unprocessedKeys.isEmpty()) {
+                break;
+            }
+            if (++attempt >= BATCH_MAX_ATTEMPTS) {
+                throw new IllegalStateException(String.format(
+                        "%d chaves nao processadas apos %d tentativas", unprocessedKeys.size(), attempt));
+            }
+            log.warn("Reprocessando [{}] chaves nao processadas, tentativa [{}]", unprocessedKeys.size(), attempt);
+            backoff(attempt);
+        }
+        return result;
+    }
+
+    private List<UserEntity> batchWriteChunk(List<UserEntity> userEntities) {
+        var table = getTable();
+        var pending = userEntities;
+        try {
+            for (var attempt = 1; ; attempt++) {
+                var writeBatch = WriteBatch.builder(UserEntity.class).mappedTableResource(table);
+                pending.forEach(writeBatch::addPutItem);
+                var request = BatchWriteItemEnhancedRequest.builder()
+                        .writeBatches(writeBatch.build())
+                        .build();
+                pending = dynamoDbEnhancedClient.batchWriteItem(request).unprocessedPutItemsForTable(table);
+                if (pending.isEmpty() || attempt >= BATCH_MAX_ATTEMPTS) {
+                    break;
+                }
+                log.warn("Reprocessando [{}] itens nao processados, tentativa [{}]", pending.size(), attempt);
+                backoff(attempt);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao salvar lote de [{}] usuarios", pending.size(), e);
+        }
+        if (!pending.isEmpty()) {
+            log.error("[{}] usuarios nao foram salvos apos [{}] tentativas", pending.size(), BATCH_MAX_ATTEMPTS);
+        }
+        return pending;
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        var chunks = new ArrayList<List<T>>((items.size() + size - 1) / size);
+        for (var start = 0; start < items.size(); start += size) {
+            chunks.add(items.subList(start, Math.min(start + size, items.size())));
+        }
+        return chunks;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void backoff(int attempt) {
+        var maxDelay = BATCH_BASE_BACKOFF_MILLIS << attempt;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(BATCH_BASE_BACKOFF_MILLIS, maxDelay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido durante o backoff do lote", e);
+        }
+    }
+
+    /**
+     * Cria um repositorio sobre a tabela do layout informado, compartilhando o cliente e o executor de lotes.
+     */
+    public DefaultUserRepository withLayout(UserItemLayout layout) {
+        var userRepository = new DefaultUserRepository(dynamoDbEnhancedClient, dynamoDbClient, batchExecutor);
+        userRepository.layout = layout;
+        return userRepository;
     }
 
-    private static Key buildKey(UUID uuid) {
-        return Key.builder().partitionValue(uuid.toString()).build();
+    // Resolve o schema e a tabela na subida da aplicacao em vez de no primeiro request
+    @PostConstruct
+    public void init() {
+        getTable();
     }
 
     public DynamoDbTable<UserEntity> getTable() {
         if (dynamoDbTable == null) {
-            dynamoDbTable = dynamoDbEnhancedClient.table(TABLE_NANE, TableSchema.fromBean(UserEntity.class));
+            dynamoDbTable = dynamoDbEnhancedClient.table(layout.tableName(), layout.tableSchema());
         }
         return dynamoDbTable;
     }
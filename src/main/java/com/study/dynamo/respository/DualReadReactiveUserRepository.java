@@ -0,0 +1,44 @@
+package com.study.dynamo.respository;
+
+import com.study.dynamo.respository.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Versao reativa do {@link DualReadUserRepository}: le o layout compacto primeiro e o legado como fallback, grava
+ * usuarios novos so no compacto, atualiza onde o usuario estiver e remove dos dois.
+ */
+@RequiredArgsConstructor
+public class DualReadReactiveUserRepository implements ReactiveUserRepository {
+
+    private final ReactiveUserRepository compactUserRepository;
+
+    private final ReactiveUserRepository legacyUserRepository;
+
+    @Override
+    public Mono<UserEntity> findByUuid(UUID uuid) {
+        return compactUserRepository.findByUuid(uuid)
+                .switchIfEmpty(Mono.defer(() -> legacyUserRepository.findByUuid(uuid)));
+    }
+
+    @Override
+    public Mono<Void> save(UserEntity userEntity) {
+        return compactUserRepository.save(userEntity);
+    }
+
+    @Override
+    public Mono<UserEntity> patch(UserEntity userEntity) {
+        return compactUserRepository.patch(userEntity)
+                .switchIfEmpty(Mono.defer(() -> legacyUserRepository.patch(userEntity)));
+    }
+
+    @Override
+    public Mono<UserEntity> delete(UUID uuid) {
+        return compactUserRepository.delete(uuid)
+                .singleOptional()
+                .zipWith(legacyUserRepository.delete(uuid).singleOptional())
+                .flatMap(deleted -> Mono.justOrEmpty(deleted.getT1().or(deleted::getT2)));
+    }
+}
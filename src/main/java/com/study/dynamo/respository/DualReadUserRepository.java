@@ -0,0 +1,144 @@
+package com.study.dynamo.respository;
+
+import com.study.dynamo.dto.ReadConsistency;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityPage;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Le os dois layouts durante a migracao: o compacto primeiro e o legado como fallback. Escritas novas vao so para o
+ * compacto; atualizacoes vao para onde o usuario estiver e a remocao apaga dos dois.
+ */
+@RequiredArgsConstructor
+public class DualReadUserRepository implements UserRepository {
+
+    private static final char COMPACT_PHASE = 'c';
+
+    private static final char LEGACY_PHASE = 'l';
+
+    private final UserRepository compactUserRepository;
+
+    private final UserRepository legacyUserRepository;
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid) {
+        return compactUserRepository.findByUuid(uuid)
+                .or(() -> legacyUserRepository.findByUuid(uuid));
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, ReadConsistency consistency) {
+        return compactUserRepository.findByUuid(uuid, consistency)
+                .or(() -> legacyUserRepository.findByUuid(uuid, consistency));
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, Set<String> fields, ReadConsistency consistency) {
+        return compactUserRepository.findByUuid(uuid, fields, consistency)
+                .or(() -> legacyUserRepository.findByUuid(uuid, fields, consistency));
+    }
+
+    @Override
+    public List<UserEntity> findAllByUuids(Collection<UUID> uuids) {
+        var userEntities = new ArrayList<>(compactUserRepository.findAllByUuids(uuids));
+        var missingUuids = new LinkedHashSet<>(uuids);
+        userEntities.forEach(userEntity -> missingUuids.remove(userEntity.getUuid()));
+        if (!missingUuids.isEmpty()) {
+            userEntities.addAll(legacyUserRepository.findAllByUuids(missingUuids));
+        }
+        return userEntities;
+    }
+
+    @Override
+    public List<UserEntity> findByEmail(String email) {
+        return merge(compactUserRepository.findByEmail(email), legacyUserRepository.findByEmail(email));
+    }
+
+    @Override
+    public List<UserEntity> findByCpf(String cpf) {
+        return merge(compactUserRepository.findByCpf(cpf), legacyUserRepository.findByCpf(cpf));
+    }
+
+    @Override
+    public UserEntityPage findPage(int limit, String cursor) {
+        return findPhasedPage(cursor, (userRepository, phaseCursor) -> userRepository.findPage(limit, phaseCursor));
+    }
+
+    @Override
+    public UserEntityPage findSegmentPage(int segment, int totalSegments, int limit, String cursor) {
+        return findPhasedPage(cursor, (userRepository, phaseCursor) ->
+                userRepository.findSegmentPage(segment, totalSegments, limit, phaseCursor));
+    }
+
+    /**
+     * Lista o layout compacto inteiro e depois o legado; o cursor carrega a fase na primeira letra. Da pagina legada
+     * saem os usuarios que a migracao ja copiou para o compacto.
+     */
+    private UserEntityPage findPhasedPage(String cursor, BiFunction<UserRepository, String, UserEntityPage> scan) {
+        if (cursor == null || cursor.isEmpty() || cursor.charAt(0) == COMPACT_PHASE) {
+            var page = scan.apply(compactUserRepository, cursor == null || cursor.isEmpty() ? null : cursor.substring(1));
+            var nextCursor = page.nextCursor() == null
+                    ? String.valueOf(LEGACY_PHASE)
+                    : COMPACT_PHASE + page.nextCursor();
+            return new UserEntityPage(page.userEntities(), nextCursor, page.consumedCapacity());
+        }
+        if (cursor.charAt(0) != LEGACY_PHASE) {
+            throw new IllegalArgumentException(String.format("Cursor invalido: %s", cursor));
+        }
+        var page = scan.apply(legacyUserRepository, cursor.length() == 1 ? null : cursor.substring(1));
+        var legacyUserEntities = page.userEntities();
+        if (!legacyUserEntities.isEmpty()) {
+            var migratedUuids = compactUserRepository.findAllByUuids(legacyUserEntities.stream().map(UserEntity::getUuid).toList())
+                    .stream()
+                    .map(UserEntity::getUuid)
+                    .collect(Collectors.toSet());
+            legacyUserEntities = legacyUserEntities.stream()
+                    .filter(userEntity -> !migratedUuids.contains(userEntity.getUuid()))
+                    .toList();
+        }
+        var nextCursor = page.nextCursor() == null ? null : LEGACY_PHASE + page.nextCursor();
+        return new UserEntityPage(legacyUserEntities, nextCursor, page.consumedCapacity());
+    }
+
+    @Override
+    public void save(UserEntity userEntity) {
+        compactUserRepository.save(userEntity);
+    }
+
+    @Override
+    public List<UserEntity> saveAll(List<UserEntity> userEntities) {
+        return compactUserRepository.saveAll(userEntities);
+    }
+
+    @Override
+    public Optional<UserEntity> patch(UserEntity userEntity) {
+        return compactUserRepository.patch(userEntity)
+                .or(() -> legacyUserRepository.patch(userEntity));
+    }
+
+    @Override
+    public Optional<UserEntity> delete(UUID uuid) {
+        var compactUserEntity = compactUserRepository.delete(uuid);
+        var legacyUserEntity = legacyUserRepository.delete(uuid);
+        return compactUserEntity.or(() -> legacyUserEntity);
+    }
+
+    // Durante a migracao o mesmo usuario pode estar nos dois layouts; o compacto prevalece
+    private static List<UserEntity> merge(List<UserEntity> compactUserEntities, List<UserEntity> legacyUserEntities) {
+        var userEntitiesByUuid = new LinkedHashMap<UUID, UserEntity>();
+        compactUserEntities.forEach(userEntity -> userEntitiesByUuid.put(userEntity.getUuid(), userEntity));
+        legacyUserEntities.forEach(userEntity -> userEntitiesByUuid.putIfAbsent(userEntity.getUuid(), userEntity));
+        return List.copyOf(userEntitiesByUuid.values());
+    }
+}
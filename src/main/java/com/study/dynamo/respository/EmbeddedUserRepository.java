@@ -0,0 +1,353 @@
+package com.study.dynamo.respository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.dto.ReadConsistency;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityPage;
+import com.study.dynamo.respository.support.UserPageCursor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Repositorio em memoria para rodar a aplicacao sem DynamoDB. Leituras nao bloqueiam; escritas no mesmo uuid sao
+ * serializadas por um lock escolhido pelo hash do uuid, o que mantem os indices de email e cpf consistentes com o item
+ * sem um lock global. Os itens guardados nunca sao alterados, cada escrita substitui o item inteiro.
+ * <p>
+ * Com {@code snapshotFile} preenchido os usuarios sao carregados do arquivo na criacao e regravados nele a cada
+ * {@code snapshotInterval}, se houve escrita, e no {@link #close()}.
+ */
+@Slf4j
+public class EmbeddedUserRepository implements UserRepository, AutoCloseable {
+
+    private final ConcurrentSkipListMap<UUID, UserEntity> users = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Set<UUID>> emailIndex = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<UUID>> cpfIndex = new ConcurrentHashMap<>();
+
+    private final ReentrantLock[] locks;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicLong snapshotCount = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+
+    private final Path snapshotFile;
+
+    private final ScheduledExecutorService snapshotScheduler;
+
+    private volatile long snapshotVersion;
+
+    public EmbeddedUserRepository(int lockStripes, ObjectMapper objectMapper, Path snapshotFile, Duration snapshotInterval) {
+        this.locks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.objectMapper = objectMapper;
+        this.snapshotFile = snapshotFile;
+        if (snapshotFile == null) {
+            this.snapshotScheduler = null;
+            return;
+        }
+        loadSnapshot();
+        this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "embedded-user-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var intervalMillis = snapshotInterval.toMillis();
+        snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid) {
+        return Optional.ofNullable(users.get(uuid)).map(EmbeddedUserRepository::copy);
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, ReadConsistency consistency) {
+        return findByUuid(uuid);
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, Set<String> fields, ReadConsistency consistency) {
+        return Optional.ofNullable(users.get(uuid)).map(userEntity -> project(userEntity, fields));
+    }
+
+    @Override
+    public List<UserEntity> findAllByUuids(Collection<UUID> uuids) {
+        return new LinkedHashSet<>(uuids).stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(EmbeddedUserRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<UserEntity> findByEmail(String email) {
+        return findByIndex(emailIndex, email, UserEntity::getEmail);
+    }
+
+    @Override
+    public List<UserEntity> findByCpf(String cpf) {
+        return findByIndex(cpfIndex, cpf, UserEntity::getCpf);
+    }
+
+    @Override
+    public UserEntityPage findPage(int limit, String cursor) {
+        return scanPage(limit, cursor, uuid -> true);
+    }
+
+    @Override
+    public UserEntityPage findSegmentPage(int segment, int totalSegments, int limit, String cursor) {
+        return scanPage(limit, cursor, uuid -> Math.floorMod(uuid.hashCode(), totalSegments) == segment);
+    }
+
+    @Override
+    public void save(UserEntity userEntity) {
+        var uuid = userEntity.getUuid();
+        var lock = lockFor(uuid);
+        lock.lock();
+        try {
+            var stored = copy(userEntity);
+            reindex(users.put(uuid, stored), stored);
+            version.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<UserEntity> saveAll(List<UserEntity> userEntities) {
+        userEntities.forEach(this::save);
+        return List.of();
+    }
+
+    @Override
+    public Optional<UserEntity> patch(UserEntity userEntity) {
+        var uuid = userEntity.getUuid();
+        var lock = lockFor(uuid);
+        lock.lock();
+        try {
+            var current = users.get(uuid);
+            if (current == null) {
+                return Optional.empty();
+            }
+            var patched = current.toBuilder()
+                    .username(userEntity.getUsername() != null ? userEntity.getUsername() : current.getUsername())
+                    .email(userEntity.getEmail() != null ? userEntity.getEmail() : current.getEmail())
+                    .cpf(userEntity.getCpf() != null ? userEntity.getCpf() : current.getCpf())
+                    .phoneNumber(userEntity.getPhoneNumber() != null ? userEntity.getPhoneNumber() : current.getPhoneNumber())
+                    .build();
+            users.put(uuid, patched);
+            reindex(current, patched);
+            version.incrementAndGet();
+            return Optional.of(copy(patched));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<UserEntity> delete(UUID uuid) {
+        var lock = lockFor(uuid);
+        lock.lock();
+        try {
+            var removed = users.remove(uuid);
+            if (removed == null) {
+                return Optional.empty();
+            }
+            reindex(removed, null);
+            version.incrementAndGet();
+            return Optional.of(copy(removed));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    public long snapshotCount() {
+        return snapshotCount.get();
+    }
+
+    /**
+     * Grava todos os usuarios em NDJSON num arquivo temporario e o move sobre o snapshot anterior, de forma que uma
+     * falha no meio da gravacao nunca deixe um snapshot truncado. Escritas concorrentes podem ou nao entrar.
+     */
+    public void snapshot() throws IOException {
+        var startVersion = version.get();
+        var temporaryFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (var writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            for (var userEntity : users.values()) {
+                writer.write(objectMapper.writeValueAsString(userEntity));
+                writer.newLine();
+            }
+        }
+        Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        snapshotVersion = startVersion;
+        snapshotCount.incrementAndGet();
+        log.debug("Snapshot com [{}] usuarios gravado em [{}]", users.size(), snapshotFile);
+    }
+
+    @Override
+    public void close() {
+        if (snapshotScheduler == null) {
+            return;
+        }
+        snapshotScheduler.shutdown();
+        try {
+            snapshotScheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotQuietly();
+    }
+
+    private void snapshotQuietly() {
+        if (version.get() == snapshotVersion) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Falha ao gravar snapshot em [{}]", snapshotFile, e);
+        }
+    }
+
+    private void loadSnapshot() {
+        if (!Files.exists(snapshotFile)) {
+            log.info("Snapshot [{}] inexistente, iniciando sem usuarios", snapshotFile);
+            return;
+        }
+        try (var lines = Files.lines(snapshotFile, StandardCharsets.UTF_8)) {
+            lines.filter(line -> !line.isBlank())
+                    .forEach(line -> save(readUserEntity(line)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Falha ao ler snapshot %s", snapshotFile), e);
+        }
+        snapshotVersion = version.get();
+        log.info("[{}] usuarios carregados do snapshot [{}]", users.size(), snapshotFile);
+    }
+
+    private UserEntity readUserEntity(String line) {
+        try {
+            return objectMapper.readValue(line, UserEntity.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Linha invalida no snapshot %s", snapshotFile), e);
+        }
+    }
+
+    private List<UserEntity> findByIndex(Map<String, Set<UUID>> index, String value,
+                                         Function<UserEntity, String> attribute) {
+        var uuids = index.getOrDefault(value, Set.of());
+        // O indice e atualizado depois do item; a conferencia descarta entradas de uma escrita em andamento
+        return uuids.stream()
+                .map(users::get)
+                .filter(userEntity -> userEntity != null && value.equals(attribute.apply(userEntity)))
+                .map(EmbeddedUserRepository::copy)
+                .toList();
+    }
+
+    private UserEntityPage scanPage(int limit, String cursor, Predicate<UUID> filter) {
+        var remaining = cursor == null || cursor.isEmpty()
+                ? users
+                : users.tailMap(UserPageCursor.decode(cursor), false);
+        var page = new ArrayList<UserEntity>(limit);
+        String nextCursor = null;
+        for (var userEntity : remaining.values()) {
+            if (!filter.test(userEntity.getUuid())) {
+                continue;
+            }
+            if (page.size() == limit) {
+                nextCursor = UserPageCursor.encode(page.get(limit - 1).getUuid());
+                break;
+            }
+            page.add(copy(userEntity));
+        }
+        return new UserEntityPage(page, nextCursor);
+    }
+
+    private void reindex(UserEntity previous, UserEntity current) {
+        var uuid = previous != null ? previous.getUuid() : current.getUuid();
+        var previousEmail = previous != null ? previous.getEmail() : null;
+        var currentEmail = current != null ? current.getEmail() : null;
+        if (!Objects.equals(previousEmail, currentEmail)) {
+            unindex(emailIndex, previousEmail, uuid);
+            index(emailIndex, currentEmail, uuid);
+        }
+        var previousCpf = previous != null ? previous.getCpf() : null;
+        var currentCpf = current != null ? current.getCpf() : null;
+        if (!Objects.equals(previousCpf, currentCpf)) {
+            unindex(cpfIndex, previousCpf, uuid);
+            index(cpfIndex, currentCpf, uuid);
+        }
+    }
+
+    private static void index(Map<String, Set<UUID>> index, String value, UUID uuid) {
+        if (value == null) {
+            return;
+        }
+        index.compute(value, (key, uuids) -> {
+            var result = uuids != null ? uuids : ConcurrentHashMap.<UUID>newKeySet();
+            result.add(uuid);
+            return result;
+        });
+    }
+
+    private static void unindex(Map<String, Set<UUID>> index, String value, UUID uuid) {
+        if (value == null) {
+            return;
+        }
+        index.computeIfPresent(value, (key, uuids) -> {
+            uuids.remove(uuid);
+            return uuids.isEmpty() ? null : uuids;
+        });
+    }
+
+    private ReentrantLock lockFor(UUID uuid) {
+        return locks[Math.floorMod(uuid.hashCode(), locks.length)];
+    }
+
+    private static UserEntity project(UserEntity userEntity, Set<String> fields) {
+        return UserEntity.builder()
+                .uuid(userEntity.getUuid())
+                .username(fields.contains("username") ? userEntity.getUsername() : null)
+                .email(fields.contains("email") ? userEntity.getEmail() : null)
+                .cpf(fields.contains("cpf") ? userEntity.getCpf() : null)
+                .phoneNumber(fields.contains("phoneNumber") ? userEntity.getPhoneNumber() : null)
+                .build();
+    }
+
+    private static UserEntity copy(UserEntity userEntity) {
+        return userEntity.toBuilder().build();
+    }
+}
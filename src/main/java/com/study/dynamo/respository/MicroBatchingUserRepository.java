@@ -0,0 +1,123 @@
+package com.study.dynamo.respository;
+
+import com.study.dynamo.dto.ReadConsistency;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityPage;
+import com.study.dynamo.respository.support.MicroBatcher;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class MicroBatchingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+
+    @Getter
+    private final MicroBatcher<UUID, UserEntity> batcher;
+
+    private final Duration timeout;
+
+    public MicroBatchingUserRepository(UserRepository delegate, Duration window, int maxBatchSize, Duration timeout,
+                                       ScheduledExecutorService scheduler, Executor loaderExecutor) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.batcher = new MicroBatcher<>(this::loadAll, window, maxBatchSize, scheduler, loaderExecutor);
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid) {
+        try {
+            // Chamadores da mesma chave na mesma janela compartilham a entidade; cada um recebe sua copia
+            return Optional.ofNullable(batcher.submit(uuid).get(timeout.toNanos(), TimeUnit.NANOSECONDS))
+                    .map(userEntity -> userEntity.toBuilder().build());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(String.format(
+                    "Micro-batch do uuid %s nao respondeu em %s", uuid, timeout), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o micro-batch do uuid " + uuid, e);
+        }
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, ReadConsistency consistency) {
+        if (consistency == ReadConsistency.STRONG) {
+            return delegate.findByUuid(uuid, consistency);
+        }
+        return findByUuid(uuid);
+    }
+
+    @Override
+    public Optional<UserEntity> findByUuid(UUID uuid, Set<String> fields, ReadConsistency consistency) {
+        return delegate.findByUuid(uuid, fields, consistency);
+    }
+
+    @Override
+    public List<UserEntity> findAllByUuids(Collection<UUID> uuids) {
+        return delegate.findAllByUuids(uuids);
+    }
+
+    @Override
+    public List<UserEntity> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public List<UserEntity> findByCpf(String cpf) {
+        return delegate.findByCpf(cpf);
+    }
+
+    @Override
+    public UserEntityPage findPage(int limit, String cursor) {
+        return delegate.findPage(limit, cursor);
+    }
+
+    @Override
+    public UserEntityPage findSegmentPage(int segment, int totalSegments, int limit, String cursor) {
+        return delegate.findSegmentPage(segment, totalSegments, limit, cursor);
+    }
+
+    @Override
+    public void save(UserEntity userEntity) {
+        delegate.save(userEntity);
+    }
+
+    @Override
+    public List<UserEntity> saveAll(List<UserEntity> userEntities) {
+        return delegate.saveAll(userEntities);
+    }
+
+    @Override
+    public Optional<UserEntity> patch(UserEntity userEntity) {
+        return delegate.patch(userEntity);
+    }
+
+    @Override
+    public Optional<UserEntity> delete(UUID uuid) {
+        return delegate.delete(uuid);
+    }
+
+    private Map<UUID, UserEntity> loadAll(List<UUID> uuids) {
+        return delegate.findAllByUuids(uuids).stream()
+                .collect(Collectors.toMap(UserEntity::getUuid, Function.identity(), (first, second) -> first));
+    }
+}
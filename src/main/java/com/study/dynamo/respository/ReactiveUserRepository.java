@@ -0,0 +1,17 @@
+package com.study.dynamo.respository;
+
+import com.study.dynamo.respository.entity.UserEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveUserRepository {
+
+    Mono<UserEntity> findByUuid(UUID uuid);
+
+    Mono<Void> save(UserEntity userEntity);
+
+    Mono<UserEntity> patch(UserEntity userEntity);
+
+    Mono<UserEntity> delete(UUID uuid);
+}
@@ -0,0 +1,11 @@
+package com.study.dynamo.respository;
+
+import com.study.dynamo.dto.UserDto;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserDtoRepository {
+
+    Optional<UserDto> findByUuid(UUID uuid);
+}
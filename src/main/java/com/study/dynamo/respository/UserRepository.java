@@ -1,17 +1,64 @@
 package com.study.dynamo.respository;
 
+import com.study.dynamo.dto.ReadConsistency;
 import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityPage;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface UserRepository {
 
     Optional<UserEntity> findByUuid(UUID uuid);
 
+    Optional<UserEntity> findByUuid(UUID uuid, ReadConsistency consistency);
+
+    /**
+     * Recupera apenas as propriedades informadas (alem do uuid); as demais ficam nulas.
+     */
+    Optional<UserEntity> findByUuid(UUID uuid, Set<String> fields, ReadConsistency consistency);
+
+    List<UserEntity> findAllByUuids(Collection<UUID> uuids);
+
+    /**
+     * Consulta o indice por email; o indice nao garante unicidade, por isso retorna uma lista.
+     */
+    List<UserEntity> findByEmail(String email);
+
+    /**
+     * Consulta o indice por cpf; o indice nao garante unicidade, por isso retorna uma lista.
+     */
+    List<UserEntity> findByCpf(String cpf);
+
+    /**
+     * Uma pagina do Scan a partir do cursor opaco da pagina anterior, ou do inicio quando o cursor e nulo.
+     * O Scan avalia no maximo {@code limit} itens, entao a pagina pode vir menor ou vazia mesmo com proximo cursor.
+     */
+    UserEntityPage findPage(int limit, String cursor);
+
+    /**
+     * Como {@link #findPage(int, String)}, restrito ao segmento {@code segment} de um Scan paralelo em
+     * {@code totalSegments} segmentos.
+     */
+    UserEntityPage findSegmentPage(int segment, int totalSegments, int limit, String cursor);
+
     void save(UserEntity userEntity);
 
-    UserEntity patch(UserEntity userEntity);
+    /**
+     * Grava os usuarios em lote e retorna aqueles que nao puderam ser gravados.
+     */
+    List<UserEntity> saveAll(List<UserEntity> userEntities);
+
+    /**
+     * Atualiza apenas os atributos preenchidos e retorna o usuario atualizado, ou vazio se ele nao existir.
+     */
+    Optional<UserEntity> patch(UserEntity userEntity);
 
-    void delete(UUID uuid);
+    /**
+     * Remove o usuario e retorna o item removido, ou vazio se ele nao existir.
+     */
+    Optional<UserEntity> delete(UUID uuid);
 }
@@ -4,17 +4,22 @@ import lombok.*;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
 
 import java.util.UUID;
 
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @DynamoDbBean
 @EqualsAndHashCode
 public class UserEntity {
 
+    public static final String EMAIL_INDEX = "email_index";
+
+    public static final String CPF_INDEX = "cpf_index";
+
     private UUID uuid;
     private String username;
     private String email;
@@ -32,11 +37,13 @@ public class UserEntity {
         return username;
     }
 
+    @DynamoDbSecondaryPartitionKey(indexNames = EMAIL_INDEX)
     @DynamoDbAttribute("email")
     public String getEmail() {
         return email;
     }
 
+    @DynamoDbSecondaryPartitionKey(indexNames = CPF_INDEX)
     @DynamoDbAttribute("cpf")
     public String getCpf() {
         return cpf;
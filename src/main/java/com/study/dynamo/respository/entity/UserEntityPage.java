@@ -0,0 +1,18 @@
+package com.study.dynamo.respository.entity;
+
+import java.util.List;
+
+/**
+ * Uma pagina da listagem; {@code nextCursor} e nulo quando nao ha mais itens. {@code consumedCapacity} sao as
+ * unidades de leitura gastas pelo Scan, quando o DynamoDB informa.
+ */
+public record UserEntityPage(
+        List<UserEntity> userEntities,
+        String nextCursor,
+        double consumedCapacity
+) {
+
+    public UserEntityPage(List<UserEntity> userEntities, String nextCursor) {
+        this(userEntities, nextCursor, 0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.study.dynamo.respository.entity;
+
+import com.study.dynamo.respository.support.BinaryUuidAttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import java.util.UUID;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+
+/**
+ * Schema estatico equivalente ao {@code TableSchema.fromBean(UserEntity.class)}, sem introspeccao do bean.
+ * Os nomes dos atributos devem acompanhar os {@code @DynamoDbAttribute} de {@link UserEntity}.
+ */
+public final class UserEntityTableSchema {
+
+    public static final StaticTableSchema<UserEntity> INSTANCE = StaticTableSchema.builder(UserEntity.class)
+            .newItemSupplier(UserEntity::new)
+            .addAttribute(UUID.class, attribute -> attribute.name("user_id")
+                    .getter(UserEntity::getUuid)
+                    .setter(UserEntity::setUuid)
+                    .tags(primaryPartitionKey()))
+            .addAttribute(String.class, attribute -> attribute.name("username")
+                    .getter(UserEntity::getUsername)
+                    .setter(UserEntity::setUsername))
+            .addAttribute(String.class, attribute -> attribute.name("email")
+                    .getter(UserEntity::getEmail)
+                    .setter(UserEntity::setEmail)
+                    .tags(secondaryPartitionKey(UserEntity.EMAIL_INDEX)))
+            .addAttribute(String.class, attribute -> attribute.name("cpf")
+                    .getter(UserEntity::getCpf)
+                    .setter(UserEntity::setCpf)
+                    .tags(secondaryPartitionKey(UserEntity.CPF_INDEX)))
+            .addAttribute(String.class, attribute -> attribute.name("phone_number")
+                    .getter(UserEntity::getPhoneNumber)
+                    .setter(UserEntity::setPhoneNumber))
+            .build();
+
+    /**
+     * Layout compacto: chave binaria de 16 bytes e nomes de atributos de uma letra.
+     */
+    public static final StaticTableSchema<UserEntity> COMPACT = StaticTableSchema.builder(UserEntity.class)
+            .newItemSupplier(UserEntity::new)
+            .addAttribute(UUID.class, attribute -> attribute.name("id")
+                    .getter(UserEntity::getUuid)
+                    .setter(UserEntity::setUuid)
+                    .attributeConverter(new BinaryUuidAttributeConverter())
+                    .tags(primaryPartitionKey()))
+            .addAttribute(String.class, attribute -> attribute.name("u")
+                    .getter(UserEntity::getUsername)
+                    .setter(UserEntity::setUsername))
+            .addAttribute(String.class, attribute -> attribute.name("e")
+                    .getter(UserEntity::getEmail)
+                    .setter(UserEntity::setEmail)
+                    .tags(secondaryPartitionKey(UserEntity.EMAIL_INDEX)))
+            .addAttribute(String.class, attribute -> attribute.name("c")
+                    .getter(UserEntity::getCpf)
+                    .setter(UserEntity::setCpf)
+                    .tags(secondaryPartitionKey(UserEntity.CPF_INDEX)))
+            .addAttribute(String.class, attribute -> attribute.name("p")
+                    .getter(UserEntity::getPhoneNumber)
+                    .setter(UserEntity::setPhoneNumber))
+            .build();
+
+    private UserEntityTableSchema() {
+    }
+}
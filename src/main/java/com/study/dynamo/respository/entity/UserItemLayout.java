@@ -0,0 +1,95 @@
+package com.study.dynamo.respository.entity;
+
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Layouts de gravacao do usuario. Como o tipo da chave de particao nao muda numa tabela existente,
+ * o layout compacto vive numa tabela propria.
+ */
+public enum UserItemLayout {
+
+    LEGACY("user_table", UserEntityTableSchema.INSTANCE, Map.of(
+            "uuid", "user_id",
+            "username", "username",
+            "email", "email",
+            "cpf", "cpf",
+            "phoneNumber", "phone_number")),
+    COMPACT("user_table_compact", UserEntityTableSchema.COMPACT, Map.of(
+            "uuid", "id",
+            "username", "u",
+            "email", "e",
+            "cpf", "c",
+            "phoneNumber", "p"));
+
+    private final String tableName;
+
+    private final TableSchema<UserEntity> tableSchema;
+
+    private final Map<String, String> attributeNamesByProperty;
+
+    private final String partitionKeyName;
+
+    private final Expression existsCondition;
+
+    private final Expression notExistsCondition;
+
+    UserItemLayout(String tableName, TableSchema<UserEntity> tableSchema, Map<String, String> attributeNamesByProperty) {
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.attributeNamesByProperty = attributeNamesByProperty;
+        this.partitionKeyName = tableSchema.tableMetadata().primaryPartitionKey();
+        this.existsCondition = keyCondition("attribute_exists");
+        this.notExistsCondition = keyCondition("attribute_not_exists");
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+
+    public TableSchema<UserEntity> tableSchema() {
+        return tableSchema;
+    }
+
+    public Key key(UUID uuid) {
+        var keyItem = UserEntity.builder().uuid(uuid).build();
+        return Key.builder().partitionValue(tableSchema.attributeValue(keyItem, partitionKeyName)).build();
+    }
+
+    public Map<String, AttributeValue> keyMap(UUID uuid) {
+        return key(uuid).keyMap(tableSchema, TableMetadata.primaryIndexName());
+    }
+
+    /**
+     * Nome do atributo no item para a propriedade de {@link UserEntity}.
+     */
+    public String attributeName(String property) {
+        var attributeName = attributeNamesByProperty.get(property);
+        if (attributeName == null) {
+            throw new IllegalArgumentException(String.format("Propriedade de usuario desconhecida: %s", property));
+        }
+        return attributeName;
+    }
+
+    public Expression existsCondition() {
+        return existsCondition;
+    }
+
+    public Expression notExistsCondition() {
+        return notExistsCondition;
+    }
+
+    private Expression keyCondition(String function) {
+        var expressionName = "#" + partitionKeyName;
+        return Expression.builder()
+                .expression(String.format("%s(%s)", function, expressionName))
+                .putExpressionName(expressionName, partitionKeyName)
+                .build();
+    }
+}
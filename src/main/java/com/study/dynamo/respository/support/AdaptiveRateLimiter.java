@@ -0,0 +1,114 @@
+package com.study.dynamo.respository.support;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket com taxa adaptativa (AIMD): cada throttling reduz a taxa por um fator e, sem throttling, ela volta a
+ * subir linearmente ate o maximo. Throttlings dentro de {@code cooldownNanos} contam uma vez so, para que uma rajada
+ * de respostas da mesma sobrecarga nao derrube a taxa ao minimo.
+ */
+public class AdaptiveRateLimiter {
+
+    private final String name;
+
+    private final double minRate;
+
+    private final double maxRate;
+
+    private final double decreaseFactor;
+
+    private final double recoveryPerSecond;
+
+    private final long cooldownNanos;
+
+    private final long maxWaitNanos;
+
+    private double rate;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    private long lastDecreaseNanos;
+
+    public AdaptiveRateLimiter(String name, double minRate, double maxRate, double decreaseFactor,
+                               double recoveryPerSecond, long cooldownNanos, long maxWaitNanos) {
+        if (minRate <= 0 || maxRate < minRate) {
+            throw new IllegalArgumentException(String.format("Taxas invalidas para o limitador %s", name));
+        }
+        this.name = name;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.decreaseFactor = decreaseFactor;
+        this.recoveryPerSecond = recoveryPerSecond;
+        this.cooldownNanos = cooldownNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.rate = maxRate;
+        this.tokens = maxRate;
+        this.lastRefillNanos = System.nanoTime();
+        this.lastDecreaseNanos = lastRefillNanos - cooldownNanos;
+    }
+
+    /**
+     * Reserva uma permissao e espera a vez; sem vez dentro de {@code maxWaitNanos}, desiste sem consumir.
+     *
+     * @return false quando a espera passaria do limite
+     */
+    public boolean acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            refill(System.nanoTime());
+            waitNanos = (long) (Math.max(0, 1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1));
+            if (waitNanos > maxWaitNanos) {
+                return false;
+            }
+            tokens -= 1;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return true;
+    }
+
+    /**
+     * Versao sem espera de {@link #acquire()}, para quem nao pode bloquear a thread (event loop do cliente assincrono).
+     *
+     * @return false quando nao ha permissao disponivel agora
+     */
+    public synchronized boolean tryAcquire() {
+        refill(System.nanoTime());
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized void onThrottle() {
+        var now = System.nanoTime();
+        refill(now);
+        if (now - lastDecreaseNanos < cooldownNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        rate = Math.max(minRate, rate * decreaseFactor);
+        tokens = Math.min(tokens, rate);
+    }
+
+    public synchronized double rate() {
+        refill(System.nanoTime());
+        return rate;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    private void refill(long now) {
+        var elapsedSeconds = (double) (now - lastRefillNanos) / TimeUnit.SECONDS.toNanos(1);
+        lastRefillNanos = now;
+        rate = Math.min(maxRate, rate + recoveryPerSecond * elapsedSeconds);
+        // Ate um segundo de rajada; tokens negativos sao reservas de quem esta esperando
+        tokens = Math.min(rate, tokens + rate * elapsedSeconds);
+    }
+}
@@ -0,0 +1,46 @@
+package com.study.dynamo.respository.support;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Grava o {@link UUID} como binario de 16 bytes em vez da representacao textual de 36 caracteres.
+ */
+public class BinaryUuidAttributeConverter implements AttributeConverter<UUID> {
+
+    private static final int UUID_BYTES = 16;
+
+    @Override
+    public AttributeValue transformFrom(UUID uuid) {
+        var buffer = ByteBuffer.allocate(UUID_BYTES)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits());
+        return AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(buffer.array()));
+    }
+
+    @Override
+    public UUID transformTo(AttributeValue attributeValue) {
+        var buffer = attributeValue.b().asByteBuffer();
+        if (buffer.remaining() != UUID_BYTES) {
+            throw new IllegalArgumentException(String.format(
+                    "Uuid binario deve ter %d bytes, recebido %d", UUID_BYTES, buffer.remaining()));
+        }
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    @Override
+    public EnhancedType<UUID> type() {
+        return EnhancedType.of(UUID.class);
+    }
+
+    @Override
+    public AttributeValueType attributeValueType() {
+        return AttributeValueType.B;
+    }
+}
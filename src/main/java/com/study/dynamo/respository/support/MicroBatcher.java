@@ -0,0 +1,113 @@
+package com.study.dynamo.respository.support;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Agrupa chaves enviadas por chamadores independentes em um unico carregamento em lote. O lote e
+ * despachado quando a janela expira ou quando atinge o tamanho maximo, o que acontecer primeiro.
+ */
+public class MicroBatcher<K, V> {
+
+    private final Function<List<K>, Map<K, V>> batchLoader;
+
+    private final Duration window;
+
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor loaderExecutor;
+
+    private final Object lock = new Object();
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder keys = new LongAdder();
+
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MicroBatcher(Function<List<K>, Map<K, V>> batchLoader, Duration window, int maxBatchSize,
+                        ScheduledExecutorService scheduler, Executor loaderExecutor) {
+        this.batchLoader = batchLoader;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.loaderExecutor = loaderExecutor;
+    }
+
+    public CompletableFuture<V> submit(K key) {
+        CompletableFuture<V> result;
+        Map<K, CompletableFuture<V>> fullBatch = null;
+        synchronized (lock) {
+            result = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return result;
+    }
+
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    public long keyCount() {
+        return keys.sum();
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private Map<K, CompletableFuture<V>> drain() {
+        var batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batches.increment();
+        keys.add(batch.size());
+        try {
+            loaderExecutor.execute(() -> load(batch));
+        } catch (RuntimeException e) {
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private void load(Map<K, CompletableFuture<V>> batch) {
+        try {
+            var values = batchLoader.apply(List.copyOf(batch.keySet()));
+            batch.forEach((key, result) -> result.complete(values.get(key)));
+        } catch (Throwable e) {
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+}
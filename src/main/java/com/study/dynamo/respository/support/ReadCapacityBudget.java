@@ -0,0 +1,35 @@
+package com.study.dynamo.respository.support;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita as unidades de leitura por segundo somadas entre varias threads. O custo de uma pagina so e conhecido
+ * depois do Scan, entao quem consome paga a divida deixada pelas paginas anteriores antes de seguir.
+ */
+public class ReadCapacityBudget {
+
+    private final double unitsPerSecond;
+
+    private long nextFreeNanos;
+
+    public ReadCapacityBudget(double unitsPerSecond) {
+        if (unitsPerSecond <= 0) {
+            throw new IllegalArgumentException("A capacidade de leitura por segundo deve ser positiva");
+        }
+        this.unitsPerSecond = unitsPerSecond;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    public void consume(double units) throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            var now = System.nanoTime();
+            var start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + (long) (units / unitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
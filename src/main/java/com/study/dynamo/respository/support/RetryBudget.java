@@ -0,0 +1,55 @@
+package com.study.dynamo.respository.support;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orcamento global de retentativas: cada sucesso deposita {@code ratio} e cada retentativa saca uma ficha, com um
+ * piso de {@code minPerSecond} fichas por segundo para nao travar quando o trafego e baixo. Sob sobrecarga as
+ * retentativas ficam limitadas a uma fracao do trafego bem-sucedido, em vez de multiplicar a carga.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+
+    private final double minPerSecond;
+
+    private final double maxTokens;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    public RetryBudget(double ratio, double minPerSecond, double maxTokens) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public synchronized void deposit() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        var now = System.nanoTime();
+        var elapsedSeconds = (double) (now - lastRefillNanos) / TimeUnit.SECONDS.toNanos(1);
+        lastRefillNanos = now;
+        tokens = Math.min(maxTokens, tokens + minPerSecond * elapsedSeconds);
+    }
+}
@@ -0,0 +1,46 @@
+package com.study.dynamo.respository.support;
+
+import com.study.dynamo.dto.UserDto;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Decodifica o item bruto do DynamoDB direto em {@link UserDto}, sem passar por {@code UserEntity} e {@code UserMapper}.
+ * Os nomes dos atributos devem acompanhar o {@code UserEntityTableSchema}.
+ */
+public final class UserItemCodec {
+
+    public static final String USER_ID = "user_id";
+
+    public static final String USERNAME = "username";
+
+    public static final String EMAIL = "email";
+
+    public static final String CPF = "cpf";
+
+    public static final String PHONE_NUMBER = "phone_number";
+
+    private UserItemCodec() {
+    }
+
+    public static Map<String, AttributeValue> key(UUID uuid) {
+        return Map.of(USER_ID, AttributeValue.fromS(uuid.toString()));
+    }
+
+    public static UserDto toUserDto(Map<String, AttributeValue> item) {
+        return UserDto.builder()
+                .uuid(UUID.fromString(item.get(USER_ID).s()))
+                .username(string(item, USERNAME))
+                .email(string(item, EMAIL))
+                .cpf(string(item, CPF))
+                .phoneNumber(string(item, PHONE_NUMBER))
+                .build();
+    }
+
+    private static String string(Map<String, AttributeValue> item, String attributeName) {
+        var attributeValue = item.get(attributeName);
+        return attributeValue == null ? null : attributeValue.s();
+    }
+}
@@ -0,0 +1,41 @@
+package com.study.dynamo.respository.support;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Codifica o {@code LastEvaluatedKey} de um Scan como texto opaco. A tabela so tem chave de particao, entao basta o
+ * uuid do ultimo item avaliado, em 16 bytes base64url, independente do layout.
+ */
+public final class UserPageCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private UserPageCursor() {
+    }
+
+    public static String encode(UUID uuid) {
+        var bytes = ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+        return ENCODER.encodeToString(bytes);
+    }
+
+    public static UUID decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Cursor invalido: %s", cursor), e);
+        }
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException(String.format("Cursor invalido: %s", cursor));
+        }
+        var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,19 @@
+package com.study.dynamo.service;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncUserService {
+
+    CompletableFuture<UserDto> findUserByUuid(UUID uuid);
+
+    CompletableFuture<UserDto> createUser(CreateUserDto createUserDto);
+
+    CompletableFuture<UserDto> patchUser(UUID uuid, UpdateUserDto updateUserDto);
+
+    CompletableFuture<Void> deleteUser(UUID uuid);
+}
@@ -0,0 +1,90 @@
+package com.study.dynamo.service;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.exception.UserNotCreatedException;
+import com.study.dynamo.exception.UserNotDeletedException;
+import com.study.dynamo.exception.UserNotFoundException;
+import com.study.dynamo.exception.UserNotPatchedException;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.AsyncUserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RequiredArgsConstructor
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "aws.dynamodb.async", havingValue = "true")
+public class DefaultAsyncUserService implements AsyncUserService {
+
+    private final UserMapper userMapper;
+
+    private final AsyncUserRepository asyncUserRepository;
+
+    @Override
+    public CompletableFuture<UserDto> patchUser(UUID uuid, UpdateUserDto updateUserDto) {
+        return CompletableFuture.completedFuture(updateUserDto)
+                .thenApply(userDto -> userMapper.toUserEntity(uuid, userDto))
+                .thenCompose(asyncUserRepository::patch)
+                .exceptionally(e -> {
+                    log.error("Erro ao atualizar usuário com uuid: [{}]", uuid, e);
+                    throw new UserNotPatchedException("Erro ao atualizar usuário",
+                            String.format("Não foi possível atualizar usuário com uuid: %s", uuid));
+                })
+                .thenApply(userEntityUpdated -> userEntityUpdated
+                        .map(userMapper::toUserDto)
+                        .orElseThrow(() -> userNotFound(uuid)));
+    }
+
+    @Override
+    public CompletableFuture<UserDto> findUserByUuid(UUID uuid) {
+        return findUser(uuid).thenApply(userMapper::toUserDto);
+    }
+
+    private CompletableFuture<UserEntity> findUser(UUID uuid) {
+        return asyncUserRepository.findByUuid(uuid)
+                .thenApply(userEntity -> userEntity.orElseThrow(() -> userNotFound(uuid)));
+    }
+
+    private UserNotFoundException userNotFound(UUID uuid) {
+        log.debug("Usuário não encontrado pelo uuid: [{}]", uuid);
+        return new UserNotFoundException("Não encontrado",
+                String.format("Usuário não encontrado pelo uuid: %s", uuid));
+    }
+
+    @Override
+    public CompletableFuture<UserDto> createUser(CreateUserDto createUserDto) {
+        var userId = UUID.randomUUID().toString();
+        return CompletableFuture.completedFuture(createUserDto)
+                .thenApply(userDto -> userMapper.toUserEntity(userId, userDto))
+                .thenCompose(userEntity -> asyncUserRepository.save(userEntity)
+                        .thenApply(saved -> userMapper.toUserDto(userEntity)))
+                .exceptionally(e -> {
+                    log.error("Erro ao criar usuário com username: [{}]", createUserDto.username(), e);
+                    throw new UserNotCreatedException("Erro ao criar usuário",
+                            String.format("Não foi possível criar usuário com username: %s", createUserDto.username()));
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteUser(UUID uuid) {
+        return asyncUserRepository.delete(uuid)
+                .exceptionally(e -> {
+                    log.error("Erro ao remover usuário com uuid: [{}]", uuid, e);
+                    throw new UserNotDeletedException("Erro ao excluir usuário",
+                            String.format("Não foi possível remover usuário pelo uuid: %s", uuid));
+                })
+                .thenAccept(deletedUserEntity -> {
+                    if (deletedUserEntity.isEmpty()) {
+                        throw userNotFound(uuid);
+                    }
+                });
+    }
+}
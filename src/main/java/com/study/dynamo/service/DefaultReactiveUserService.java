@@ -0,0 +1,79 @@
+package com.study.dynamo.service;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.exception.UserNotCreatedException;
+import com.study.dynamo.exception.UserNotDeletedException;
+import com.study.dynamo.exception.UserNotFoundException;
+import com.study.dynamo.exception.UserNotPatchedException;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Service
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class DefaultReactiveUserService implements ReactiveUserService {
+
+    private final UserMapper userMapper;
+
+    private final ReactiveUserRepository reactiveUserRepository;
+
+    @Override
+    public Mono<UserDto> patchUser(UUID uuid, UpdateUserDto updateUserDto) {
+        return Mono.fromSupplier(() -> userMapper.toUserEntity(uuid, updateUserDto))
+                .flatMap(reactiveUserRepository::patch)
+                .onErrorMap(e -> {
+                    log.error("Erro ao atualizar usuário com uuid: [{}]", uuid, e);
+                    return new UserNotPatchedException("Erro ao atualizar usuário",
+                            String.format("Não foi possível atualizar usuário com uuid: %s", uuid));
+                })
+                .map(userMapper::toUserDto)
+                .switchIfEmpty(Mono.error(() -> userNotFound(uuid)));
+    }
+
+    @Override
+    public Mono<UserDto> findUserByUuid(UUID uuid) {
+        return reactiveUserRepository.findByUuid(uuid)
+                .map(userMapper::toUserDto)
+                .switchIfEmpty(Mono.error(() -> userNotFound(uuid)));
+    }
+
+    private UserNotFoundException userNotFound(UUID uuid) {
+        log.debug("Usuário não encontrado pelo uuid: [{}]", uuid);
+        return new UserNotFoundException("Não encontrado",
+                String.format("Usuário não encontrado pelo uuid: %s", uuid));
+    }
+
+    @Override
+    public Mono<UserDto> createUser(CreateUserDto createUserDto) {
+        return Mono.fromSupplier(() -> userMapper.toUserEntity(UUID.randomUUID().toString(), createUserDto))
+                .flatMap(userEntity -> reactiveUserRepository.save(userEntity)
+                        .then(Mono.fromSupplier(() -> userMapper.toUserDto(userEntity))))
+                .onErrorMap(e -> {
+                    log.error("Erro ao criar usuário com username: [{}]", createUserDto.username(), e);
+                    return new UserNotCreatedException("Erro ao criar usuário",
+                            String.format("Não foi possível criar usuário com username: %s", createUserDto.username()));
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteUser(UUID uuid) {
+        return reactiveUserRepository.delete(uuid)
+                .onErrorMap(e -> {
+                    log.error("Erro ao remover usuário com uuid: [{}]", uuid, e);
+                    return new UserNotDeletedException("Erro ao excluir usuário",
+                            String.format("Não foi possível remover usuário pelo uuid: %s", uuid));
+                })
+                .switchIfEmpty(Mono.error(() -> userNotFound(uuid)))
+                .then();
+    }
+}
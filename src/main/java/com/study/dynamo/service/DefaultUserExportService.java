@@ -0,0 +1,261 @@
+package com.study.dynamo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.config.BatchConfig;
+import com.study.dynamo.exception.UserNotRetrievedException;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.UserRepository;
+import com.study.dynamo.respository.entity.UserEntityPage;
+import com.study.dynamo.respository.support.ReadCapacityBudget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exporta a tabela com Scan paralelo em {@code segments} segmentos, uma pagina por vez em cada segmento, dentro do
+ * orcamento de unidades de leitura por segundo. A memoria fica limitada a poucas paginas por segmento.
+ * <p>
+ * Uma falha antes do primeiro byte vira {@link UserNotRetrievedException}. Depois dele a resposta ja foi enviada com
+ * 200, entao a falha sai como {@link IOException} sem fechar o gzip nem o corpo: o container derruba a conexao e o
+ * cliente ve uma transferencia incompleta em vez de um arquivo truncado que parece inteiro.
+ */
+@Service
+@Slf4j
+public class DefaultUserExportService implements UserExportService {
+
+    private static final String DONE = "DONE";
+
+    private final UserRepository userRepository;
+
+    private final UserMapper userMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final int segments;
+
+    private final int pageSize;
+
+    private final double readCapacityPerSecond;
+
+    private final boolean virtualThreads;
+
+    public DefaultUserExportService(UserRepository userRepository,
+                                    UserMapper userMapper,
+                                    ObjectMapper objectMapper,
+                                    @Value("${aws.dynamodb.export.segments:4}") int segments,
+                                    @Value("${aws.dynamodb.export.page-size:500}") int pageSize,
+                                    @Value("${aws.dynamodb.export.read-capacity-per-second:200}") double readCapacityPerSecond,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.objectMapper = objectMapper;
+        this.segments = segments;
+        this.pageSize = pageSize;
+        this.readCapacityPerSecond = readCapacityPerSecond;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public void export(OutputStream outputStream, boolean gzip) throws IOException {
+        log.info("Exportando usuarios em [{}] segmentos", segments);
+        var budget = new ReadCapacityBudget(readCapacityPerSecond);
+        // Fila curta: se o cliente le devagar, os segmentos param no put em vez de acumular paginas
+        var chunks = new ArrayBlockingQueue<Chunk>(segments * 2);
+        var executor = newExecutor();
+        try {
+            IntStream.range(0, segments)
+                    .forEach(segment -> executor.execute(() -> produce(segment, budget, chunks)));
+            var output = gzip ? new GZIPOutputStream(outputStream, 8192, true) : outputStream;
+            var finished = 0;
+            var written = false;
+            while (finished < segments) {
+                var chunk = take(chunks);
+                if (chunk.error() != null) {
+                    log.error("Erro ao exportar usuarios", chunk.error());
+                    if (written) {
+                        throw new IOException("Exportacao interrompida depois de iniciada a resposta", chunk.error());
+                    }
+                    throw new UserNotRetrievedException("Erro ao exportar usuários", "Não foi possível exportar usuários");
+                }
+                if (chunk.lines() == null) {
+                    finished++;
+                    continue;
+                }
+                output.write(chunk.lines());
+                output.flush();
+                written = true;
+            }
+            if (output instanceof GZIPOutputStream gzipOutput) {
+                gzipOutput.finish();
+            }
+            output.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Exportacao de usuarios concluida");
+    }
+
+    @Override
+    public void exportToDirectory(Path directory, boolean gzip) throws IOException {
+        log.info("Exportando usuarios em [{}] segmentos para [{}]", segments, directory);
+        Files.createDirectories(directory);
+        var budget = new ReadCapacityBudget(readCapacityPerSecond);
+        var executor = newExecutor();
+        try {
+            var futures = IntStream.range(0, segments)
+                    .mapToObj(segment -> CompletableFuture.runAsync(() -> exportSegment(directory, segment, gzip, budget), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            log.error("Erro ao exportar usuarios para [{}]", directory, e.getCause());
+            throw new UserNotRetrievedException("Erro ao exportar usuários",
+                    String.format("Não foi possível exportar usuários para %s", directory));
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Exportacao de usuarios para [{}] concluida", directory);
+    }
+
+    private void produce(int segment, ReadCapacityBudget budget, BlockingQueue<Chunk> chunks) {
+        try {
+            try {
+                scanSegment(segment, null, budget, page -> chunks.put(new Chunk(toNdjson(page), null)));
+                chunks.put(new Chunk(null, null));
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                chunks.put(new Chunk(null, e));
+            }
+        } catch (InterruptedException e) {
+            // Exportacao cancelada pelo consumidor
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void exportSegment(Path directory, int segment, boolean gzip, ReadCapacityBudget budget) {
+        var name = String.format("users-%d-of-%d", segment, segments);
+        var file = directory.resolve(name + (gzip ? ".ndjson.gz" : ".ndjson"));
+        var checkpointFile = directory.resolve(name + ".checkpoint");
+        try {
+            var checkpoint = readCheckpoint(checkpointFile);
+            if (checkpoint != null && checkpoint.cursor() == null) {
+                log.info("Segmento [{}] ja exportado, ignorando", segment);
+                return;
+            }
+            try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Descarta o que foi escrito depois do ultimo checkpoint; no gzip cada pagina e um membro completo
+                var offset = checkpoint == null ? 0 : checkpoint.offset();
+                channel.truncate(offset);
+                channel.position(offset);
+                scanSegment(segment, checkpoint == null ? null : checkpoint.cursor(), budget, page -> {
+                    var lines = toNdjson(page);
+                    var buffer = ByteBuffer.wrap(gzip ? gzip(lines) : lines);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(false);
+                    writeCheckpoint(checkpointFile, new Checkpoint(channel.position(), page.nextCursor()));
+                });
+            }
+            log.info("Segmento [{}] exportado em [{}]", segment, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException(String.format("Exportacao do segmento %d interrompida", segment));
+        }
+    }
+
+    private void scanSegment(int segment, String cursor, ReadCapacityBudget budget, PageHandler pageHandler)
+            throws IOException, InterruptedException {
+        do {
+            var page = userRepository.findSegmentPage(segment, segments, pageSize, cursor);
+            pageHandler.handle(page);
+            budget.consume(page.consumedCapacity());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+    }
+
+    private byte[] toNdjson(UserEntityPage page) throws IOException {
+        var lines = new ByteArrayOutputStream();
+        for (var userEntity : page.userEntities()) {
+            objectMapper.writeValue(lines, userMapper.toUserDto(userEntity));
+            lines.write('\n');
+        }
+        return lines.toByteArray();
+    }
+
+    private ExecutorService newExecutor() {
+        return Executors.newFixedThreadPool(segments, BatchConfig.workerThreadFactory("user-export-", virtualThreads));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        var compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (var gzipOutput = new GZIPOutputStream(compressed)) {
+            gzipOutput.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static Checkpoint readCheckpoint(Path checkpointFile) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+        var parts = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim().split(" ", 2);
+        return new Checkpoint(Long.parseLong(parts[0]), DONE.equals(parts[1]) ? null : parts[1]);
+    }
+
+    private static void writeCheckpoint(Path checkpointFile, Checkpoint checkpoint) throws IOException {
+        var temporaryFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        var cursor = checkpoint.cursor() == null ? DONE : checkpoint.cursor();
+        Files.writeString(temporaryFile, checkpoint.offset() + " " + cursor, StandardCharsets.UTF_8);
+        Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Chunk take(BlockingQueue<Chunk> chunks) throws IOException {
+        try {
+            return chunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Exportacao interrompida", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageHandler {
+        void handle(UserEntityPage page) throws IOException, InterruptedException;
+    }
+
+    /**
+     * Paginas ja serializadas de um segmento; {@code lines} nulo marca o fim do segmento.
+     */
+    private record Chunk(byte[] lines, Exception error) {
+    }
+
+    /**
+     * Posicao no arquivo e cursor da proxima pagina; cursor nulo indica segmento concluido.
+     */
+    private record Checkpoint(long offset, String cursor) {
+    }
+}
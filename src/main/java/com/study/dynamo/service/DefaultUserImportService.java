@@ -0,0 +1,393 @@
+package com.study.dynamo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.config.BatchConfig;
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UserImportResultDto;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.UserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Importa usuarios de um arquivo lido linha a linha. A leitura valida cada linha com as regras de
+ * {@link CreateUserDto} e enfileira lotes de ate 25 itens (um BatchWriteItem) numa fila limitada; quando os
+ * {@code workers} nao dao conta, a leitura para no put ate abrir espaco. Se um worker falha, a importacao e abortada
+ * com a falha dele.
+ */
+@Service
+@Slf4j
+public class DefaultUserImportService implements UserImportService, MeterBinder {
+
+    private static final int BATCH_SIZE = 25;
+
+    private static final List<Row> END = List.of();
+
+    private static final long WORKER_CHECK_INTERVAL_MILLIS = 100;
+
+    private final UserRepository userRepository;
+
+    private final UserMapper userMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final int workers;
+
+    private final int queueCapacity;
+
+    private final long progressInterval;
+
+    private final boolean virtualThreads;
+
+    private final LongAdder importedRows = new LongAdder();
+
+    private final LongAdder rejectedRows = new LongAdder();
+
+    public DefaultUserImportService(UserRepository userRepository,
+                                    UserMapper userMapper,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    @Value("${aws.dynamodb.import.workers:4}") int workers,
+                                    @Value("${aws.dynamodb.import.queue-capacity:8}") int queueCapacity,
+                                    @Value("${aws.dynamodb.import.progress-interval:10000}") long progressInterval,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.progressInterval = progressInterval;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public UserImportResultDto importUsers(Path file, Path rejectsFile) throws IOException {
+        var format = UserImportFormat.fromFileName(file);
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             var rejects = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8)) {
+            return importUsers(reader, format, rejects);
+        }
+    }
+
+    @Override
+    public UserImportResultDto importUsers(Reader reader, UserImportFormat format, Writer rejects) throws IOException {
+        log.info("Importando usuarios em formato [{}] com [{}] workers", format, workers);
+        var run = new ImportRun(rejects);
+        var batches = new ArrayBlockingQueue<List<Row>>(queueCapacity);
+        var executor = Executors.newFixedThreadPool(workers, BatchConfig.workerThreadFactory("user-import-", virtualThreads));
+        var futures = IntStream.range(0, workers)
+                .mapToObj(worker -> CompletableFuture.runAsync(() -> write(batches, run), executor))
+                .toArray(CompletableFuture[]::new);
+        try {
+            read(reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader), format, batches,
+                    futures, run);
+            for (var worker = 0; worker < workers; worker++) {
+                put(batches, END, futures);
+            }
+            for (var future : futures) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    throw workerFailure(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        rejects.flush();
+
+        var result = run.result();
+        log.info("Importacao concluida: [{}] lidos, [{}] importados, [{}] rejeitados",
+                result.read(), result.imported(), result.rejected());
+        return result;
+    }
+
+    public long importedCount() {
+        return importedRows.sum();
+    }
+
+    public long rejectedCount() {
+        return rejectedRows.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("users.import.rows", this, DefaultUserImportService::importedCount)
+                .description("Linhas importadas")
+                .tag("result", "imported")
+                .register(registry);
+        FunctionCounter.builder("users.import.rows", this, DefaultUserImportService::rejectedCount)
+                .description("Linhas rejeitadas na validacao ou na gravacao")
+                .tag("result", "rejected")
+                .register(registry);
+    }
+
+    private void read(BufferedReader reader, UserImportFormat format, BlockingQueue<List<Row>> batches,
+                      CompletableFuture<?>[] workerFutures, ImportRun run) throws IOException {
+        Map<String, Integer> header = null;
+        var batch = new ArrayList<Row>(BATCH_SIZE);
+        var lineNumber = 0L;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == UserImportFormat.CSV && header == null) {
+                header = csvHeader(line);
+                continue;
+            }
+            run.read.incrementAndGet();
+            var row = toRow(lineNumber, line, format, header, run);
+            if (row == null) {
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                put(batches, batch, workerFutures);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            put(batches, batch, workerFutures);
+        }
+    }
+
+    private Row toRow(long lineNumber, String line, UserImportFormat format, Map<String, Integer> header, ImportRun run)
+            throws IOException {
+        CreateUserDto createUserDto;
+        try {
+            createUserDto = format == UserImportFormat.NDJSON
+                    ? objectMapper.readValue(line, CreateUserDto.class)
+                    : fromCsv(header, csvFields(line));
+        } catch (JsonProcessingException e) {
+            run.reject(lineNumber, line, String.format("Linha mal formada: %s", e.getOriginalMessage()));
+            return null;
+        } catch (IllegalArgumentException e) {
+            run.reject(lineNumber, line, String.format("Linha mal formada: %s", e.getMessage()));
+            return null;
+        }
+        var violations = validator.validate(createUserDto);
+        if (!violations.isEmpty()) {
+            run.reject(lineNumber, line, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return new Row(lineNumber, line, userMapper.toUserEntity(UUID.randomUUID().toString(), createUserDto));
+    }
+
+    private void write(BlockingQueue<List<Row>> batches, ImportRun run) {
+        try {
+            while (true) {
+                var batch = batches.take();
+                if (batch == END) {
+                    return;
+                }
+                save(batch, run);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Erro ao gravar arquivo de rejeitados", e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void save(List<Row> batch, ImportRun run) throws IOException {
+        List<UserEntity> unprocessed;
+        try {
+            unprocessed = userRepository.saveAll(batch.stream().map(Row::userEntity).toList());
+        } catch (Exception e) {
+            log.error("Erro ao gravar lote de [{}] usuarios", batch.size(), e);
+            for (var row : batch) {
+                run.reject(row.lineNumber(), row.line(), "Erro ao gravar lote no DynamoDB");
+            }
+            return;
+        }
+        var unprocessedUuids = unprocessed.stream()
+                .map(UserEntity::getUuid)
+                .collect(Collectors.toSet());
+        for (var row : batch) {
+            if (unprocessedUuids.contains(row.userEntity().getUuid())) {
+                run.reject(row.lineNumber(), row.line(), "Item nao processado pelo DynamoDB apos retentativas");
+            }
+        }
+        run.imported(batch.size() - unprocessedUuids.size());
+    }
+
+    // Espera em fatias para notar workers que morreram: sem eles a fila nunca esvazia e o put esperaria para sempre
+    private static void put(BlockingQueue<List<Row>> batches, List<Row> batch, CompletableFuture<?>[] workerFutures)
+            throws IOException {
+        try {
+            do {
+                for (var workerFuture : workerFutures) {
+                    if (workerFuture.isCompletedExceptionally()) {
+                        throw workerFailure(workerFuture.exceptionNow());
+                    }
+                }
+            } while (!batches.offer(batch, WORKER_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Importacao interrompida");
+        }
+    }
+
+    private static IOException workerFailure(Throwable cause) {
+        if (cause instanceof UncheckedIOException uncheckedIOException) {
+            return uncheckedIOException.getCause();
+        }
+        return new IOException("Worker da importacao falhou", cause);
+    }
+
+    private static Map<String, Integer> csvHeader(String line) {
+        var header = new HashMap<String, Integer>();
+        var columns = csvFields(line);
+        for (var index = 0; index < columns.size(); index++) {
+            header.put(columns.get(index).trim().replace("_", "").toLowerCase(Locale.ROOT), index);
+        }
+        return header;
+    }
+
+    private static CreateUserDto fromCsv(Map<String, Integer> header, List<String> fields) {
+        return CreateUserDto.builder()
+                .username(csvValue(header, fields, "username"))
+                .email(csvValue(header, fields, "email"))
+                .cpf(csvValue(header, fields, "cpf"))
+                .phoneNumber(csvValue(header, fields, "phonenumber"))
+                .build();
+    }
+
+    private static String csvValue(Map<String, Integer> header, List<String> fields, String column) {
+        var index = header.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    // Campos separados por virgula, entre aspas quando contem virgula; aspas internas dobradas
+    private static List<String> csvFields(String line) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        for (var index = 0; index < line.length(); index++) {
+            var character = line.charAt(index);
+            if (quoted) {
+                if (character == '"' && index + 1 < line.length() && line.charAt(index + 1) == '"') {
+                    field.append('"');
+                    index++;
+                } else if (character == '"') {
+                    quoted = false;
+                } else {
+                    field.append(character);
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(character);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("aspas sem fechamento");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(long lineNumber, String line, UserEntity userEntity) {
+    }
+
+    private record Reject(long line, String error, String row) {
+    }
+
+    /**
+     * Contadores e arquivo de rejeitados de uma execucao, compartilhados entre a leitura e os workers.
+     */
+    private class ImportRun {
+
+        private final Writer rejects;
+
+        // Lock em vez de synchronized: a escrita e I/O e, em virtual threads, synchronized prende a thread carregadora
+        private final ReentrantLock rejectsLock = new ReentrantLock();
+
+        private final AtomicLong read = new AtomicLong();
+
+        private final AtomicLong imported = new AtomicLong();
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        private ImportRun(Writer rejects) {
+            this.rejects = rejects;
+        }
+
+        private void reject(long lineNumber, String line, String error) throws IOException {
+            var reject = objectMapper.writeValueAsString(new Reject(lineNumber, error, line));
+            rejectsLock.lock();
+            try {
+                rejects.write(reject);
+                rejects.write('\n');
+            } finally {
+                rejectsLock.unlock();
+            }
+            rejected.incrementAndGet();
+            rejectedRows.increment();
+        }
+
+        private void imported(long count) {
+            var total = imported.addAndGet(count);
+            importedRows.add(count);
+            if (total / progressInterval != (total - count) / progressInterval) {
+                log.info("Importacao em andamento: [{}] lidos, [{}] importados, [{}] rejeitados",
+                        read.get(), total, rejected.get());
+            }
+        }
+
+        private UserImportResultDto result() {
+            return UserImportResultDto.builder()
+                    .read(read.get())
+                    .imported(imported.get())
+                    .rejected(rejected.get())
+                    .build();
+        }
+    }
+}
@@ -1,20 +1,38 @@
 package com.study.dynamo.service;
 
+import com.study.dynamo.dto.BatchGetUserResultDto;
+import com.study.dynamo.dto.BulkCreateUserItemDto;
+import com.study.dynamo.dto.BulkCreateUserResultDto;
 import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.ReadConsistency;
 import com.study.dynamo.dto.UpdateUserDto;
 import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.dto.UserPageDto;
+import com.study.dynamo.exception.InvalidCursorException;
 import com.study.dynamo.exception.UserNotCreatedException;
 import com.study.dynamo.exception.UserNotDeletedException;
 import com.study.dynamo.exception.UserNotFoundException;
 import com.study.dynamo.exception.UserNotPatchedException;
+import com.study.dynamo.exception.UserNotRetrievedException;
 import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.UserDtoRepository;
 import com.study.dynamo.respository.UserRepository;
 import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @RequiredArgsConstructor
 @Service
@@ -25,34 +43,127 @@ public class DefaultUserService implements UserService {
 
     private final UserRepository userRepository;
 
+    // Presente apenas com aws.dynamodb.direct-read.enabled; le o item bruto direto para UserDto, sem passar pelo cache
+    private final Optional<UserDtoRepository> userDtoRepository;
+
     @Override
     public UserDto patchUser(UUID uuid, UpdateUserDto updateUserDto) {
-        var userEntityToUpdate = findUser(uuid);
+        var userEntityToPatch = userMapper.toUserEntity(uuid, updateUserDto);
+        Optional<UserEntity> userEntityUpdated;
         try {
-            userMapper.patchUserEntity(userEntityToUpdate, updateUserDto);
-            var userEntityUpdated = userRepository.patch(userEntityToUpdate);
-            return userMapper.toUserDto(userEntityUpdated);
+            userEntityUpdated = userRepository.patch(userEntityToPatch);
         } catch (Exception e) {
             log.error("Erro ao atualizar usuário com uuid: [{}]", uuid, e);
             throw new UserNotPatchedException("Erro ao atualizar usuário",
                     String.format("Não foi possível atualizar usuário com uuid: %s", uuid));
         }
+        return userEntityUpdated
+                .map(userMapper::toUserDto)
+                .orElseThrow(() -> userNotFound(uuid));
     }
 
     @Override
     public UserDto findUserByUuid(UUID uuid) {
+        if (userDtoRepository.isPresent()) {
+            return userDtoRepository.get().findByUuid(uuid)
+                    .orElseThrow(() -> userNotFound(uuid));
+        }
         var userEntity = findUser(uuid);
         return userMapper.toUserDto(userEntity);
     }
 
+    @Override
+    public UserDto findUserByUuid(UUID uuid, Set<String> fields, ReadConsistency consistency) {
+        var userEntity = fields.isEmpty()
+                ? userRepository.findByUuid(uuid, consistency)
+                : userRepository.findByUuid(uuid, fields, consistency);
+        return userEntity
+                .map(userMapper::toUserDto)
+                .orElseThrow(() -> userNotFound(uuid));
+    }
+
+    @Override
+    public BatchGetUserResultDto findUsersByUuids(List<UUID> uuids) {
+        var requestedUuids = new LinkedHashSet<>(uuids);
+        List<UserEntity> userEntities;
+        try {
+            userEntities = userRepository.findAllByUuids(requestedUuids);
+        } catch (Exception e) {
+            log.error("Erro ao recuperar [{}] usuários em lote", requestedUuids.size(), e);
+            throw new UserNotRetrievedException("Erro ao recuperar usuários",
+                    String.format("Não foi possível recuperar %d usuários em lote", requestedUuids.size()));
+        }
+
+        var userEntitiesByUuid = userEntities.stream()
+                .collect(Collectors.toMap(UserEntity::getUuid, Function.identity(), (first, second) -> first));
+        var users = new ArrayList<UserDto>(userEntitiesByUuid.size());
+        var missingUuids = new ArrayList<UUID>();
+        requestedUuids.forEach(uuid -> {
+            var userEntity = userEntitiesByUuid.get(uuid);
+            if (userEntity == null) {
+                missingUuids.add(uuid);
+            } else {
+                users.add(userMapper.toUserDto(userEntity));
+            }
+        });
+        return BatchGetUserResultDto.builder()
+                .users(users)
+                .missingUuids(missingUuids)
+                .build();
+    }
+
+    @Override
+    public List<UserDto> findUsersByEmail(String email) {
+        return findUsersByIndex("email", () -> userRepository.findByEmail(email));
+    }
+
+    @Override
+    public List<UserDto> findUsersByCpf(String cpf) {
+        return findUsersByIndex("cpf", () -> userRepository.findByCpf(cpf));
+    }
+
+    @Override
+    public UserPageDto findUsers(int limit, String cursor) {
+        UserEntityPage page;
+        try {
+            page = userRepository.findPage(limit, cursor);
+        } catch (IllegalArgumentException e) {
+            log.debug("Cursor de listagem invalido: [{}]", cursor);
+            throw new InvalidCursorException("Cursor inválido",
+                    String.format("O cursor informado não é válido: %s", cursor));
+        } catch (Exception e) {
+            log.error("Erro ao listar usuários", e);
+            throw new UserNotRetrievedException("Erro ao listar usuários", "Não foi possível listar usuários");
+        }
+        return UserPageDto.builder()
+                .users(page.userEntities().stream()
+                        .map(userMapper::toUserDto)
+                        .toList())
+                .nextCursor(page.nextCursor())
+                .build();
+    }
+
+    private List<UserDto> findUsersByIndex(String indexAttribute, Supplier<List<UserEntity>> query) {
+        try {
+            return query.get().stream()
+                    .map(userMapper::toUserDto)
+                    .toList();
+        } catch (Exception e) {
+            log.error("Erro ao recuperar usuários pelo {}", indexAttribute, e);
+            throw new UserNotRetrievedException("Erro ao recuperar usuários",
+                    String.format("Não foi possível recuperar usuários pelo %s", indexAttribute));
+        }
+    }
+
     private UserEntity findUser(UUID uuid) {
         return userRepository.findByUuid(uuid)
-                .orElseThrow(() -> {
-                    var exception = new UserNotFoundException("Não encontrado",
-                            String.format("Usuário não encontrado pelo uuid: %s", uuid));
-                    log.error("Erro ao atualizar usuário com uuid: [{}]", uuid, exception);
-                    return exception;
-                });
+                .orElseThrow(() -> userNotFound(uuid));
+    }
+
+    private UserNotFoundException userNotFound(UUID uuid) {
+        log.debug("Usuário não encontrado pelo uuid: [{}]", uuid);
+        return new UserNotFoundException("Não encontrado",
+                String.format("Usuário não encontrado pelo uuid: %s", uuid));
     }
 
     @Override
@@ -69,14 +180,63 @@ public class DefaultUserService implements UserService {
         }
     }
 
+    @Override
+    public BulkCreateUserResultDto createUsers(List<CreateUserDto> createUserDtos) {
+        var userEntities = createUserDtos.stream()
+                .map(createUserDto -> userMapper.toUserEntity(UUID.randomUUID().toString(), createUserDto))
+                .toList();
+        List<UserEntity> unsavedUserEntities;
+        try {
+            unsavedUserEntities = userRepository.saveAll(userEntities);
+        } catch (Exception e) {
+            log.error("Erro ao criar [{}] usuários em lote", userEntities.size(), e);
+            throw new UserNotCreatedException("Erro ao criar usuários",
+                    String.format("Não foi possível criar %d usuários em lote", userEntities.size()));
+        }
+
+        var unsavedUuids = unsavedUserEntities.stream()
+                .map(UserEntity::getUuid)
+                .collect(Collectors.toSet());
+        var items = IntStream.range(0, userEntities.size())
+                .mapToObj(index -> {
+                    var userEntity = userEntities.get(index);
+                    return toBulkCreateUserItem(index, userEntity, unsavedUuids.contains(userEntity.getUuid()));
+                })
+                .toList();
+        return BulkCreateUserResultDto.builder()
+                .created(userEntities.size() - unsavedUuids.size())
+                .failed(unsavedUuids.size())
+                .items(items)
+                .build();
+    }
+
+    private BulkCreateUserItemDto toBulkCreateUserItem(int index, UserEntity userEntity, boolean unsaved) {
+        if (unsaved) {
+            return BulkCreateUserItemDto.builder()
+                    .index(index)
+                    .status(BulkCreateUserItemDto.Status.FAILED)
+                    .error(String.format("Não foi possível criar usuário com username: %s", userEntity.getUsername()))
+                    .build();
+        }
+        return BulkCreateUserItemDto.builder()
+                .index(index)
+                .status(BulkCreateUserItemDto.Status.CREATED)
+                .user(userMapper.toUserDto(userEntity))
+                .build();
+    }
+
     @Override
     public void deleteUser(UUID uuid) {
+        Optional<UserEntity> deletedUserEntity;
         try {
-            userRepository.delete(uuid);
+            deletedUserEntity = userRepository.delete(uuid);
         } catch (Exception e) {
             log.error("Erro ao remover usuário com uuid: [{}]", uuid, e);
             throw new UserNotDeletedException("Erro ao excluir usuário",
                     String.format("Não foi possível remover usuário pelo uuid: %s", uuid));
         }
+        if (deletedUserEntity.isEmpty()) {
+            throw userNotFound(uuid);
+        }
     }
 }
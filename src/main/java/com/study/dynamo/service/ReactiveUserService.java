@@ -0,0 +1,19 @@
+package com.study.dynamo.service;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveUserService {
+
+    Mono<UserDto> findUserByUuid(UUID uuid);
+
+    Mono<UserDto> createUser(CreateUserDto createUserDto);
+
+    Mono<UserDto> patchUser(UUID uuid, UpdateUserDto updateUserDto);
+
+    Mono<Void> deleteUser(UUID uuid);
+}
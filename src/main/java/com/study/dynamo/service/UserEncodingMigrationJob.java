@@ -0,0 +1,196 @@
+package com.study.dynamo.service;
+
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserItemLayout;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Regrava os usuarios do layout legado no layout compacto com vazao limitada. Cada item e copiado com
+ * attribute_not_exists e o legado so e removido se nao mudou desde a leitura; em conflito a copia e desfeita, se ainda
+ * for a mesma que foi gravada, e o item fica para a proxima execucao. Como os itens migrados saem da tabela legada, reiniciar o job retoma de onde parou.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "aws.dynamodb.encoding.migration.enabled", havingValue = "true")
+public class UserEncodingMigrationJob implements MeterBinder {
+
+    private final DynamoDbTable<UserEntity> legacyTable;
+
+    private final DynamoDbTable<UserEntity> compactTable;
+
+    private final int itemsPerSecond;
+
+    private final int pageSize;
+
+    private final LongAdder migrated = new LongAdder();
+
+    private final LongAdder conflicted = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    public UserEncodingMigrationJob(DynamoDbEnhancedClient dynamoDbEnhancedClient,
+                                    @Value("${aws.dynamodb.encoding.migration.items-per-second:50}") int itemsPerSecond,
+                                    @Value("${aws.dynamodb.encoding.migration.page-size:100}") int pageSize) {
+        this.legacyTable = dynamoDbEnhancedClient.table(UserItemLayout.LEGACY.tableName(), UserItemLayout.LEGACY.tableSchema());
+        this.compactTable = dynamoDbEnhancedClient.table(UserItemLayout.COMPACT.tableName(), UserItemLayout.COMPACT.tableSchema());
+        this.itemsPerSecond = itemsPerSecond;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        var thread = new Thread(this::run, "user-encoding-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void run() {
+        log.info("Iniciando migracao de usuarios para o layout compacto a [{}] itens/s", itemsPerSecond);
+        var startNanos = System.nanoTime();
+        var processed = 0L;
+        try {
+            var request = ScanEnhancedRequest.builder()
+                    .limit(pageSize)
+                    .build();
+            for (var userEntity : legacyTable.scan(request).items()) {
+                migrate(userEntity);
+                pace(++processed, startNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Migracao interrompida apos [{}] usuarios", processed);
+            return;
+        } catch (Exception e) {
+            log.error("Erro na migracao apos [{}] usuarios", processed, e);
+            return;
+        }
+        log.info("Migracao concluida: [{}] migrados, [{}] em conflito, [{}] com erro",
+                migratedCount(), conflictedCount(), failedCount());
+    }
+
+    public long migratedCount() {
+        return migrated.sum();
+    }
+
+    public long conflictedCount() {
+        return conflicted.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("users.migration.items", this, UserEncodingMigrationJob::migratedCount)
+                .description("Usuarios regravados no layout compacto")
+                .tag("result", "migrated")
+                .register(registry);
+        FunctionCounter.builder("users.migration.items", this, UserEncodingMigrationJob::conflictedCount)
+                .description("Usuarios alterados durante a migracao, adiados para a proxima execucao")
+                .tag("result", "conflicted")
+                .register(registry);
+        FunctionCounter.builder("users.migration.items", this, UserEncodingMigrationJob::failedCount)
+                .description("Usuarios que falharam na migracao")
+                .tag("result", "failed")
+                .register(registry);
+    }
+
+    private void migrate(UserEntity userEntity) {
+        var uuid = userEntity.getUuid();
+        var copied = false;
+        try {
+            compactTable.putItem(PutItemEnhancedRequest.builder(UserEntity.class)
+                    .item(userEntity)
+                    .conditionExpression(UserItemLayout.COMPACT.notExistsCondition())
+                    .build());
+            copied = true;
+        } catch (ConditionalCheckFailedException e) {
+            // Ja existe no layout compacto (execucao anterior ou escrita no modo dual); so falta remover o legado
+        } catch (Exception e) {
+            log.error("Erro ao copiar usuario com uuid [{}] para o layout compacto", uuid, e);
+            failed.increment();
+            return;
+        }
+
+        try {
+            legacyTable.deleteItem(DeleteItemEnhancedRequest.builder()
+                    .key(UserItemLayout.LEGACY.key(uuid))
+                    .conditionExpression(unchanged(UserItemLayout.LEGACY, userEntity))
+                    .build());
+            migrated.increment();
+        } catch (ConditionalCheckFailedException e) {
+            log.warn("Usuario com uuid [{}] alterado durante a migracao, sera migrado na proxima execucao", uuid);
+            if (copied) {
+                undoCopy(userEntity);
+            }
+            conflicted.increment();
+        } catch (Exception e) {
+            log.error("Erro ao remover usuario com uuid [{}] do layout legado", uuid, e);
+            failed.increment();
+        }
+    }
+
+    private void undoCopy(UserEntity userEntity) {
+        var uuid = userEntity.getUuid();
+        try {
+            compactTable.deleteItem(DeleteItemEnhancedRequest.builder()
+                    .key(UserItemLayout.COMPACT.key(uuid))
+                    .conditionExpression(unchanged(UserItemLayout.COMPACT, userEntity))
+                    .build());
+        } catch (ConditionalCheckFailedException e) {
+            // Uma escrita no modo dual ja atualizou a copia; ela e mais nova que o legado lido e deve ficar
+            log.debug("Copia do usuario com uuid [{}] alterada desde a migracao, mantida no layout compacto", uuid);
+        } catch (Exception e) {
+            log.error("Erro ao desfazer a copia do usuario com uuid [{}] no layout compacto", uuid, e);
+        }
+    }
+
+    private void pace(long processed, long startNanos) throws InterruptedException {
+        var expectedNanos = TimeUnit.SECONDS.toNanos(processed) / itemsPerSecond;
+        var aheadNanos = expectedNanos - (System.nanoTime() - startNanos);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+
+    private static Expression unchanged(UserItemLayout layout, UserEntity userEntity) {
+        var tableSchema = layout.tableSchema();
+        var item = tableSchema.itemToMap(userEntity, true);
+        var conditions = new ArrayList<String>();
+        var expression = Expression.builder();
+        var index = 0;
+        for (var attributeName : tableSchema.attributeNames()) {
+            var expressionName = "#a" + index;
+            var expressionValue = ":v" + index++;
+            expression.putExpressionName(expressionName, attributeName);
+            var attributeValue = item.get(attributeName);
+            if (attributeValue == null) {
+                conditions.add(String.format("attribute_not_exists(%s)", expressionName));
+            } else {
+                conditions.add(String.format("%s = %s", expressionName, expressionValue));
+                expression.putExpressionValue(expressionValue, attributeValue);
+            }
+        }
+        return expression.expression(String.join(" AND ", conditions)).build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.study.dynamo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Exportacao noturna para arquivos NDJSON por segmento. Reexecutar com o mesmo diretorio retoma dos checkpoints.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "aws.dynamodb.export.job.enabled", havingValue = "true")
+public class UserExportJob {
+
+    private final UserExportService userExportService;
+
+    private final Path directory;
+
+    private final boolean gzip;
+
+    public UserExportJob(UserExportService userExportService,
+                         @Value("${aws.dynamodb.export.job.directory:export}") Path directory,
+                         @Value("${aws.dynamodb.export.job.gzip:true}") boolean gzip) {
+        this.userExportService = userExportService;
+        this.directory = directory;
+        this.gzip = gzip;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        var thread = new Thread(this::run, "user-export");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void run() {
+        try {
+            userExportService.exportToDirectory(directory, gzip);
+        } catch (Exception e) {
+            log.error("Erro na exportacao de usuarios para [{}]", directory, e);
+        }
+    }
+}
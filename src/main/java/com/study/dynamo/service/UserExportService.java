@@ -0,0 +1,19 @@
+package com.study.dynamo.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+public interface UserExportService {
+
+    /**
+     * Escreve a tabela inteira como NDJSON, um {@code UserDto} por linha, sem checkpoints.
+     */
+    void export(OutputStream outputStream, boolean gzip) throws IOException;
+
+    /**
+     * Escreve um arquivo NDJSON por segmento em {@code directory}, com checkpoint a cada pagina. Rodar de novo no
+     * mesmo diretorio retoma cada segmento do ultimo checkpoint.
+     */
+    void exportToDirectory(Path directory, boolean gzip) throws IOException;
+}
@@ -0,0 +1,21 @@
+package com.study.dynamo.service;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum UserImportFormat {
+
+    NDJSON,
+    CSV;
+
+    public static UserImportFormat fromFileName(Path file) {
+        var fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".csv")) {
+            return CSV;
+        }
+        if (fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException(String.format("Formato de importacao desconhecido: %s", file));
+    }
+}
@@ -0,0 +1,48 @@
+package com.study.dynamo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Carga de usuarios vindos do sistema legado a partir de um arquivo CSV ou NDJSON.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "aws.dynamodb.import.job.enabled", havingValue = "true")
+public class UserImportJob {
+
+    private final UserImportService userImportService;
+
+    private final Path file;
+
+    private final Path rejectsFile;
+
+    public UserImportJob(UserImportService userImportService,
+                         @Value("${aws.dynamodb.import.job.file}") Path file,
+                         @Value("${aws.dynamodb.import.job.rejects-file}") Path rejectsFile) {
+        this.userImportService = userImportService;
+        this.file = file;
+        this.rejectsFile = rejectsFile;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        var thread = new Thread(this::run, "user-import");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void run() {
+        try {
+            userImportService.importUsers(file, rejectsFile);
+        } catch (Exception e) {
+            log.error("Erro na importacao de usuarios de [{}]", file, e);
+        }
+    }
+}
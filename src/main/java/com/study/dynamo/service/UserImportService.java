@@ -0,0 +1,22 @@
+package com.study.dynamo.service;
+
+import com.study.dynamo.dto.UserImportResultDto;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Path;
+
+public interface UserImportService {
+
+    /**
+     * Importa {@code file}, no formato indicado pela extensao (.csv, .ndjson ou .jsonl), gravando as linhas
+     * rejeitadas em {@code rejectsFile}.
+     */
+    UserImportResultDto importUsers(Path file, Path rejectsFile) throws IOException;
+
+    /**
+     * Le {@code reader} linha a linha; cada linha rejeitada vira um objeto JSON em {@code rejects}.
+     */
+    UserImportResultDto importUsers(Reader reader, UserImportFormat format, Writer rejects) throws IOException;
+}
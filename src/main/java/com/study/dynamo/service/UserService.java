@@ -1,17 +1,38 @@
 package com.study.dynamo.service;
 
+import com.study.dynamo.dto.BatchGetUserResultDto;
+import com.study.dynamo.dto.BulkCreateUserResultDto;
 import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.ReadConsistency;
 import com.study.dynamo.dto.UpdateUserDto;
 import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.dto.UserPageDto;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface UserService {
 
     UserDto findUserByUuid(UUID uuid);
 
+    /**
+     * Le o usuario com a consistencia informada; com {@code fields} vazio retorna todas as propriedades.
+     */
+    UserDto findUserByUuid(UUID uuid, Set<String> fields, ReadConsistency consistency);
+
+    BatchGetUserResultDto findUsersByUuids(List<UUID> uuids);
+
+    List<UserDto> findUsersByEmail(String email);
+
+    List<UserDto> findUsersByCpf(String cpf);
+
+    UserPageDto findUsers(int limit, String cursor);
+
     UserDto createUser(CreateUserDto createUserDto);
 
+    BulkCreateUserResultDto createUsers(List<CreateUserDto> createUserDtos);
+
     UserDto patchUser(UUID uuid, UpdateUserDto updateUserDto);
 
     void deleteUser(UUID uuid);
@@ -14,28 +14,64 @@ import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
+/**
+ * Sobe o DynamoDB dos testes de integracao: o LocalStack por padrao, ou o {@link DynamoDbStubServer} em processo com
+ * {@code -Ddynamodb.test.backend=stub}, para maquinas sem Docker.
+ */
 public class DynamoDbContainerExtension implements BeforeEachCallback, AfterEachCallback {
 
     private DynamoDbClient dynamoDbClient;
 
     private static final String TABLE_NAME = "user_table";
 
+    private static final boolean STUB_BACKEND = "stub".equals(System.getProperty("dynamodb.test.backend"));
+
     @Container
-    public static LocalStackContainer localStack = new LocalStackContainer(DockerImageName.parse("localstack/localstack"))
+    public static LocalStackContainer localStack = STUB_BACKEND
+            ? null
+            : new LocalStackContainer(DockerImageName.parse("localstack/localstack"))
             .withServices(LocalStackContainer.Service.DYNAMODB);
 
+    public static DynamoDbStubServer stubServer;
+
     static {
-        if (!localStack.isRunning()) {
+        if (STUB_BACKEND) {
+            try {
+                stubServer = new DynamoDbStubServer(0).start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else if (!localStack.isRunning()) {
             localStack.start();
         }
     }
 
+    public static URI endpoint() {
+        return STUB_BACKEND
+                ? stubServer.endpoint()
+                : localStack.getEndpointOverride(LocalStackContainer.Service.DYNAMODB);
+    }
+
+    public static String region() {
+        return STUB_BACKEND ? Region.US_EAST_1.id() : localStack.getRegion();
+    }
+
+    public static StaticCredentialsProvider credentialsProvider() {
+        return STUB_BACKEND
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create("access-key", "secret-key"))
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(localStack.getAccessKey(), localStack.getSecretKey()));
+    }
+
     @DynamicPropertySource
     static void registerDynamoDbProperties(DynamicPropertyRegistry registry) {
-        registry.add("cloud.aws.endpoint", () -> localStack.getEndpointOverride(LocalStackContainer.Service.DYNAMODB).toString());
-        registry.add("cloud.aws.region.static", localStack::getRegion);
-        registry.add("cloud.aws.credentials.access-key", localStack::getAccessKey);
-        registry.add("cloud.aws.credentials.secret-key", localStack::getSecretKey);
+        registry.add("cloud.aws.endpoint", () -> endpoint().toString());
+        registry.add("cloud.aws.region.static", DynamoDbContainerExtension::region);
+        registry.add("cloud.aws.credentials.access-key", () -> credentialsProvider().resolveCredentials().accessKeyId());
+        registry.add("cloud.aws.credentials.secret-key", () -> credentialsProvider().resolveCredentials().secretAccessKey());
     }
 
     @Override
@@ -46,10 +82,9 @@ public class DynamoDbContainerExtension implements BeforeEachCallback, AfterEach
 
     private void setupDynamoDbClient() {
         dynamoDbClient = DynamoDbClient.builder()
-                .endpointOverride(localStack.getEndpointOverride(LocalStackContainer.Service.DYNAMODB))
-                .region(Region.of(localStack.getRegion()))
-                .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(localStack.getAccessKey(), localStack.getSecretKey())))
+                .endpointOverride(endpoint())
+                .region(Region.of(region()))
+                .credentialsProvider(credentialsProvider())
                 .build();
     }
 
@@ -61,9 +96,19 @@ public class DynamoDbContainerExtension implements BeforeEachCallback, AfterEach
                         .keyType(KeyType.HASH)
                         .build())
                 .attributeDefinitions(AttributeDefinition.builder()
-                        .attributeName("user_id")
-                        .attributeType(ScalarAttributeType.S)
-                        .build())
+                                .attributeName("user_id")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("email")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("cpf")
+                                .attributeType(ScalarAttributeType.S)
+                                .build())
+                .globalSecondaryIndexes(globalSecondaryIndex("email_index", "email"),
+                        globalSecondaryIndex("cpf_index", "cpf"))
                 .provisionedThroughput(ProvisionedThroughput.builder()
                         .readCapacityUnits(10L)
                         .writeCapacityUnits(10L)
@@ -73,6 +118,23 @@ public class DynamoDbContainerExtension implements BeforeEachCallback, AfterEach
         dynamoDbClient.createTable(request);
     }
 
+    private GlobalSecondaryIndex globalSecondaryIndex(String indexName, String attributeName) {
+        return GlobalSecondaryIndex.builder()
+                .indexName(indexName)
+                .keySchema(KeySchemaElement.builder()
+                        .attributeName(attributeName)
+                        .keyType(KeyType.HASH)
+                        .build())
+                .projection(Projection.builder()
+                        .projectionType(ProjectionType.ALL)
+                        .build())
+                .provisionedThroughput(ProvisionedThroughput.builder()
+                        .readCapacityUnits(10L)
+                        .writeCapacityUnits(10L)
+                        .build())
+                .build();
+    }
+
     @Override
     public void afterEach(ExtensionContext context) {
         deleteTable();
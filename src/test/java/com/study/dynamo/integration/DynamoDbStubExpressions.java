@@ -0,0 +1,328 @@
+package com.study.dynamo.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Subconjunto das expressoes do DynamoDB usado pelo stub: projecoes de atributos de primeiro nivel, condicoes com
+ * comparacoes, AND/OR/NOT, {@code attribute_exists}, {@code attribute_not_exists} e {@code begins_with}, e updates
+ * com SET (incluindo {@code if_not_exists} e soma/subtracao) e REMOVE. O resto vira ValidationException.
+ */
+final class DynamoDbStubExpressions {
+
+    private static final Pattern TOKEN = Pattern.compile("<>|<=|>=|[=<>(),+-]|[#:]?[A-Za-z0-9_.\\[\\]]+");
+
+    private DynamoDbStubExpressions() {
+    }
+
+    static ObjectNode project(ObjectNode item, String projectionExpression, JsonNode names) {
+        if (projectionExpression == null || projectionExpression.isBlank()) {
+            return item;
+        }
+        var projected = JsonNodeFactory.instance.objectNode();
+        for (var path : projectionExpression.split(",")) {
+            var name = attributeName(path.trim(), names);
+            if (item.has(name)) {
+                projected.set(name, item.get(name));
+            }
+        }
+        return projected;
+    }
+
+    static boolean matches(ObjectNode item, String conditionExpression, JsonNode names, JsonNode values) {
+        if (conditionExpression == null || conditionExpression.isBlank()) {
+            return true;
+        }
+        var parser = new Parser(tokenize(conditionExpression), item, names, values);
+        var result = parser.parseOr();
+        parser.expectEnd();
+        return result;
+    }
+
+    static ObjectNode update(ObjectNode item, String updateExpression, JsonNode names, JsonNode values) {
+        var updated = item.deepCopy();
+        var tokens = tokenize(updateExpression);
+        var position = 0;
+        while (position < tokens.size()) {
+            var clause = tokens.get(position++).toUpperCase();
+            var end = position;
+            while (end < tokens.size() && !isClause(tokens.get(end))) {
+                end++;
+            }
+            for (var action : splitTopLevel(tokens.subList(position, end))) {
+                switch (clause) {
+                    case "SET" -> set(updated, action, item, names, values);
+                    case "REMOVE" -> {
+                        if (action.size() != 1) {
+                            throw validation("REMOVE invalido: " + String.join(" ", action));
+                        }
+                        updated.remove(attributeName(action.get(0), names));
+                    }
+                    default -> throw validation("Clausula de update nao suportada pelo stub: " + clause);
+                }
+            }
+            position = end;
+        }
+        return updated;
+    }
+
+    /**
+     * Nome do atributo de primeiro nivel para um caminho com ou sem {@code #placeholder}.
+     */
+    static String attributeName(String path, JsonNode names) {
+        if (path.contains(".") || path.contains("[")) {
+            throw validation("Caminhos aninhados nao sao suportados pelo stub: " + path);
+        }
+        if (!path.startsWith("#")) {
+            return path;
+        }
+        var name = names == null ? null : names.get(path);
+        if (name == null) {
+            throw validation("ExpressionAttributeNames nao define " + path);
+        }
+        return name.asText();
+    }
+
+    static JsonNode value(String placeholder, JsonNode values) {
+        var value = values == null ? null : values.get(placeholder);
+        if (value == null) {
+            throw validation("ExpressionAttributeValues nao define " + placeholder);
+        }
+        return value;
+    }
+
+    static int compare(JsonNode left, JsonNode right) {
+        if (left.has("N") && right.has("N")) {
+            return new BigDecimal(left.get("N").asText()).compareTo(new BigDecimal(right.get("N").asText()));
+        }
+        if (left.has("S") && right.has("S")) {
+            return left.get("S").asText().compareTo(right.get("S").asText());
+        }
+        if (left.has("B") && right.has("B")) {
+            return left.get("B").asText().compareTo(right.get("B").asText());
+        }
+        throw validation("Tipos incompativeis na comparacao: " + left + " e " + right);
+    }
+
+    static DynamoDbStubServer.DynamoDbStubException validation(String message) {
+        return new DynamoDbStubServer.DynamoDbStubException(400, "ValidationException", message);
+    }
+
+    private static void set(ObjectNode updated, List<String> action, ObjectNode original, JsonNode names, JsonNode values) {
+        if (action.size() < 3 || !action.get(1).equals("=")) {
+            throw validation("SET invalido: " + String.join(" ", action));
+        }
+        var parser = new Parser(action.subList(2, action.size()), original, names, values);
+        var value = parser.parseValue();
+        parser.expectEnd();
+        updated.set(attributeName(action.get(0), names), value);
+    }
+
+    private static boolean isClause(String token) {
+        return switch (token.toUpperCase()) {
+            case "SET", "REMOVE", "ADD", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    private static List<List<String>> splitTopLevel(List<String> tokens) {
+        var actions = new ArrayList<List<String>>();
+        var depth = 0;
+        var start = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            var token = tokens.get(i);
+            if (token.equals("(")) {
+                depth++;
+            } else if (token.equals(")")) {
+                depth--;
+            } else if (token.equals(",") && depth == 0) {
+                actions.add(tokens.subList(start, i));
+                start = i + 1;
+            }
+        }
+        if (start < tokens.size()) {
+            actions.add(tokens.subList(start, tokens.size()));
+        }
+        return actions;
+    }
+
+    private static List<String> tokenize(String expression) {
+        var tokens = new ArrayList<String>();
+        var matcher = TOKEN.matcher(expression);
+        var position = 0;
+        while (matcher.find()) {
+            if (!expression.substring(position, matcher.start()).isBlank()) {
+                throw validation("Expressao invalida: " + expression);
+            }
+            tokens.add(matcher.group());
+            position = matcher.end();
+        }
+        if (!expression.substring(position).isBlank()) {
+            throw validation("Expressao invalida: " + expression);
+        }
+        return tokens;
+    }
+
+    private static final class Parser {
+
+        private final List<String> tokens;
+
+        private final ObjectNode item;
+
+        private final JsonNode names;
+
+        private final JsonNode values;
+
+        private int position;
+
+        private Parser(List<String> tokens, ObjectNode item, JsonNode names, JsonNode values) {
+            this.tokens = tokens;
+            this.item = item;
+            this.names = names;
+            this.values = values;
+        }
+
+        private boolean parseOr() {
+            var result = parseAnd();
+            while (accept("OR")) {
+                var right = parseAnd();
+                result = result || right;
+            }
+            return result;
+        }
+
+        private boolean parseAnd() {
+            var result = parseNot();
+            while (accept("AND")) {
+                var right = parseNot();
+                result = result && right;
+            }
+            return result;
+        }
+
+        private boolean parseNot() {
+            if (accept("NOT")) {
+                return !parseNot();
+            }
+            return parsePrimary();
+        }
+
+        private boolean parsePrimary() {
+            if (accept("(")) {
+                var result = parseOr();
+                expect(")");
+                return result;
+            }
+            var token = next();
+            switch (token.toLowerCase()) {
+                case "attribute_exists", "attribute_not_exists" -> {
+                    expect("(");
+                    var attribute = attributeName(next(), names);
+                    var exists = item != null && item.has(attribute);
+                    expect(")");
+                    return token.equalsIgnoreCase("attribute_exists") == exists;
+                }
+                case "begins_with" -> {
+                    expect("(");
+                    var operand = operand(next());
+                    expect(",");
+                    var prefix = operand(next());
+                    expect(")");
+                    return operand != null && prefix != null && operand.has("S") && prefix.has("S")
+                            && operand.get("S").asText().startsWith(prefix.get("S").asText());
+                }
+                default -> {
+                    var left = operand(token);
+                    var comparator = next();
+                    var right = operand(next());
+                    if (left == null || right == null) {
+                        return false;
+                    }
+                    return switch (comparator) {
+                        case "=" -> left.equals(right) || (left.has("N") && right.has("N") && compare(left, right) == 0);
+                        case "<>" -> !left.equals(right) && !(left.has("N") && right.has("N") && compare(left, right) == 0);
+                        case "<" -> compare(left, right) < 0;
+                        case "<=" -> compare(left, right) <= 0;
+                        case ">" -> compare(left, right) > 0;
+                        case ">=" -> compare(left, right) >= 0;
+                        default -> throw validation("Comparador invalido: " + comparator);
+                    };
+                }
+            }
+        }
+
+        private JsonNode parseValue() {
+            var token = next();
+            JsonNode value;
+            if (token.equalsIgnoreCase("if_not_exists")) {
+                expect("(");
+                var current = operand(next());
+                expect(",");
+                var fallback = operand(next());
+                expect(")");
+                value = current != null ? current : fallback;
+            } else {
+                value = operand(token);
+            }
+            if (accept("+")) {
+                return arithmetic(value, parseValue(), BigDecimal::add);
+            }
+            if (accept("-")) {
+                return arithmetic(value, parseValue(), BigDecimal::subtract);
+            }
+            if (value == null) {
+                throw validation("O operando nao existe no item: " + token);
+            }
+            return value;
+        }
+
+        private JsonNode arithmetic(JsonNode left, JsonNode right, BinaryOperator<BigDecimal> operator) {
+            if (left == null || right == null || !left.has("N") || !right.has("N")) {
+                throw validation("Operacao aritmetica exige operandos numericos");
+            }
+            var result = operator.apply(new BigDecimal(left.get("N").asText()), new BigDecimal(right.get("N").asText()));
+            return JsonNodeFactory.instance.objectNode().put("N", result.toPlainString());
+        }
+
+        private JsonNode operand(String token) {
+            if (token.startsWith(":")) {
+                return value(token, values);
+            }
+            return item == null ? null : item.get(attributeName(token, names));
+        }
+
+        private boolean accept(String expected) {
+            if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(expected)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String expected) {
+            if (!accept(expected)) {
+                throw validation(String.format("Esperado '%s' na expressao %s", expected, String.join(" ", tokens)));
+            }
+        }
+
+        private void expectEnd() {
+            if (position != tokens.size()) {
+                throw validation("Expressao invalida: " + String.join(" ", tokens));
+            }
+        }
+
+        private String next() {
+            if (position >= tokens.size()) {
+                throw validation("Expressao incompleta: " + String.join(" ", tokens));
+            }
+            return tokens.get(position++);
+        }
+    }
+}
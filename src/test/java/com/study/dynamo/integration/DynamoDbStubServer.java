@@ -0,0 +1,526 @@
+package com.study.dynamo.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.study.dynamo.respository.entity.UserItemLayout;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import software.amazon.awssdk.enhanced.dynamodb.IndexMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP em processo que fala o protocolo JSON do DynamoDB para GetItem, PutItem, UpdateItem, DeleteItem,
+ * BatchGetItem, BatchWriteItem, Query e Scan, alem de CreateTable, DeleteTable e DescribeTable para o setup. Substitui
+ * o LocalStack onde nao ha Docker e permite medir o cliente com latencia, throttling e erros injetados.
+ * <p>
+ * Tabelas tem apenas chave de particao, como as do projeto, e os indices secundarios projetam todos os atributos.
+ * A assinatura das requisicoes nao e verificada.
+ */
+public class DynamoDbStubServer implements AutoCloseable {
+
+    private static final String TARGET_PREFIX = "DynamoDB_20120810.";
+
+    private static final String ERROR_PREFIX = "com.amazonaws.dynamodb.v20120810#";
+
+    private static final Set<String> TABLE_OPERATIONS = Set.of("CreateTable", "DeleteTable", "DescribeTable");
+
+    private static final int BATCH_GET_MAX_KEYS = 100;
+
+    private static final int BATCH_WRITE_MAX_ITEMS = 25;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, DynamoDbStubTable> tables = new ConcurrentHashMap<>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private final AtomicLong throttledCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final HttpServer httpServer;
+
+    private final ExecutorService executor;
+
+    private volatile Duration latency = Duration.ZERO;
+
+    private volatile Duration latencyJitter = Duration.ZERO;
+
+    private volatile double throttlingRate;
+
+    private volatile double errorRate;
+
+    public DynamoDbStubServer(int port) throws IOException {
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "dynamodb-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/", this::handle);
+    }
+
+    public static void main(String[] args) throws IOException {
+        var options = new HashMap<String, String>();
+        for (var arg : args) {
+            var option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        var server = new DynamoDbStubServer(Integer.parseInt(options.getOrDefault("port", "8000")))
+                .withLatency(Duration.ofMillis(Long.parseLong(options.getOrDefault("latency-ms", "0"))),
+                        Duration.ofMillis(Long.parseLong(options.getOrDefault("latency-jitter-ms", "0"))))
+                .withThrottlingRate(Double.parseDouble(options.getOrDefault("throttling-rate", "0")))
+                .withErrorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")));
+        server.createUserTables();
+        server.start();
+        System.out.printf("Stub do DynamoDB ouvindo em %s%n", server.endpoint());
+    }
+
+    public DynamoDbStubServer withLatency(Duration latency, Duration latencyJitter) {
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+        return this;
+    }
+
+    /**
+     * Fracao das requisicoes de dados respondidas com ProvisionedThroughputExceededException.
+     */
+    public DynamoDbStubServer withThrottlingRate(double throttlingRate) {
+        this.throttlingRate = throttlingRate;
+        return this;
+    }
+
+    /**
+     * Fracao das requisicoes de dados respondidas com InternalServerError (500).
+     */
+    public DynamoDbStubServer withErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public DynamoDbStubServer start() {
+        httpServer.start();
+        return this;
+    }
+
+    public URI endpoint() {
+        var address = httpServer.getAddress();
+        return URI.create(String.format("http://%s:%d", address.getHostString(), address.getPort()));
+    }
+
+    /**
+     * Cria as tabelas dos dois layouts de usuario com seus indices, a partir do schema das entidades.
+     */
+    public void createUserTables() {
+        for (var layout : UserItemLayout.values()) {
+            var tableMetadata = layout.tableSchema().tableMetadata();
+            var indexHashKeys = new HashMap<String, String>();
+            tableMetadata.indices().stream()
+                    .filter(index -> !index.name().equals(TableMetadata.primaryIndexName()))
+                    .forEach(index -> indexHashKeys.put(index.name(), partitionKey(index)));
+            createTable(layout.tableName(), tableMetadata.primaryPartitionKey(), indexHashKeys);
+        }
+    }
+
+    public void createTable(String tableName, String hashKey, Map<String, String> indexHashKeys) {
+        var description = objectMapper.createObjectNode()
+                .put("TableName", tableName)
+                .put("TableStatus", "ACTIVE");
+        description.putArray("KeySchema").addObject()
+                .put("AttributeName", hashKey)
+                .put("KeyType", "HASH");
+        var indexes = description.putArray("GlobalSecondaryIndexes");
+        indexHashKeys.forEach((indexName, attribute) -> {
+            var index = indexes.addObject()
+                    .put("IndexName", indexName)
+                    .put("IndexStatus", "ACTIVE");
+            index.putArray("KeySchema").addObject()
+                    .put("AttributeName", attribute)
+                    .put("KeyType", "HASH");
+            index.putObject("Projection").put("ProjectionType", "ALL");
+        });
+        if (tables.putIfAbsent(tableName, new DynamoDbStubTable(tableName, hashKey, indexHashKeys, description)) != null) {
+            throw new DynamoDbStubException(400, "ResourceInUseException", "Table already exists: " + tableName);
+        }
+    }
+
+    public void deleteTable(String tableName) {
+        if (tables.remove(tableName) == null) {
+            throw resourceNotFound(tableName);
+        }
+    }
+
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    public long throttledCount() {
+        return throttledCount.get();
+    }
+
+    public long failedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            var target = exchange.getRequestHeaders().getFirst("X-Amz-Target");
+            var operation = target != null && target.startsWith(TARGET_PREFIX) ? target.substring(TARGET_PREFIX.length()) : "";
+            try {
+                var request = (ObjectNode) objectMapper.readTree(exchange.getRequestBody());
+                if (!TABLE_OPERATIONS.contains(operation)) {
+                    injectFaults();
+                }
+                respond(exchange, 200, dispatch(operation, request));
+            } catch (DynamoDbStubException e) {
+                var error = objectMapper.createObjectNode()
+                        .put("__type", ERROR_PREFIX + e.type)
+                        .put("message", e.getMessage());
+                respond(exchange, e.status, error);
+            } catch (IOException | RuntimeException e) {
+                var error = objectMapper.createObjectNode()
+                        .put("__type", ERROR_PREFIX + "ValidationException")
+                        .put("message", String.valueOf(e.getMessage()));
+                respond(exchange, 400, error);
+            }
+        }
+    }
+
+    private void injectFaults() {
+        var random = ThreadLocalRandom.current();
+        var delayNanos = latency.toNanos();
+        if (!latencyJitter.isZero()) {
+            delayNanos += random.nextLong(latencyJitter.toNanos() + 1);
+        }
+        if (delayNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        var draw = random.nextDouble();
+        if (draw < throttlingRate) {
+            throttledCount.incrementAndGet();
+            throw new DynamoDbStubException(400, "ProvisionedThroughputExceededException",
+                    "The level of configured provisioned throughput for the table was exceeded.");
+        }
+        if (draw < throttlingRate + errorRate) {
+            failedCount.incrementAndGet();
+            throw new DynamoDbStubException(500, "InternalServerError", "Erro injetado pelo stub");
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        var bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/x-amz-json-1.0");
+        exchange.getResponseHeaders().set("x-amzn-RequestId", UUID.randomUUID().toString());
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private ObjectNode dispatch(String operation, ObjectNode request) {
+        return switch (operation) {
+            case "CreateTable" -> createTable(request);
+            case "DeleteTable" -> deleteTable(request);
+            case "DescribeTable" -> objectMapper.createObjectNode().set("Table", table(request).description());
+            case "GetItem" -> getItem(request);
+            case "PutItem" -> putItem(request);
+            case "UpdateItem" -> updateItem(request);
+            case "DeleteItem" -> deleteItem(request);
+            case "BatchGetItem" -> batchGetItem(request);
+            case "BatchWriteItem" -> batchWriteItem(request);
+            case "Query" -> query(request);
+            case "Scan" -> scan(request);
+            default -> throw new DynamoDbStubException(400, "UnknownOperationException",
+                    "Operacao nao suportada pelo stub: " + operation);
+        };
+    }
+
+    private ObjectNode createTable(ObjectNode request) {
+        var tableName = request.path("TableName").asText();
+        var indexHashKeys = new HashMap<String, String>();
+        request.path("GlobalSecondaryIndexes")
+                .forEach(index -> indexHashKeys.put(index.path("IndexName").asText(), hashKey(index.path("KeySchema"))));
+        createTable(tableName, hashKey(request.path("KeySchema")), indexHashKeys);
+        return objectMapper.createObjectNode().set("TableDescription", tables.get(tableName).description());
+    }
+
+    private ObjectNode deleteTable(ObjectNode request) {
+        var table = table(request);
+        deleteTable(table.name());
+        var description = table.description().put("TableStatus", "DELETING");
+        return objectMapper.createObjectNode().set("TableDescription", description);
+    }
+
+    private ObjectNode getItem(ObjectNode request) {
+        var table = table(request);
+        var item = table.get(table.itemKey(request.get("Key"), true));
+        var response = objectMapper.createObjectNode();
+        if (item != null) {
+            response.set("Item", DynamoDbStubExpressions.project(item, text(request, "ProjectionExpression"),
+                    request.get("ExpressionAttributeNames")));
+        }
+        return withReadCapacity(response, request, table, item == null ? 0 : size(item));
+    }
+
+    private ObjectNode putItem(ObjectNode request) {
+        var table = table(request);
+        var item = (ObjectNode) request.get("Item");
+        var change = table.apply(table.itemKey(item, false), previous -> {
+            checkCondition(previous, request);
+            return item;
+        });
+        return withWriteResult(request, table, change);
+    }
+
+    private ObjectNode updateItem(ObjectNode request) {
+        var table = table(request);
+        var key = request.get("Key");
+        var change = table.apply(table.itemKey(key, true), previous -> {
+            checkCondition(previous, request);
+            var current = previous != null ? previous : ((ObjectNode) key).deepCopy();
+            return DynamoDbStubExpressions.update(current, text(request, "UpdateExpression"),
+                    request.get("ExpressionAttributeNames"), request.get("ExpressionAttributeValues"));
+        });
+        return withWriteResult(request, table, change);
+    }
+
+    private ObjectNode deleteItem(ObjectNode request) {
+        var table = table(request);
+        var change = table.apply(table.itemKey(request.get("Key"), true), previous -> {
+            checkCondition(previous, request);
+            return null;
+        });
+        return withWriteResult(request, table, change);
+    }
+
+    private ObjectNode batchGetItem(ObjectNode request) {
+        var requestItems = request.path("RequestItems");
+        var keyCount = 0;
+        for (var tableRequest : requestItems) {
+            keyCount += tableRequest.path("Keys").size();
+        }
+        if (keyCount > BATCH_GET_MAX_KEYS) {
+            throw DynamoDbStubExpressions.validation("Too many items requested for the BatchGetItem call");
+        }
+        var response = objectMapper.createObjectNode();
+        var responses = response.putObject("Responses");
+        requestItems.fields().forEachRemaining(entry -> {
+            var table = table(entry.getKey());
+            var tableRequest = entry.getValue();
+            var found = responses.putArray(entry.getKey());
+            for (var key : tableRequest.path("Keys")) {
+                var item = table.get(table.itemKey(key, true));
+                if (item != null) {
+                    found.add(DynamoDbStubExpressions.project(item, text(tableRequest, "ProjectionExpression"),
+                            tableRequest.get("ExpressionAttributeNames")));
+                }
+            }
+        });
+        response.putObject("UnprocessedKeys");
+        return response;
+    }
+
+    private ObjectNode batchWriteItem(ObjectNode request) {
+        var requestItems = request.path("RequestItems");
+        var writeCount = 0;
+        for (var tableRequests : requestItems) {
+            writeCount += tableRequests.size();
+        }
+        if (writeCount > BATCH_WRITE_MAX_ITEMS) {
+            throw DynamoDbStubExpressions.validation("Too many items requested for the BatchWriteItem call");
+        }
+        requestItems.fields().forEachRemaining(entry -> {
+            var table = table(entry.getKey());
+            for (var writeRequest : entry.getValue()) {
+                if (writeRequest.has("PutRequest")) {
+                    var item = (ObjectNode) writeRequest.path("PutRequest").get("Item");
+                    table.apply(table.itemKey(item, false), previous -> item);
+                } else {
+                    table.apply(table.itemKey(writeRequest.path("DeleteRequest").get("Key"), true), previous -> null);
+                }
+            }
+        });
+        return objectMapper.createObjectNode().set("UnprocessedItems", objectMapper.createObjectNode());
+    }
+
+    private ObjectNode query(ObjectNode request) {
+        var table = table(request);
+        var indexName = text(request, "IndexName");
+        var names = request.get("ExpressionAttributeNames");
+        var values = request.get("ExpressionAttributeValues");
+        // Sem chave de ordenacao a unica KeyConditionExpression possivel e a igualdade na chave de particao
+        var condition = text(request, "KeyConditionExpression");
+        var operands = condition == null ? new String[0] : condition.replaceAll("[()]", "").split("=");
+        if (operands.length != 2) {
+            throw DynamoDbStubExpressions.validation("KeyConditionExpression nao suportada pelo stub: " + condition);
+        }
+        var attribute = DynamoDbStubExpressions.attributeName(operands[0].trim(), names);
+        if (!attribute.equals(table.indexHashKey(indexName))) {
+            throw DynamoDbStubExpressions.validation("Query condition missed key schema element: " + attribute);
+        }
+        var value = DynamoDbStubExpressions.value(operands[1].trim(), values);
+        var page = table.query(indexName, value, limit(request), request.get("ExclusiveStartKey"));
+        return pageResponse(request, table, page);
+    }
+
+    private ObjectNode scan(ObjectNode request) {
+        var table = table(request);
+        var totalSegments = request.path("TotalSegments").asInt(1);
+        var segment = request.path("Segment").asInt(0);
+        var page = table.scan(limit(request), request.get("ExclusiveStartKey"),
+                itemKey -> Math.floorMod(itemKey.hashCode(), totalSegments) == segment);
+        return pageResponse(request, table, page);
+    }
+
+    private ObjectNode pageResponse(ObjectNode request, DynamoDbStubTable table, DynamoDbStubTable.Page page) {
+        var response = objectMapper.createObjectNode();
+        ArrayNode items = response.putArray("Items");
+        var bytes = 0;
+        for (var item : page.items()) {
+            items.add(DynamoDbStubExpressions.project(item, text(request, "ProjectionExpression"),
+                    request.get("ExpressionAttributeNames")));
+            bytes += size(item);
+        }
+        response.put("Count", page.items().size());
+        response.put("ScannedCount", page.items().size());
+        if (page.lastEvaluatedKey() != null) {
+            response.set("LastEvaluatedKey", page.lastEvaluatedKey());
+        }
+        return withReadCapacity(response, request, table, bytes);
+    }
+
+    private ObjectNode withWriteResult(ObjectNode request, DynamoDbStubTable table, DynamoDbStubTable.Change change) {
+        var response = objectMapper.createObjectNode();
+        var returned = switch (request.path("ReturnValues").asText("NONE")) {
+            case "ALL_OLD" -> change.previous();
+            case "ALL_NEW" -> change.current();
+            case "NONE" -> null;
+            default -> throw DynamoDbStubExpressions.validation("ReturnValues nao suportado pelo stub: "
+                    + request.path("ReturnValues").asText());
+        };
+        if (returned != null) {
+            response.set("Attributes", returned);
+        }
+        var written = change.current() != null ? change.current() : change.previous();
+        var units = written == null ? 1 : Math.max(1, Math.ceil(size(written) / 1024.0));
+        return withConsumedCapacity(response, request, table, units);
+    }
+
+    // Leitura: 4 KB por unidade, metade do custo quando eventualmente consistente
+    private ObjectNode withReadCapacity(ObjectNode response, ObjectNode request, DynamoDbStubTable table, int bytes) {
+        var units = Math.max(1, Math.ceil(bytes / 4096.0));
+        if (!request.path("ConsistentRead").asBoolean(false)) {
+            units /= 2;
+        }
+        return withConsumedCapacity(response, request, table, units);
+    }
+
+    private ObjectNode withConsumedCapacity(ObjectNode response, ObjectNode request, DynamoDbStubTable table, double units) {
+        var returnConsumedCapacity = request.path("ReturnConsumedCapacity").asText("NONE");
+        if (!returnConsumedCapacity.equals("NONE")) {
+            response.putObject("ConsumedCapacity")
+                    .put("TableName", table.name())
+                    .put("CapacityUnits", units);
+        }
+        return response;
+    }
+
+    private void checkCondition(ObjectNode item, ObjectNode request) {
+        var matches = DynamoDbStubExpressions.matches(item, text(request, "ConditionExpression"),
+                request.get("ExpressionAttributeNames"), request.get("ExpressionAttributeValues"));
+        if (!matches) {
+            throw new DynamoDbStubException(400, "ConditionalCheckFailedException", "The conditional request failed");
+        }
+    }
+
+    private DynamoDbStubTable table(ObjectNode request) {
+        return table(request.path("TableName").asText());
+    }
+
+    private DynamoDbStubTable table(String tableName) {
+        var table = tables.get(tableName);
+        if (table == null) {
+            throw resourceNotFound(tableName);
+        }
+        return table;
+    }
+
+    private int size(ObjectNode item) {
+        return item.toString().length();
+    }
+
+    private static int limit(ObjectNode request) {
+        return request.path("Limit").asInt(Integer.MAX_VALUE);
+    }
+
+    private static String text(JsonNode request, String field) {
+        var value = request.get(field);
+        return value == null ? null : value.asText();
+    }
+
+    private static String hashKey(JsonNode keySchema) {
+        String hashKey = null;
+        for (var element : keySchema) {
+            if (!element.path("KeyType").asText().equals("HASH")) {
+                throw DynamoDbStubExpressions.validation("O stub suporta apenas chave de particao");
+            }
+            hashKey = element.path("AttributeName").asText();
+        }
+        if (hashKey == null) {
+            throw DynamoDbStubExpressions.validation("KeySchema sem chave de particao");
+        }
+        return hashKey;
+    }
+
+    private static String partitionKey(IndexMetadata index) {
+        return index.partitionKey()
+                .orElseThrow(() -> new IllegalStateException("Indice sem chave de particao: " + index.name()))
+                .name();
+    }
+
+    private static DynamoDbStubException resourceNotFound(String tableName) {
+        return new DynamoDbStubException(400, "ResourceNotFoundException",
+                "Requested resource not found: Table: " + tableName + " not found");
+    }
+
+    static class DynamoDbStubException extends RuntimeException {
+
+        private final int status;
+
+        private final String type;
+
+        DynamoDbStubException(int status, String type, String message) {
+            super(message);
+            this.status = status;
+            this.type = type;
+        }
+    }
+}
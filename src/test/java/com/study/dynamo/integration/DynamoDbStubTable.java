@@ -0,0 +1,196 @@
+package com.study.dynamo.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Itens de uma tabela do stub, ordenados pela chave de particao para que Scan e Query paginem de forma estavel.
+ * Escritas na mesma chave sao serializadas por um lock escolhido pelo hash da chave, o que mantem os indices
+ * secundarios consistentes com o item; leituras nao bloqueiam.
+ */
+final class DynamoDbStubTable {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final String name;
+
+    private final String hashKey;
+
+    private final Map<String, String> indexHashKeys;
+
+    private final ObjectNode description;
+
+    private final ConcurrentSkipListMap<String, ObjectNode> items = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Map<String, Set<String>>> indexes = new ConcurrentHashMap<>();
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    DynamoDbStubTable(String name, String hashKey, Map<String, String> indexHashKeys, ObjectNode description) {
+        this.name = name;
+        this.hashKey = hashKey;
+        this.indexHashKeys = Map.copyOf(indexHashKeys);
+        this.description = description;
+        indexHashKeys.keySet().forEach(indexName -> indexes.put(indexName, new ConcurrentHashMap<>()));
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    ObjectNode description() {
+        var copy = description.deepCopy();
+        copy.put("ItemCount", items.size());
+        return copy;
+    }
+
+    /**
+     * Chave canonica do item a partir de um {@code Key} ou de um item completo.
+     */
+    String itemKey(JsonNode keyOrItem, boolean exactKey) {
+        var value = keyOrItem == null ? null : keyOrItem.get(hashKey);
+        if (value == null || (exactKey && keyOrItem.size() != 1)) {
+            throw DynamoDbStubExpressions.validation("The provided key element does not match the schema");
+        }
+        return canonical(value);
+    }
+
+    ObjectNode keyOf(ObjectNode item) {
+        return item.objectNode().set(hashKey, item.get(hashKey));
+    }
+
+    ObjectNode get(String itemKey) {
+        return items.get(itemKey);
+    }
+
+    /**
+     * Aplica {@code mutation} ao item atual (nulo se nao existir); um resultado nulo remove o item.
+     */
+    Change apply(String itemKey, UnaryOperator<ObjectNode> mutation) {
+        var lock = locks[Math.floorMod(itemKey.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            var previous = items.get(itemKey);
+            var current = mutation.apply(previous);
+            if (current == null) {
+                items.remove(itemKey);
+            } else {
+                if (!itemKey.equals(itemKey(current, false))) {
+                    throw DynamoDbStubExpressions.validation("Cannot update attribute " + hashKey + ". This attribute is part of the key");
+                }
+                items.put(itemKey, current);
+            }
+            reindex(itemKey, previous, current);
+            return new Change(previous, current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Page scan(int limit, JsonNode exclusiveStartKey, Predicate<String> filter) {
+        NavigableMap<String, ObjectNode> remaining = exclusiveStartKey == null
+                ? items
+                : items.tailMap(itemKey(exclusiveStartKey, false), false);
+        var page = new ArrayList<ObjectNode>();
+        for (var entry : remaining.entrySet()) {
+            if (!filter.test(entry.getKey())) {
+                continue;
+            }
+            page.add(entry.getValue());
+            if (page.size() == limit) {
+                return new Page(page, keyOf(entry.getValue()));
+            }
+        }
+        return new Page(page, null);
+    }
+
+    Page query(String indexName, JsonNode value, int limit, JsonNode exclusiveStartKey) {
+        if (indexName == null) {
+            var item = items.get(canonical(value));
+            return new Page(item == null || exclusiveStartKey != null ? List.of() : List.of(item), null);
+        }
+        var index = indexes.get(indexName);
+        if (index == null) {
+            throw DynamoDbStubExpressions.validation("The table does not have the specified index: " + indexName);
+        }
+        var attribute = indexHashKeys.get(indexName);
+        var itemKeys = new TreeSet<>(index.getOrDefault(canonical(value), Set.of()));
+        var startKey = exclusiveStartKey == null ? null : itemKey(exclusiveStartKey, false);
+        var candidates = startKey == null ? itemKeys : itemKeys.tailSet(startKey, false);
+        var page = new ArrayList<ObjectNode>();
+        for (var itemKey : candidates) {
+            var item = items.get(itemKey);
+            // O indice e atualizado depois do item; a conferencia descarta entradas de uma escrita em andamento
+            if (item == null || !value.equals(item.get(attribute))) {
+                continue;
+            }
+            page.add(item);
+            if (page.size() == limit) {
+                var lastEvaluatedKey = keyOf(item);
+                lastEvaluatedKey.set(attribute, value);
+                return new Page(page, lastEvaluatedKey);
+            }
+        }
+        return new Page(page, null);
+    }
+
+    String indexHashKey(String indexName) {
+        return indexName == null ? hashKey : indexHashKeys.get(indexName);
+    }
+
+    private void reindex(String itemKey, ObjectNode previous, ObjectNode current) {
+        indexHashKeys.forEach((indexName, attribute) -> {
+            var index = indexes.get(indexName);
+            var previousValue = previous == null ? null : previous.get(attribute);
+            var currentValue = current == null ? null : current.get(attribute);
+            if (previousValue != null && !previousValue.equals(currentValue)) {
+                index.computeIfPresent(canonical(previousValue), (value, itemKeys) -> {
+                    itemKeys.remove(itemKey);
+                    return itemKeys.isEmpty() ? null : itemKeys;
+                });
+            }
+            if (currentValue != null) {
+                index.compute(canonical(currentValue), (value, itemKeys) -> {
+                    var result = itemKeys != null ? itemKeys : ConcurrentHashMap.<String>newKeySet();
+                    result.add(itemKey);
+                    return result;
+                });
+            }
+        });
+    }
+
+    private static String canonical(JsonNode attributeValue) {
+        if (attributeValue.has("S")) {
+            return "S:" + attributeValue.get("S").asText();
+        }
+        if (attributeValue.has("B")) {
+            return "B:" + attributeValue.get("B").asText();
+        }
+        if (attributeValue.has("N")) {
+            return "N:" + new BigDecimal(attributeValue.get("N").asText()).stripTrailingZeros().toPlainString();
+        }
+        throw DynamoDbStubExpressions.validation("Tipo de chave nao suportado: " + attributeValue);
+    }
+
+    record Change(ObjectNode previous, ObjectNode current) {
+    }
+
+    record Page(List<ObjectNode> items, ObjectNode lastEvaluatedKey) {
+    }
+}
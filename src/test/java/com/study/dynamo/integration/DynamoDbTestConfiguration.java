@@ -1,20 +1,21 @@
 package com.study.dynamo.integration;
 
+import com.study.dynamo.config.BatchConfig;
 import com.study.dynamo.respository.DefaultUserRepository;
 import com.study.dynamo.respository.UserRepository;
 import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityTableSchema;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.testcontainers.containers.localstack.LocalStackContainer;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
-import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 @Configuration
 public class DynamoDbTestConfiguration {
@@ -24,7 +25,7 @@ public class DynamoDbTestConfiguration {
     @Bean
     public DynamoDbClient dynamoDbClient() {
         return DynamoDbClient.builder()
-                .endpointOverride(URI.create(DynamoDbContainerExtension.localStack.getEndpointOverride(LocalStackContainer.Service.DYNAMODB).toString()))
+                .endpointOverride(DynamoDbContainerExtension.endpoint())
                 .region(Region.US_EAST_1)
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create("access-key", "secret-key")))
@@ -40,11 +41,13 @@ public class DynamoDbTestConfiguration {
 
     @Bean
     public DynamoDbTable<UserEntity> dynamoDbTable(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
-        return dynamoDbEnhancedClient.table(TABLE_NANE, TableSchema.fromBean(UserEntity.class));
+        return dynamoDbEnhancedClient.table(TABLE_NANE, UserEntityTableSchema.INSTANCE);
     }
 
     @Bean
-    public UserRepository userRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
-        return new DefaultUserRepository(dynamoDbEnhancedClient);
+    public UserRepository userRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient,
+                                         DynamoDbClient dynamoDbClient,
+                                         @Qualifier(BatchConfig.BATCH_EXECUTOR) ExecutorService batchExecutor) {
+        return new DefaultUserRepository(dynamoDbEnhancedClient, dynamoDbClient, batchExecutor);
     }
 }
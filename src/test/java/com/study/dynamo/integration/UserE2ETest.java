@@ -222,6 +222,8 @@ public class UserE2ETest {
         //given
         var expectedUuid = UUID.randomUUID();
 
+        createUser(expectedUuid, "88661696097", "joao.silva@email.com", "11988435898", "João da Silva");
+
         //when
         final var request = MockMvcRequestBuilders.delete("/users/{uuid}", expectedUuid);
 
@@ -233,6 +235,23 @@ public class UserE2ETest {
 
     }
 
+    @Test
+    public void givenAnUnknownUuid_whenCallsDeleteUser_shouldReturnNotFound() throws Exception {
+
+        //given
+        var expectedUuid = UUID.randomUUID();
+
+        //when
+        final var request = MockMvcRequestBuilders.delete("/users/{uuid}", expectedUuid);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+
+    }
+
 
     private void createUser(UUID expectedUuid, String expectedCpf, String expectedEmail, String expectedPhoneNumber, String expectedUsername) {
         var userEntity = UserEntity.builder()
@@ -0,0 +1,69 @@
+package com.study.dynamo.integration;
+
+import com.study.dynamo.service.UserExportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Verifica pela rede o que o cliente recebe quando a exportacao termina e quando ela falha no meio do corpo.
+ */
+@IntegrationTest
+public class UserExportE2ETest {
+
+    private static final String FIRST_LINE = "{\"uuid\":\"6a0e1f5e-2f7b-4c1e-9b43-0b8c6f0d9a11\"}\n";
+
+    @LocalServerPort
+    int port;
+
+    @MockBean
+    UserExportService userExportService;
+
+    @Test
+    public void givenACompleteExport_whenCallsExportUsers_shouldEndTheBodyNormally() throws Exception {
+
+        Mockito.doAnswer(invocation -> {
+            writeFirstLine(invocation.getArgument(0));
+            return null;
+        }).when(userExportService).export(ArgumentMatchers.any(), ArgumentMatchers.eq(false));
+
+        var response = HttpClient.newHttpClient().send(exportRequest(), HttpResponse.BodyHandlers.ofString());
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(FIRST_LINE, response.body());
+    }
+
+    @Test
+    public void givenAFailureAfterTheFirstLine_whenCallsExportUsers_shouldAbortTheConnection() throws Exception {
+
+        Mockito.doAnswer(invocation -> {
+            writeFirstLine(invocation.getArgument(0));
+            throw new IOException("Exportacao interrompida depois de iniciada a resposta");
+        }).when(userExportService).export(ArgumentMatchers.any(), ArgumentMatchers.eq(false));
+
+        Assertions.assertThrows(IOException.class,
+                () -> HttpClient.newHttpClient().send(exportRequest(), HttpResponse.BodyHandlers.ofString()));
+    }
+
+    private HttpRequest exportRequest() {
+        return HttpRequest.newBuilder(URI.create(String.format("http://localhost:%d/user-dynamo/users/export", port)))
+                .GET()
+                .build();
+    }
+
+    private static void writeFirstLine(OutputStream outputStream) throws IOException {
+        outputStream.write(FIRST_LINE.getBytes(StandardCharsets.UTF_8));
+        outputStream.flush();
+    }
+}
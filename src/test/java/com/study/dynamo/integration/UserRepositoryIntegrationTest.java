@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -80,6 +82,54 @@ public class UserRepositoryIntegrationTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    public void givenAnIndexedEmail_WhenCallsFindByEmail_ThenReturnUserEntities() {
+        // Given
+        var userEntity = UserEntity.builder()
+                .uuid(UUID.randomUUID())
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .cpf("88661696097")
+                .phoneNumber("11988435898")
+                .build();
+
+        dynamoDbTable.putItem(userEntity);
+
+        // When
+        var byEmail = userRepository.findByEmail("joao.silva@email.com");
+        var byCpf = userRepository.findByCpf("88661696097");
+
+        // Then
+        assertEquals(List.of(userEntity), byEmail);
+        assertEquals(List.of(userEntity), byCpf);
+    }
+
+    @Test
+    public void givenMoreUsersThanTheLimit_WhenCallsFindPageFollowingTheCursor_ThenReturnsEveryUserOnce() {
+        // Given
+        var expectedUuids = new HashSet<UUID>();
+        for (int i = 0; i < 5; i++) {
+            var userEntity = UserEntity.builder()
+                    .uuid(UUID.randomUUID())
+                    .username("user-" + i)
+                    .build();
+            dynamoDbTable.putItem(userEntity);
+            expectedUuids.add(userEntity.getUuid());
+        }
+
+        // When
+        var uuids = new HashSet<UUID>();
+        String cursor = null;
+        do {
+            var page = userRepository.findPage(2, cursor);
+            page.userEntities().forEach(userEntity -> assertTrue(uuids.add(userEntity.getUuid())));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(expectedUuids, uuids);
+    }
+
     @Test
     public void givenAValidUserEntity_WhenCallsSave_thenReturnsVoid() {
 
@@ -129,13 +179,35 @@ public class UserRepositoryIntegrationTest {
         // When
         dynamoDbTable.putItem(userEntity);
 
-        userEntity.setUsername("João da Silva Updated");
+        var userEntityToPatch = UserEntity.builder()
+                .uuid(expectedUuid)
+                .username(expectedUpdateUsername)
+                .build();
 
-        var result = userRepository.patch(userEntity);
+        var result = userRepository.patch(userEntityToPatch).get();
 
         // Then
+        userEntity.setUsername(expectedUpdateUsername);
         assertEquals(userEntity, result);
         assertEquals(expectedUpdateUsername, result.getUsername());
+        assertEquals(expectedEmail, result.getEmail());
+    }
+
+    @Test
+    public void givenAnUnknownUuid_WhenCallsPatch_thenReturnsEmpty() {
+
+        // Given
+        var userEntityToPatch = UserEntity.builder()
+                .uuid(UUID.randomUUID())
+                .username("João da Silva Updated")
+                .build();
+
+        // When
+        var result = userRepository.patch(userEntityToPatch);
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertTrue(userRepository.findByUuid(userEntityToPatch.getUuid()).isEmpty());
     }
 
     @Test
@@ -159,10 +231,21 @@ public class UserRepositoryIntegrationTest {
         // When
         dynamoDbTable.putItem(userEntity);
 
-        userRepository.delete(expectedUuid);
+        var deleted = userRepository.delete(expectedUuid);
 
         // Then
+        assertEquals(userEntity, deleted.get());
         var result = userRepository.findByUuid(expectedUuid);
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    public void givenAnUnknownUuid_WhenCallsDelete_thenReturnsEmpty() {
+
+        // When
+        var result = userRepository.delete(UUID.randomUUID());
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
 }
\ No newline at end of file
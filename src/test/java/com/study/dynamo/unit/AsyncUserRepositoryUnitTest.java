@@ -0,0 +1,117 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.respository.DefaultAsyncUserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityTableSchema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncUserRepositoryUnitTest {
+
+    @Mock
+    private DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient;
+
+    @Mock
+    private DynamoDbAsyncTable<UserEntity> dynamoDbTable;
+
+    @InjectMocks
+    private DefaultAsyncUserRepository userRepository;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(dynamoDbEnhancedAsyncClient.table(anyString(),
+                Mockito.eq(UserEntityTableSchema.INSTANCE))).thenReturn(dynamoDbTable);
+    }
+
+    @Test
+    public void givenAnValidUuid_WhenCallsFindUserByUuid_ThenCompletesWithOptionalUserEntity() {
+
+        var expectedUserEntity = UserEntity.builder()
+                .uuid(UUID.randomUUID())
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .cpf("88661696097")
+                .phoneNumber("11988435898")
+                .build();
+
+        Mockito.when(dynamoDbTable.getItem(any(Key.class)))
+                .thenReturn(CompletableFuture.completedFuture(expectedUserEntity));
+
+        var response = userRepository.findByUuid(expectedUserEntity.getUuid()).join();
+
+        Assertions.assertEquals(expectedUserEntity, response.get());
+        Mockito.verify(dynamoDbTable, times(1)).getItem(any(Key.class));
+    }
+
+    @Test
+    public void givenAnInvalidUuid_WhenCallsFindUserByUuid_ThenCompletesWithEmptyOptional() {
+
+        Mockito.when(dynamoDbTable.getItem(any(Key.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        var response = userRepository.findByUuid(UUID.randomUUID()).join();
+
+        Assertions.assertTrue(response.isEmpty());
+        Mockito.verify(dynamoDbTable, times(1)).getItem(any(Key.class));
+    }
+
+    @Test
+    public void givenAUserEntity_WhenCallsSave_ThenPutItemIsCalled() {
+
+        var userEntity = UserEntity.builder()
+                .uuid(UUID.randomUUID())
+                .username("Test User")
+                .email("test@user.com")
+                .cpf("12345678900")
+                .phoneNumber("1234567890")
+                .build();
+
+        Mockito.when(dynamoDbTable.putItem(userEntity)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Assertions.assertDoesNotThrow(() -> userRepository.save(userEntity).join());
+
+        Mockito.verify(dynamoDbTable, times(1)).putItem(userEntity);
+    }
+
+    @Test
+    public void givenAUuid_WhenCallsDelete_ThenDeleteItemIsCalled() {
+
+        var uuidToDelete = UUID.randomUUID();
+        var userEntity = UserEntity.builder().uuid(uuidToDelete).build();
+
+        Mockito.when(dynamoDbTable.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(userEntity));
+
+        Assertions.assertEquals(userEntity, userRepository.delete(uuidToDelete).join().get());
+
+        Mockito.verify(dynamoDbTable, times(1)).deleteItem(any(DeleteItemEnhancedRequest.class));
+    }
+
+    @Test
+    public void givenAMissingUser_WhenCallsDelete_ThenCompletesEmpty() {
+
+        Mockito.when(dynamoDbTable.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder().build()));
+
+        Assertions.assertTrue(userRepository.delete(UUID.randomUUID()).join().isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.exception.UserNotFoundException;
+import com.study.dynamo.exception.UserNotPatchedException;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.AsyncUserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.service.DefaultAsyncUserService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncUserServiceUnitTest {
+
+    @Spy
+    private UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    @Mock
+    private AsyncUserRepository asyncUserRepository;
+
+    @InjectMocks
+    private DefaultAsyncUserService userService;
+
+    @Test
+    public void givenAValidUuid_whenCallsFindUserByUuid_shouldCompleteWithUserDto() {
+
+        var expectedUuid = UUID.randomUUID();
+
+        var aUserEntity = UserEntity.builder()
+                .uuid(expectedUuid)
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .cpf("88661696097")
+                .phoneNumber("11988435898")
+                .build();
+
+        when(asyncUserRepository.findByUuid(any(UUID.class)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(aUserEntity)));
+
+        var userDto = userService.findUserByUuid(expectedUuid).join();
+
+        Assertions.assertEquals(expectedUuid, userDto.uuid());
+        verify(asyncUserRepository, times(1)).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenAnInvalidUuid_WhenCallsFindUserByUuid_shouldCompleteWithUserNotFoundException() {
+
+        when(asyncUserRepository.findByUuid(any(UUID.class)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        var exception = Assertions.assertThrows(CompletionException.class,
+                () -> userService.findUserByUuid(UUID.randomUUID()).join());
+
+        Assertions.assertInstanceOf(UserNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    public void givenAnInvalidUuid_WhenCallsUpdateUser_shouldCompleteWithUserNotPatchedException() {
+
+        var expectedUuid = UUID.randomUUID();
+
+        when(asyncUserRepository.patch(any(UserEntity.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException()));
+
+        var updateUserDto = UpdateUserDto.builder().username("João da Silva Updated").build();
+
+        var exception = Assertions.assertThrows(CompletionException.class,
+                () -> userService.patchUser(expectedUuid, updateUserDto).join());
+
+        Assertions.assertInstanceOf(UserNotPatchedException.class, exception.getCause());
+    }
+
+    @Test
+    public void givenAnUnknownUuid_WhenCallsUpdateUser_shouldCompleteWithUserNotFoundException() {
+
+        when(asyncUserRepository.patch(any(UserEntity.class)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        var updateUserDto = UpdateUserDto.builder().username("João da Silva Updated").build();
+
+        var exception = Assertions.assertThrows(CompletionException.class,
+                () -> userService.patchUser(UUID.randomUUID(), updateUserDto).join());
+
+        Assertions.assertInstanceOf(UserNotFoundException.class, exception.getCause());
+        verify(asyncUserRepository, never()).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenACreateUserDto_whenCallsCreateUser_shouldCompleteWithUserDto() {
+
+        var aCreateUserDto = CreateUserDto.builder()
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .cpf("88661696097")
+                .phoneNumber("11988435898")
+                .build();
+
+        when(asyncUserRepository.save(any(UserEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        var userCreated = userService.createUser(aCreateUserDto).join();
+
+        Assertions.assertNotNull(userCreated.uuid());
+        Assertions.assertEquals(aCreateUserDto.username(), userCreated.username());
+        verify(asyncUserRepository, times(1)).save(any(UserEntity.class));
+    }
+}
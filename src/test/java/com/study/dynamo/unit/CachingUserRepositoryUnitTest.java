@@ -0,0 +1,339 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.dto.ReadConsistency;
+import com.study.dynamo.respository.CachingUserRepository;
+import com.study.dynamo.respository.UserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.study.dynamo.unit.UserEntityFixture.aUserEntity;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingUserRepositoryUnitTest {
+
+    @Mock
+    private UserRepository delegate;
+
+    private CachingUserRepository userRepository;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = aCachingUserRepository(false);
+    }
+
+    @Test
+    public void givenACachedUser_WhenCallsFindByUuidTwice_ThenReadsDelegateOnce() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenReturn(Optional.of(userEntity));
+
+        var first = userRepository.findByUuid(userEntity.getUuid());
+        var second = userRepository.findByUuid(userEntity.getUuid());
+
+        Assertions.assertEquals(userEntity, first.get());
+        Assertions.assertEquals(userEntity, second.get());
+        Assertions.assertEquals(1, userRepository.getCache().stats().hitCount());
+        Assertions.assertEquals(1, userRepository.getCache().stats().missCount());
+        Mockito.verify(delegate, times(1)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenVirtualThreads_WhenCallsFindByUuidTwice_ThenCachesTheUserLoadedOutsideTheCache() {
+
+        var userRepository = aCachingUserRepository(true);
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenReturn(Optional.of(userEntity));
+
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+        Assertions.assertEquals(1, userRepository.getCache().stats().hitCount());
+        Mockito.verify(delegate, times(1)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenVirtualThreadsAndASaveDuringTheLoad_WhenCallsFindByUuid_ThenKeepsTheSavedValue() {
+
+        var userRepository = aCachingUserRepository(true);
+        var userEntity = aUserEntity();
+        var savedUserEntity = userEntity.toBuilder().username("saved").build();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenAnswer(invocation -> {
+            userRepository.save(savedUserEntity);
+            return Optional.of(userEntity);
+        });
+
+        userRepository.findByUuid(userEntity.getUuid());
+
+        Assertions.assertEquals(savedUserEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+        Mockito.verify(delegate, times(1)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenASaveDuringTheLoadOfAnUnknownUser_WhenCallsFindByUuid_ThenDoesNotRememberTheUserAsMissing() {
+
+        var userRepository = aCachingUserRepository(true);
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenAnswer(invocation -> {
+            userRepository.save(userEntity);
+            return Optional.empty();
+        });
+
+        Assertions.assertTrue(userRepository.findByUuid(userEntity.getUuid()).isEmpty());
+
+        Assertions.assertNull(userRepository.getMissingCache().getIfPresent(userEntity.getUuid()));
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+        Mockito.verify(delegate, times(1)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenASaveDuringAStrongReadOfAnUnknownUser_WhenCallsFindByUuid_ThenReturnsTheSavedUser() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid(), ReadConsistency.STRONG)).thenAnswer(invocation -> {
+            userRepository.save(userEntity);
+            return Optional.empty();
+        });
+
+        Assertions.assertTrue(userRepository.findByUuid(userEntity.getUuid(), ReadConsistency.STRONG).isEmpty());
+
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+        Mockito.verify(delegate, times(0)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenACachedUser_WhenCallerChangesTheReturnedEntity_ThenCachedValueIsNotChanged() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenReturn(Optional.of(userEntity.toBuilder().build()));
+
+        userRepository.findByUuid(userEntity.getUuid()).get().setUsername("changed");
+
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+    }
+
+    @Test
+    public void givenAnUnknownUser_WhenCallsFindByUuidTwice_ThenReadsDelegateOnce() {
+
+        var uuid = UUID.randomUUID();
+
+        Mockito.when(delegate.findByUuid(uuid)).thenReturn(Optional.empty());
+
+        Assertions.assertTrue(userRepository.findByUuid(uuid).isEmpty());
+        Assertions.assertTrue(userRepository.findByUuid(uuid).isEmpty());
+
+        Assertions.assertEquals(1, userRepository.getMissingCache().stats().hitCount());
+        Mockito.verify(delegate, times(1)).findByUuid(uuid);
+    }
+
+    @Test
+    public void givenAnUnknownUser_WhenItIsSaved_ThenFindByUuidReturnsIt() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenReturn(Optional.empty());
+
+        userRepository.findByUuid(userEntity.getUuid());
+        userRepository.save(userEntity);
+
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+        Mockito.verify(delegate, times(1)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenKnownMissingUsers_WhenCallsFindAllByUuids_ThenDoesNotLoadThemAgain() {
+
+        var missingUuid = UUID.randomUUID();
+
+        Mockito.when(delegate.findAllByUuids(anyCollection())).thenReturn(List.of());
+
+        userRepository.findAllByUuids(List.of(missingUuid));
+        var result = userRepository.findAllByUuids(List.of(missingUuid));
+
+        Assertions.assertTrue(result.isEmpty());
+        Mockito.verify(delegate, times(1)).findAllByUuids(anyCollection());
+    }
+
+    @Test
+    public void givenASavedUser_WhenCallsFindByUuid_ThenServesFromCache() {
+
+        var userEntity = aUserEntity();
+
+        userRepository.save(userEntity);
+
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+        Mockito.verify(delegate, times(1)).save(userEntity);
+        Mockito.verify(delegate, times(0)).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenAPatchedUser_WhenCallsFindByUuid_ThenReturnsPatchedValue() {
+
+        var userEntity = aUserEntity();
+        var patchedUserEntity = userEntity.toBuilder().username("patched").build();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenReturn(Optional.of(userEntity));
+        Mockito.when(delegate.patch(patchedUserEntity)).thenReturn(Optional.of(patchedUserEntity));
+
+        userRepository.findByUuid(userEntity.getUuid());
+        userRepository.patch(patchedUserEntity);
+
+        Assertions.assertEquals("patched", userRepository.findByUuid(userEntity.getUuid()).get().getUsername());
+        Mockito.verify(delegate, times(1)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenAPatchOfAMissingUser_WhenCallsFindByUuid_ThenReturnsEmptyWithoutReadingDelegate() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.patch(userEntity)).thenReturn(Optional.empty());
+
+        Assertions.assertTrue(userRepository.patch(userEntity).isEmpty());
+        Assertions.assertTrue(userRepository.findByUuid(userEntity.getUuid()).isEmpty());
+        Mockito.verify(delegate, times(0)).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenACachedUser_WhenCallsFindByUuidWithFields_ThenProjectsFromTheCache() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenReturn(Optional.of(userEntity));
+
+        userRepository.findByUuid(userEntity.getUuid());
+        var projected = userRepository.findByUuid(userEntity.getUuid(), Set.of("email"), ReadConsistency.EVENTUAL).get();
+
+        Assertions.assertEquals(userEntity.getUuid(), projected.getUuid());
+        Assertions.assertEquals(userEntity.getEmail(), projected.getEmail());
+        Assertions.assertNull(projected.getUsername());
+        Mockito.verify(delegate, times(0)).findByUuid(any(UUID.class), anySet(), any(ReadConsistency.class));
+    }
+
+    @Test
+    public void givenANotCachedUser_WhenCallsFindByUuidWithFields_ThenReadsTheProjectionWithoutCachingIt() {
+
+        var userEntity = aUserEntity();
+        var projected = UserEntity.builder().uuid(userEntity.getUuid()).email(userEntity.getEmail()).build();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid(), Set.of("email"), ReadConsistency.EVENTUAL)).thenReturn(Optional.of(projected));
+
+        Assertions.assertEquals(projected, userRepository.findByUuid(userEntity.getUuid(), Set.of("email"), ReadConsistency.EVENTUAL).get());
+        Assertions.assertNull(userRepository.getCache().getIfPresent(userEntity.getUuid()));
+    }
+
+    @Test
+    public void givenACachedUser_WhenCallsFindByUuidWithStrongConsistency_ThenReadsTheDelegateAndRefreshesTheCache() {
+
+        var userEntity = aUserEntity();
+        var updatedUserEntity = userEntity.toBuilder().username("updated").build();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenReturn(Optional.of(userEntity));
+        Mockito.when(delegate.findByUuid(userEntity.getUuid(), ReadConsistency.STRONG)).thenReturn(Optional.of(updatedUserEntity));
+
+        userRepository.findByUuid(userEntity.getUuid());
+
+        Assertions.assertEquals(updatedUserEntity, userRepository.findByUuid(userEntity.getUuid(), ReadConsistency.STRONG).get());
+        Assertions.assertEquals("updated", userRepository.findByUuid(userEntity.getUuid()).get().getUsername());
+        Mockito.verify(delegate, times(1)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenAKnownMissingUser_WhenCallsFindByUuidWithStrongConsistency_ThenReadsTheDelegate() {
+
+        var userEntity = aUserEntity();
+
+        userRepository.delete(userEntity.getUuid());
+        Mockito.when(delegate.findByUuid(userEntity.getUuid(), ReadConsistency.STRONG)).thenReturn(Optional.of(userEntity));
+
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid(), ReadConsistency.STRONG).get());
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+    }
+
+    @Test
+    public void givenADeletedUser_WhenCallsFindByUuid_ThenReturnsEmptyWithoutReadingDelegate() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.findByUuid(userEntity.getUuid())).thenReturn(Optional.of(userEntity));
+
+        userRepository.findByUuid(userEntity.getUuid());
+        userRepository.delete(userEntity.getUuid());
+
+        Assertions.assertTrue(userRepository.findByUuid(userEntity.getUuid()).isEmpty());
+        Mockito.verify(delegate, times(1)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenPartiallyCachedUsers_WhenCallsFindAllByUuids_ThenLoadsOnlyMissingUsers() {
+
+        var cachedUserEntity = aUserEntity();
+        var missingUserEntity = aUserEntity();
+
+        userRepository.save(cachedUserEntity);
+        Mockito.when(delegate.findAllByUuids(anyCollection())).thenReturn(List.of(missingUserEntity));
+
+        var result = userRepository.findAllByUuids(List.of(cachedUserEntity.getUuid(), missingUserEntity.getUuid()));
+
+        Assertions.assertEquals(2, result.size());
+        Mockito.verify(delegate, times(1)).findAllByUuids(List.of(missingUserEntity.getUuid()));
+    }
+
+    @Test
+    public void givenASaveDuringTheBatchLoad_WhenCallsFindAllByUuids_ThenKeepsTheSavedValue() {
+
+        var userEntity = aUserEntity();
+        var savedUserEntity = userEntity.toBuilder().username("saved").build();
+
+        Mockito.when(delegate.findAllByUuids(anyCollection())).thenAnswer(invocation -> {
+            userRepository.save(savedUserEntity);
+            return List.of(userEntity);
+        });
+
+        userRepository.findAllByUuids(List.of(userEntity.getUuid()));
+
+        Assertions.assertEquals(savedUserEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+        Mockito.verify(delegate, times(0)).findByUuid(userEntity.getUuid());
+    }
+
+    @Test
+    public void givenADeleteDuringTheBatchLoad_WhenCallsFindAllByUuids_ThenDoesNotCacheTheDeletedUser() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(delegate.findAllByUuids(anyCollection())).thenAnswer(invocation -> {
+            userRepository.delete(userEntity.getUuid());
+            return List.of(userEntity);
+        });
+
+        userRepository.findAllByUuids(List.of(userEntity.getUuid()));
+
+        Assertions.assertNull(userRepository.getCache().getIfPresent(userEntity.getUuid()));
+        Assertions.assertTrue(userRepository.findByUuid(userEntity.getUuid()).isEmpty());
+    }
+
+    private CachingUserRepository aCachingUserRepository(boolean loadOutsideCache) {
+        return new CachingUserRepository(delegate, 100, Duration.ofMinutes(1), Duration.ofSeconds(45),
+                Duration.ofSeconds(10), loadOutsideCache);
+    }
+}
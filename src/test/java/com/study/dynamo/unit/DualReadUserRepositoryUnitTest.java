@@ -0,0 +1,152 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.respository.DualReadUserRepository;
+import com.study.dynamo.respository.UserRepository;
+import com.study.dynamo.respository.entity.UserEntityPage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.study.dynamo.unit.UserEntityFixture.aUserEntity;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class DualReadUserRepositoryUnitTest {
+
+    @Mock
+    private UserRepository compactUserRepository;
+
+    @Mock
+    private UserRepository legacyUserRepository;
+
+    private DualReadUserRepository userRepository;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = new DualReadUserRepository(compactUserRepository, legacyUserRepository);
+    }
+
+    @Test
+    public void givenAMigratedUser_WhenCallsFindByUuid_ThenDoesNotReadTheLegacyLayout() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(compactUserRepository.findByUuid(userEntity.getUuid())).thenReturn(Optional.of(userEntity));
+
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+        Mockito.verify(legacyUserRepository, times(0)).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenANotMigratedUser_WhenCallsFindByUuid_ThenFallsBackToTheLegacyLayout() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(compactUserRepository.findByUuid(userEntity.getUuid())).thenReturn(Optional.empty());
+        Mockito.when(legacyUserRepository.findByUuid(userEntity.getUuid())).thenReturn(Optional.of(userEntity));
+
+        Assertions.assertEquals(userEntity, userRepository.findByUuid(userEntity.getUuid()).get());
+    }
+
+    @Test
+    public void givenUsersInBothLayouts_WhenCallsFindAllByUuids_ThenReadsOnlyTheMissingOnesFromTheLegacyLayout() {
+
+        var migratedUserEntity = aUserEntity();
+        var legacyUserEntity = aUserEntity();
+        var uuids = List.of(migratedUserEntity.getUuid(), legacyUserEntity.getUuid());
+
+        Mockito.when(compactUserRepository.findAllByUuids(uuids)).thenReturn(List.of(migratedUserEntity));
+        Mockito.when(legacyUserRepository.findAllByUuids(Set.of(legacyUserEntity.getUuid())))
+                .thenReturn(List.of(legacyUserEntity));
+
+        Assertions.assertEquals(List.of(migratedUserEntity, legacyUserEntity), userRepository.findAllByUuids(uuids));
+    }
+
+    @Test
+    public void givenANewUser_WhenCallsSave_ThenWritesOnlyTheCompactLayout() {
+
+        var userEntity = aUserEntity();
+
+        userRepository.save(userEntity);
+
+        Mockito.verify(compactUserRepository, times(1)).save(userEntity);
+        Mockito.verifyNoInteractions(legacyUserRepository);
+    }
+
+    @Test
+    public void givenANotMigratedUser_WhenCallsPatch_ThenPatchesTheLegacyLayout() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(compactUserRepository.patch(userEntity)).thenReturn(Optional.empty());
+        Mockito.when(legacyUserRepository.patch(userEntity)).thenReturn(Optional.of(userEntity));
+
+        Assertions.assertEquals(userEntity, userRepository.patch(userEntity).get());
+    }
+
+    @Test
+    public void givenAUser_WhenCallsDelete_ThenDeletesFromBothLayouts() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(compactUserRepository.delete(userEntity.getUuid())).thenReturn(Optional.empty());
+        Mockito.when(legacyUserRepository.delete(userEntity.getUuid())).thenReturn(Optional.of(userEntity));
+
+        Assertions.assertEquals(userEntity, userRepository.delete(userEntity.getUuid()).get());
+    }
+
+    @Test
+    public void givenAUserInBothLayouts_WhenCallsFindByEmail_ThenReturnsTheCompactCopyOnce() {
+
+        var compactUserEntity = aUserEntity();
+        var legacyUserEntity = compactUserEntity.toBuilder().username("Nome antigo").build();
+        var legacyOnlyUserEntity = aUserEntity();
+
+        Mockito.when(compactUserRepository.findByEmail("joao.silva@email.com")).thenReturn(List.of(compactUserEntity));
+        Mockito.when(legacyUserRepository.findByEmail("joao.silva@email.com"))
+                .thenReturn(List.of(legacyUserEntity, legacyOnlyUserEntity));
+
+        Assertions.assertEquals(List.of(compactUserEntity, legacyOnlyUserEntity),
+                userRepository.findByEmail("joao.silva@email.com"));
+    }
+
+    @Test
+    public void givenTheLastCompactPage_WhenCallsFindPage_ThenContinuesOnTheLegacyLayout() {
+
+        var userEntity = aUserEntity();
+
+        Mockito.when(compactUserRepository.findPage(10, null)).thenReturn(new UserEntityPage(List.of(userEntity), null));
+
+        var page = userRepository.findPage(10, null);
+
+        Assertions.assertEquals(List.of(userEntity), page.userEntities());
+        Assertions.assertEquals("l", page.nextCursor());
+    }
+
+    @Test
+    public void givenALegacyPage_WhenCallsFindPage_ThenSkipsUsersAlreadyMigrated() {
+
+        var migratedUserEntity = aUserEntity();
+        var legacyUserEntity = aUserEntity();
+
+        Mockito.when(legacyUserRepository.findPage(10, "abc"))
+                .thenReturn(new UserEntityPage(List.of(migratedUserEntity, legacyUserEntity), "def"));
+        Mockito.when(compactUserRepository.findAllByUuids(List.of(migratedUserEntity.getUuid(), legacyUserEntity.getUuid())))
+                .thenReturn(List.of(migratedUserEntity));
+
+        var page = userRepository.findPage(10, "labc");
+
+        Assertions.assertEquals(List.of(legacyUserEntity), page.userEntities());
+        Assertions.assertEquals("ldef", page.nextCursor());
+    }
+}
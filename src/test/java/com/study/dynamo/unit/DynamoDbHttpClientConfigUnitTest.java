@@ -0,0 +1,71 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.config.DynamoDbHttpClientConfig;
+import com.study.dynamo.config.DynamoDbThrottlingInterceptor;
+import com.study.dynamo.config.RetryBudgetStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+public class DynamoDbHttpClientConfigUnitTest {
+
+    @ParameterizedTest
+    @CsvSource({"apache,Apache", "url-connection,UrlConnection", "crt,AwsCommonRuntime"})
+    public void givenAClientProfile_WhenCallsGetDynamoDbHttpClient_ThenBuildsThatImplementation(String client, String clientName) {
+
+        var httpClientConfig = aHttpClientConfig(client);
+
+        try (var httpClient = httpClientConfig.getDynamoDbHttpClient()) {
+            Assertions.assertEquals(clientName, httpClient.clientName());
+        }
+    }
+
+    @Test
+    public void givenAnUnknownClientProfile_WhenCallsGetDynamoDbHttpClient_ThenFailsAtStartup() {
+
+        var httpClientConfig = aHttpClientConfig("okhttp");
+
+        Assertions.assertThrows(IllegalStateException.class, httpClientConfig::getDynamoDbHttpClient);
+    }
+
+    @Test
+    public void givenSyncAndAsyncClients_WhenCallsGetOverrideConfigurations_ThenPublishesEachPoolWithItsOwnTag() {
+
+        var httpClientConfig = aHttpClientConfig("apache");
+        var registry = new SimpleMeterRegistry();
+        var beanFactory = new StaticListableBeanFactory();
+
+        var overrideConfiguration = httpClientConfig.getDynamoDbClientOverrideConfiguration(registry,
+                beanFactory.getBeanProvider(DynamoDbThrottlingInterceptor.class),
+                beanFactory.getBeanProvider(RetryBudgetStrategy.class));
+        var asyncOverrideConfiguration = httpClientConfig.getDynamoDbAsyncClientOverrideConfiguration(registry,
+                beanFactory.getBeanProvider(DynamoDbThrottlingInterceptor.class),
+                beanFactory.getBeanProvider(RetryBudgetStrategy.class));
+
+        Assertions.assertNotSame(overrideConfiguration.metricPublishers().get(0),
+                asyncOverrideConfiguration.metricPublishers().get(0));
+        Assertions.assertNotNull(registry.find("dynamodb.http.pool.utilization").tag("client", "apache").gauge());
+        Assertions.assertNotNull(registry.find("dynamodb.http.pool.utilization").tag("client", "netty").gauge());
+    }
+
+    private static DynamoDbHttpClientConfig aHttpClientConfig(String client) {
+        var httpClientConfig = new DynamoDbHttpClientConfig();
+        ReflectionTestUtils.setField(httpClientConfig, "client", client);
+        ReflectionTestUtils.setField(httpClientConfig, "maxConnections", 10);
+        ReflectionTestUtils.setField(httpClientConfig, "connectionTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(httpClientConfig, "socketTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(httpClientConfig, "connectionAcquisitionTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(httpClientConfig, "connectionTimeToLive", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(httpClientConfig, "connectionMaxIdleTime", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(httpClientConfig, "useIdleConnectionReaper", true);
+        ReflectionTestUtils.setField(httpClientConfig, "tcpKeepAlive", true);
+        ReflectionTestUtils.setField(httpClientConfig, "tcpKeepAliveInterval", Duration.ofSeconds(30));
+        return httpClientConfig;
+    }
+}
@@ -0,0 +1,146 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.integration.DynamoDbStubServer;
+import com.study.dynamo.respository.DefaultUserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserItemLayout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.retries.api.BackoffStrategy;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+public class DynamoDbStubServerUnitTest {
+
+    private DynamoDbStubServer stubServer;
+
+    private DynamoDbClient dynamoDbClient;
+
+    private ExecutorService batchExecutor;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stubServer = new DynamoDbStubServer(0).start();
+        stubServer.createUserTables();
+        var retryStrategy = AwsRetryStrategy.standardRetryStrategy().toBuilder()
+                .maxAttempts(2)
+                .backoffStrategy(BackoffStrategy.retryImmediately())
+                .throttlingBackoffStrategy(BackoffStrategy.retryImmediately())
+                .build();
+        dynamoDbClient = DynamoDbClient.builder()
+                .endpointOverride(stubServer.endpoint())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+                .overrideConfiguration(overrideConfiguration -> overrideConfiguration.retryStrategy(retryStrategy))
+                .build();
+        batchExecutor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dynamoDbClient.close();
+        stubServer.close();
+        batchExecutor.shutdownNow();
+    }
+
+    @Test
+    public void givenEachLayout_WhenRepositoryWritesAndReads_ThenStubBehavesLikeDynamoDb() {
+
+        for (var layout : UserItemLayout.values()) {
+            var userRepository = aUserRepository().withLayout(layout);
+            var userEntities = IntStream.range(0, 60)
+                    .mapToObj(i -> UserEntity.builder()
+                            .uuid(UUID.randomUUID())
+                            .username("user" + i)
+                            .email(i % 2 == 0 ? "par@email.com" : i + "@email.com")
+                            .cpf(String.valueOf(i))
+                            .build())
+                    .toList();
+
+            Assertions.assertTrue(userRepository.saveAll(userEntities).isEmpty());
+            Assertions.assertEquals(30, userRepository.findByEmail("par@email.com").size());
+            Assertions.assertEquals(List.of(userEntities.get(7)), userRepository.findByCpf("7"));
+            Assertions.assertEquals(60, userRepository.findAllByUuids(userEntities.stream().map(UserEntity::getUuid).toList()).size());
+
+            var seen = new HashSet<UUID>();
+            for (int segment = 0; segment < 4; segment++) {
+                String cursor = null;
+                do {
+                    var page = userRepository.findSegmentPage(segment, 4, 7, cursor);
+                    page.userEntities().forEach(userEntity -> Assertions.assertTrue(seen.add(userEntity.getUuid())));
+                    Assertions.assertTrue(page.consumedCapacity() > 0);
+                    cursor = page.nextCursor();
+                } while (cursor != null);
+            }
+            Assertions.assertEquals(60, seen.size());
+
+            var uuid = userEntities.get(0).getUuid();
+            var patched = userRepository.patch(UserEntity.builder().uuid(uuid).email("novo@email.com").build());
+            Assertions.assertEquals("user0", patched.get().getUsername());
+            Assertions.assertEquals(29, userRepository.findByEmail("par@email.com").size());
+            Assertions.assertTrue(userRepository.delete(uuid).isPresent());
+            Assertions.assertTrue(userRepository.delete(uuid).isEmpty());
+            Assertions.assertTrue(userRepository.patch(patched.get()).isEmpty());
+        }
+    }
+
+    @Test
+    public void givenAThrottlingRate_WhenCallsGetItem_ThenClientSeesProvisionedThroughputExceeded() {
+
+        stubServer.withThrottlingRate(1.0);
+
+        Assertions.assertThrows(ProvisionedThroughputExceededException.class, this::getItem);
+        Assertions.assertEquals(2, stubServer.throttledCount());
+    }
+
+    @Test
+    public void givenAnErrorRate_WhenCallsGetItem_ThenClientSeesInternalServerError() {
+
+        stubServer.withErrorRate(1.0);
+
+        var exception = Assertions.assertThrows(DynamoDbException.class, this::getItem);
+
+        Assertions.assertEquals(500, exception.statusCode());
+        Assertions.assertEquals(2, stubServer.failedCount());
+    }
+
+    @Test
+    public void givenAnInjectedLatency_WhenCallsGetItem_ThenResponseIsDelayed() {
+
+        stubServer.withLatency(Duration.ofMillis(50), Duration.ZERO);
+
+        var start = System.nanoTime();
+        getItem();
+
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 50);
+    }
+
+    private void getItem() {
+        dynamoDbClient.getItem(request -> request.tableName(UserItemLayout.LEGACY.tableName())
+                .key(Map.of("user_id", AttributeValue.fromS(UUID.randomUUID().toString()))));
+    }
+
+    private DefaultUserRepository aUserRepository() {
+        var dynamoDbEnhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build();
+        return new DefaultUserRepository(dynamoDbEnhancedClient, dynamoDbClient, batchExecutor);
+    }
+}
@@ -0,0 +1,161 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.config.DynamoDbThrottlingInterceptor;
+import com.study.dynamo.config.RetryBudgetStrategy;
+import com.study.dynamo.respository.support.AdaptiveRateLimiter;
+import com.study.dynamo.respository.support.RetryBudget;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.retries.api.BackoffStrategy;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DynamoDbThrottlingUnitTest {
+
+    private static final String THROTTLING_BODY = "{\"__type\":\"com.amazonaws.dynamodb.v20120810#ProvisionedThroughputExceededException\","
+            + "\"message\":\"The level of configured provisioned throughput for the table was exceeded.\"}";
+
+    private final AdaptiveRateLimiter readRateLimiter = aRateLimiter("leitura");
+
+    private final AdaptiveRateLimiter writeRateLimiter = aRateLimiter("escrita");
+
+    @Test
+    public void givenThrottledReads_WhenCallsGetItem_ThenRetriesAndLowersOnlyTheReadRate() {
+
+        var httpClient = new FakeHttpClient(2);
+
+        try (var dynamoDbClient = aDynamoDbClient(httpClient, new RetryBudget(0.1, 0, 100))) {
+            var response = dynamoDbClient.getItem(request -> request.tableName("user_table")
+                    .key(Map.of("user_id", AttributeValue.fromS("1"))));
+
+            Assertions.assertTrue(response.item().isEmpty());
+        }
+
+        Assertions.assertEquals(3, httpClient.calls.get());
+        Assertions.assertTrue(readRateLimiter.rate() < 1000);
+        Assertions.assertEquals(1000, writeRateLimiter.rate(), 1);
+    }
+
+    @Test
+    public void givenAnEmptyRetryBudget_WhenCallsGetItem_ThenFailsWithoutRetrying() {
+
+        var httpClient = new FakeHttpClient(5);
+
+        try (var dynamoDbClient = aDynamoDbClient(httpClient, new RetryBudget(0.1, 0, 0))) {
+            Assertions.assertThrows(ProvisionedThroughputExceededException.class,
+                    () -> dynamoDbClient.getItem(request -> request.tableName("user_table")
+                            .key(Map.of("user_id", AttributeValue.fromS("1")))));
+        }
+
+        Assertions.assertEquals(1, httpClient.calls.get());
+    }
+
+    @Test
+    public void givenThrottlingBurst_WhenCallsOnThrottle_ThenDecreasesOncePerCooldown() {
+
+        readRateLimiter.onThrottle();
+        readRateLimiter.onThrottle();
+        readRateLimiter.onThrottle();
+
+        Assertions.assertEquals(700, readRateLimiter.rate(), 5);
+    }
+
+    @Test
+    public void givenAWaitLongerThanTheMaximum_WhenCallsAcquire_ThenGivesUpWithoutConsuming() throws InterruptedException {
+
+        var rateLimiter = new AdaptiveRateLimiter("escrita", 1, 1, 0.5, 0, TimeUnit.SECONDS.toNanos(1),
+                TimeUnit.MILLISECONDS.toNanos(10));
+
+        Assertions.assertTrue(rateLimiter.acquire());
+        Assertions.assertFalse(rateLimiter.acquire());
+    }
+
+    @Test
+    public void givenAnEmptyBucket_WhenCallsTryAcquire_ThenFailsWithoutWaiting() {
+
+        var rateLimiter = new AdaptiveRateLimiter("leitura", 1, 1, 0.5, 0, TimeUnit.SECONDS.toNanos(1),
+                TimeUnit.SECONDS.toNanos(10));
+
+        var start = System.nanoTime();
+        Assertions.assertTrue(rateLimiter.tryAcquire());
+        Assertions.assertFalse(rateLimiter.tryAcquire());
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    private DynamoDbClient aDynamoDbClient(SdkHttpClient httpClient, RetryBudget retryBudget) {
+        var delegate = AwsRetryStrategy.standardRetryStrategy().toBuilder()
+                .maxAttempts(5)
+                .backoffStrategy(BackoffStrategy.retryImmediately())
+                .throttlingBackoffStrategy(BackoffStrategy.retryImmediately())
+                .circuitBreakerEnabled(false)
+                .build();
+        return DynamoDbClient.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create("http://localhost:8000"))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+                .httpClient(httpClient)
+                .overrideConfiguration(overrideConfiguration -> overrideConfiguration
+                        .addExecutionInterceptor(new DynamoDbThrottlingInterceptor(readRateLimiter, writeRateLimiter))
+                        .retryStrategy(new RetryBudgetStrategy(delegate, retryBudget)))
+                .build();
+    }
+
+    private static AdaptiveRateLimiter aRateLimiter(String name) {
+        return new AdaptiveRateLimiter(name, 10, 1000, 0.7, 0, TimeUnit.SECONDS.toNanos(10), TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Responde throttling nas primeiras {@code throttledCalls} chamadas e item vazio nas seguintes.
+     */
+    private static class FakeHttpClient implements SdkHttpClient {
+
+        private final int throttledCalls;
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private FakeHttpClient(int throttledCalls) {
+            this.throttledCalls = throttledCalls;
+        }
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() {
+                    var throttled = calls.incrementAndGet() <= throttledCalls;
+                    var body = throttled ? THROTTLING_BODY : "{}";
+                    return HttpExecuteResponse.builder()
+                            .response(SdkHttpResponse.builder().statusCode(throttled ? 400 : 200).build())
+                            .responseBody(AbortableInputStream.create(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                            .build();
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.study.dynamo.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.dto.ReadConsistency;
+import com.study.dynamo.respository.EmbeddedUserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.study.dynamo.unit.UserEntityFixture.aUserEntity;
+
+public class EmbeddedUserRepositoryUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final EmbeddedUserRepository userRepository = new EmbeddedUserRepository(8, objectMapper, null,
+            Duration.ofSeconds(30));
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void givenASavedUser_WhenCallerChangesTheReturnedEntity_ThenStoredUserIsNotChanged() {
+
+        var userEntity = aUserEntity("contato@jooaosousa.com", "98141895885");
+        var expectedUsername = userEntity.getUsername();
+        userRepository.save(userEntity);
+
+        userRepository.findByUuid(userEntity.getUuid()).get().setUsername("outro");
+        userEntity.setUsername("outro");
+
+        var stored = userRepository.findByUuid(userEntity.getUuid(), ReadConsistency.STRONG);
+        Assertions.assertEquals(expectedUsername, stored.get().getUsername());
+    }
+
+    @Test
+    public void givenAPatchedEmail_WhenCallsFindByEmail_ThenOnlyTheNewEmailFindsTheUser() {
+
+        var userEntity = aUserEntity("contato@jooaosousa.com", "98141895885");
+        userRepository.save(userEntity);
+
+        var patched = userRepository.patch(UserEntity.builder()
+                .uuid(userEntity.getUuid())
+                .email("novo@jooaosousa.com")
+                .build());
+
+        Assertions.assertEquals("98141895885", patched.get().getCpf());
+        Assertions.assertTrue(userRepository.findByEmail("contato@jooaosousa.com").isEmpty());
+        Assertions.assertEquals(List.of(patched.get()), userRepository.findByEmail("novo@jooaosousa.com"));
+        Assertions.assertEquals(List.of(patched.get()), userRepository.findByCpf("98141895885"));
+    }
+
+    @Test
+    public void givenADeletedUser_WhenCallsFindByCpf_ThenReturnsEmpty() {
+
+        var userEntity = aUserEntity("contato@jooaosousa.com", "98141895885");
+        userRepository.save(userEntity);
+
+        Assertions.assertEquals(userEntity, userRepository.delete(userEntity.getUuid()).get());
+        Assertions.assertTrue(userRepository.delete(userEntity.getUuid()).isEmpty());
+        Assertions.assertTrue(userRepository.findByCpf("98141895885").isEmpty());
+        Assertions.assertTrue(userRepository.patch(userEntity).isEmpty());
+    }
+
+    @Test
+    public void givenAProjection_WhenCallsFindByUuid_ThenReturnsOnlyTheRequestedFields() {
+
+        var userEntity = aUserEntity("contato@jooaosousa.com", "98141895885");
+        userRepository.save(userEntity);
+
+        var projected = userRepository.findByUuid(userEntity.getUuid(), Set.of("email"), ReadConsistency.EVENTUAL);
+
+        Assertions.assertEquals(userEntity.getUuid(), projected.get().getUuid());
+        Assertions.assertEquals("contato@jooaosousa.com", projected.get().getEmail());
+        Assertions.assertNull(projected.get().getUsername());
+    }
+
+    @Test
+    public void givenManyUsers_WhenPagesThroughEverySegment_ThenReturnsEachUserOnce() {
+
+        userRepository.saveAll(IntStream.range(0, 250)
+                .mapToObj(i -> aUserEntity(i + "@email.com", String.valueOf(i)))
+                .toList());
+
+        var seen = new HashSet<UUID>();
+        for (int segment = 0; segment < 3; segment++) {
+            String cursor = null;
+            do {
+                var page = userRepository.findSegmentPage(segment, 3, 40, cursor);
+                Assertions.assertTrue(page.userEntities().size() <= 40);
+                page.userEntities().forEach(userEntity -> Assertions.assertTrue(seen.add(userEntity.getUuid())));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        }
+
+        var fullPage = userRepository.findPage(250, null);
+
+        Assertions.assertEquals(250, seen.size());
+        Assertions.assertEquals(250, fullPage.userEntities().size());
+        Assertions.assertNull(fullPage.nextCursor());
+    }
+
+    @Test
+    public void givenConcurrentWritesToTheSameUsers_WhenTheyFinish_ThenIndexesMatchTheStoredUsers() throws InterruptedException {
+
+        var uuids = IntStream.range(0, 16).mapToObj(i -> UUID.randomUUID()).toList();
+        var executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 4000; i++) {
+            var uuid = uuids.get(i % uuids.size());
+            var email = (i % 5) + "@email.com";
+            executor.submit(() -> userRepository.save(UserEntity.builder().uuid(uuid).email(email).cpf("1").build()));
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        var indexed = new HashSet<UUID>();
+        for (int i = 0; i < 5; i++) {
+            var email = i + "@email.com";
+            userRepository.findByEmail(email).forEach(userEntity -> {
+                Assertions.assertEquals(email, userEntity.getEmail());
+                Assertions.assertTrue(indexed.add(userEntity.getUuid()));
+            });
+        }
+
+        Assertions.assertEquals(new HashSet<>(uuids), indexed);
+        Assertions.assertEquals(16, userRepository.findByCpf("1").size());
+    }
+
+    @Test
+    public void givenASnapshotFile_WhenRepositoryIsRecreated_ThenLoadsTheSavedUsers() {
+
+        var snapshotFile = directory.resolve("users.ndjson");
+        var userEntity = aUserEntity("contato@jooaosousa.com", "98141895885");
+
+        var first = new EmbeddedUserRepository(8, objectMapper, snapshotFile, Duration.ofHours(1));
+        first.save(userEntity);
+        first.close();
+
+        var second = new EmbeddedUserRepository(8, objectMapper, snapshotFile, Duration.ofHours(1));
+        second.close();
+
+        Assertions.assertEquals(1, first.snapshotCount());
+        Assertions.assertEquals(0, second.snapshotCount());
+        Assertions.assertEquals(userEntity, second.findByUuid(userEntity.getUuid()).get());
+        Assertions.assertEquals(List.of(userEntity), second.findByEmail("contato@jooaosousa.com"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.config.HttpClientMetricPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import java.time.Duration;
+
+public class HttpClientMetricPublisherUnitTest {
+
+    @Test
+    public void givenAnApiCallWithHttpClientMetrics_WhenCallsPublish_ThenUpdatesPoolGauges() {
+
+        var registry = new SimpleMeterRegistry();
+        var metricPublisher = new HttpClientMetricPublisher(registry, "apache");
+
+        var apiCall = MetricCollector.create("ApiCall");
+        apiCall.reportMetric(CoreMetric.OPERATION_NAME, "GetItem");
+        var httpClient = apiCall.createChild("ApiCallAttempt").createChild("HttpClient");
+        httpClient.reportMetric(HttpMetric.MAX_CONCURRENCY, 50);
+        httpClient.reportMetric(HttpMetric.LEASED_CONCURRENCY, 10);
+        httpClient.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, 2);
+        httpClient.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, 3);
+        httpClient.reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, Duration.ofMillis(4));
+
+        metricPublisher.publish(apiCall.collect());
+
+        Assertions.assertEquals(50, registry.get("dynamodb.http.pool.connections").tag("state", "max").gauge().value());
+        Assertions.assertEquals(10, registry.get("dynamodb.http.pool.connections").tag("state", "leased").gauge().value());
+        Assertions.assertEquals(2, registry.get("dynamodb.http.pool.connections").tag("state", "available").gauge().value());
+        Assertions.assertEquals(3, registry.get("dynamodb.http.pool.pending").gauge().value());
+        Assertions.assertEquals(0.2, registry.get("dynamodb.http.pool.utilization").gauge().value(), 0.0001);
+        Assertions.assertEquals(1, registry.get("dynamodb.http.pool.acquire").timer().count());
+    }
+
+    @Test
+    public void givenNoPoolMetrics_WhenCallsUtilization_ThenReturnsZero() {
+
+        var metricPublisher = new HttpClientMetricPublisher(new SimpleMeterRegistry(), "url-connection");
+
+        metricPublisher.publish(MetricCollector.create("ApiCall").collect());
+
+        Assertions.assertEquals(0, metricPublisher.utilization());
+    }
+}
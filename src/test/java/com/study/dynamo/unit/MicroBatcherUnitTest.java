@@ -0,0 +1,148 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.integration.DynamoDbStubServer;
+import com.study.dynamo.respository.DefaultUserRepository;
+import com.study.dynamo.respository.MicroBatchingUserRepository;
+import com.study.dynamo.respository.UserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.support.MicroBatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class MicroBatcherUnitTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final List<List<String>> loadedBatches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void givenKeysSubmittedWithinTheWindow_WhenWindowExpires_ThenLoadsThemInOneBatch() throws Exception {
+
+        var batcher = new MicroBatcher<String, String>(this::upperCase, Duration.ofMillis(50), 100, scheduler, Runnable::run);
+
+        var first = batcher.submit("a");
+        var second = batcher.submit("b");
+        var duplicated = batcher.submit("a");
+
+        Assertions.assertEquals("A", first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("B", second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("A", duplicated.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(List.of("a", "b")), loadedBatches);
+        Assertions.assertEquals(1, batcher.batchCount());
+        Assertions.assertEquals(2, batcher.keyCount());
+    }
+
+    @Test
+    public void givenAFullBatch_WhenCallsSubmit_ThenLoadsItWithoutWaitingForTheWindow() throws Exception {
+
+        var batcher = new MicroBatcher<String, String>(this::upperCase, Duration.ofHours(1), 2, scheduler, Runnable::run);
+
+        var first = batcher.submit("a");
+        var second = batcher.submit("b");
+
+        Assertions.assertEquals("A", first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("B", second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(List.of("a", "b")), loadedBatches);
+    }
+
+    @Test
+    public void givenAKeyMissingFromTheLoaderResult_WhenBatchIsLoaded_ThenCompletesWithNull() throws Exception {
+
+        var batcher = new MicroBatcher<String, String>(keys -> Map.of(), Duration.ofMillis(1), 100, scheduler, Runnable::run);
+
+        Assertions.assertNull(batcher.submit("a").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givenAFailingLoader_WhenBatchIsLoaded_ThenEveryCallerFails() {
+
+        var batcher = new MicroBatcher<String, String>(keys -> {
+            throw new IllegalStateException();
+        }, Duration.ofMillis(1), 100, scheduler, Runnable::run);
+
+        var first = batcher.submit("a");
+        var second = batcher.submit("b");
+
+        var exception = Assertions.assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+        Assertions.assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givenMoreConcurrentBatchesThanBatchThreads_WhenLoaderSharesTheBatchExecutor_ThenEveryCallerCompletes() throws Exception {
+
+        var batchExecutor = Executors.newFixedThreadPool(2);
+        var callers = Executors.newFixedThreadPool(8);
+        try (var stubServer = new DynamoDbStubServer(0).start();
+             var dynamoDbClient = DynamoDbClient.builder()
+                     .endpointOverride(stubServer.endpoint())
+                     .region(Region.US_EAST_1)
+                     .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+                     .build()) {
+            stubServer.createUserTables();
+            stubServer.withLatency(Duration.ofMillis(20), Duration.ZERO);
+            var dynamoDbEnhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build();
+            var userRepository = new DefaultUserRepository(dynamoDbEnhancedClient, dynamoDbClient, batchExecutor);
+            var userEntities = IntStream.range(0, 8)
+                    .mapToObj(i -> UserEntity.builder().uuid(UUID.randomUUID()).username("user" + i).build())
+                    .toList();
+            userRepository.saveAll(userEntities);
+            // Lotes de uma chave e o loader no mesmo pool de 2 threads dos chunks: o pior caso do deadlock
+            var microBatchingUserRepository = new MicroBatchingUserRepository(userRepository, Duration.ofMillis(1), 1,
+                    Duration.ofSeconds(5), scheduler, batchExecutor);
+
+            var results = userEntities.stream()
+                    .map(userEntity -> CompletableFuture.supplyAsync(
+                            () -> microBatchingUserRepository.findByUuid(userEntity.getUuid()), callers))
+                    .toList();
+
+            for (int i = 0; i < userEntities.size(); i++) {
+                Assertions.assertEquals(userEntities.get(i).getUuid(), results.get(i).get(10, TimeUnit.SECONDS).get().getUuid());
+            }
+        } finally {
+            callers.shutdownNow();
+            batchExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenABatchThatNeverLoads_WhenCallsFindByUuid_ThenFailsAfterTheTimeout() {
+
+        var microBatchingUserRepository = new MicroBatchingUserRepository(Mockito.mock(UserRepository.class),
+                Duration.ofMillis(1), 100, Duration.ofMillis(50), scheduler, runnable -> {
+        });
+
+        Assertions.assertThrows(IllegalStateException.class, () -> microBatchingUserRepository.findByUuid(UUID.randomUUID()));
+    }
+
+    private Map<String, String> upperCase(List<String> keys) {
+        loadedBatches.add(keys);
+        return keys.stream().collect(Collectors.toMap(Function.identity(), String::toUpperCase));
+    }
+}
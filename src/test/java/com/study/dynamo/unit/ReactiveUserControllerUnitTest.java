@@ -0,0 +1,162 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.controller.DefaultReactiveUserController;
+import com.study.dynamo.controller.ReactiveGlobalExceptionHandler;
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.exception.UserNotFoundException;
+import com.study.dynamo.service.ReactiveUserService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@WebFluxTest(controllers = DefaultReactiveUserController.class)
+@Import(ReactiveGlobalExceptionHandler.class)
+public class ReactiveUserControllerUnitTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveUserService reactiveUserService;
+
+    @Test
+    public void givenAValidUuid_whenCallsGetUser_shouldReturnUser() {
+
+        //given
+        var expectedUuid = UUID.randomUUID();
+
+        var userDto = UserDto.builder()
+                .uuid(expectedUuid)
+                .cpf("123456789")
+                .email("joao@silva.com")
+                .phoneNumber("119878674768")
+                .username("joao.silva")
+                .build();
+
+        Mockito.when(reactiveUserService.findUserByUuid(expectedUuid)).thenReturn(Mono.just(userDto));
+
+        //when
+        var response = webTestClient.get()
+                .uri("/users/{uuid}", expectedUuid)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.uuid").isEqualTo(expectedUuid.toString())
+                .jsonPath("$.username").isEqualTo("joao.silva");
+    }
+
+    @Test
+    public void givenAnUnknownUuid_whenCallsGetUser_shouldReturnNotFound() {
+
+        //given
+        Mockito.when(reactiveUserService.findUserByUuid(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(Mono.error(new UserNotFoundException("Not found", "User not found")));
+
+        //when
+        var response = webTestClient.get()
+                .uri("/users/{uuid}", UUID.randomUUID())
+                .exchange();
+
+        //then
+        response.expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error_title").isEqualTo("Not found")
+                .jsonPath("$.error_description").isEqualTo("User not found");
+    }
+
+    @Test
+    public void givenAValidCreateUserDto_whenCallsCreateUser_shouldReturnCreated() {
+
+        //given
+        var createUserDto = CreateUserDto.builder()
+                .cpf("123456789")
+                .email("joao@silva.com")
+                .phoneNumber("119878674768")
+                .username("joao.silva")
+                .build();
+
+        var userDtoUuid = UUID.randomUUID();
+
+        Mockito.when(reactiveUserService.createUser(createUserDto)).thenReturn(Mono.just(UserDto.builder()
+                .uuid(userDtoUuid)
+                .username(createUserDto.username())
+                .build()));
+
+        //when
+        var response = webTestClient.post()
+                .uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createUserDto)
+                .exchange();
+
+        //then
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.uuid").isEqualTo(userDtoUuid.toString());
+    }
+
+    @Test
+    public void givenACreateUserDtoWithoutFields_whenCallsCreateUser_shouldReturnBadRequest() {
+
+        //when
+        var response = webTestClient.post()
+                .uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(CreateUserDto.builder().username("joao.silva").build())
+                .exchange();
+
+        //then
+        response.expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors.length()").isEqualTo(3);
+        Mockito.verifyNoInteractions(reactiveUserService);
+    }
+
+    @Test
+    public void givenAnEmptyUpdateUserDto_whenCallsPatchUser_shouldReturnBadRequest() {
+
+        //when
+        var response = webTestClient.patch()
+                .uri("/users/{uuid}", UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(UpdateUserDto.builder().build())
+                .exchange();
+
+        //then
+        response.expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0]").isEqualTo("Invalid update user request");
+        Mockito.verifyNoInteractions(reactiveUserService);
+    }
+
+    @Test
+    public void givenAValidUuid_whenCallsDeleteUser_shouldReturnNoContent() {
+
+        //given
+        var uuid = UUID.randomUUID();
+        Mockito.when(reactiveUserService.deleteUser(uuid)).thenReturn(Mono.empty());
+
+        //when
+        var response = webTestClient.delete()
+                .uri("/users/{uuid}", uuid)
+                .exchange();
+
+        //then
+        response.expectStatus().isNoContent();
+        Mockito.verify(reactiveUserService, Mockito.times(1)).deleteUser(uuid);
+    }
+}
@@ -0,0 +1,95 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.respository.DefaultReactiveUserRepository;
+import com.study.dynamo.respository.DualReadReactiveUserRepository;
+import com.study.dynamo.respository.ReactiveUserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserItemLayout;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static com.study.dynamo.unit.UserEntityFixture.aUserEntity;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveUserRepositoryUnitTest {
+
+    @Mock
+    private DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient;
+
+    @Mock
+    private DynamoDbAsyncTable<UserEntity> compactTable;
+
+    @Mock
+    private ReactiveUserRepository compactUserRepository;
+
+    @Mock
+    private ReactiveUserRepository legacyUserRepository;
+
+    @Test
+    public void givenTheCompactLayout_WhenCallsFindByUuid_ThenReadsTheCompactTableWithItsKey() {
+
+        var userEntity = aUserEntity();
+        Mockito.when(dynamoDbEnhancedAsyncClient.table(UserItemLayout.COMPACT.tableName(), UserItemLayout.COMPACT.tableSchema()))
+                .thenReturn(compactTable);
+        Mockito.when(compactTable.getItem(UserItemLayout.COMPACT.key(userEntity.getUuid())))
+                .thenReturn(CompletableFuture.completedFuture(userEntity));
+
+        var userRepository = new DefaultReactiveUserRepository(dynamoDbEnhancedAsyncClient).withLayout(UserItemLayout.COMPACT);
+
+        StepVerifier.create(userRepository.findByUuid(userEntity.getUuid()))
+                .expectNext(userEntity)
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenAMigratedUser_WhenCallsFindByUuidInDualMode_ThenDoesNotReadTheLegacyLayout() {
+
+        var userEntity = aUserEntity();
+        Mockito.when(compactUserRepository.findByUuid(userEntity.getUuid())).thenReturn(Mono.just(userEntity));
+
+        StepVerifier.create(dualReadUserRepository().findByUuid(userEntity.getUuid()))
+                .expectNext(userEntity)
+                .verifyComplete();
+        Mockito.verify(legacyUserRepository, times(0)).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenANotMigratedUser_WhenCallsPatchInDualMode_ThenFallsBackToTheLegacyLayout() {
+
+        var userEntity = aUserEntity();
+        Mockito.when(compactUserRepository.patch(userEntity)).thenReturn(Mono.empty());
+        Mockito.when(legacyUserRepository.patch(userEntity)).thenReturn(Mono.just(userEntity));
+
+        StepVerifier.create(dualReadUserRepository().patch(userEntity))
+                .expectNext(userEntity)
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenAUserOnlyInTheLegacyLayout_WhenCallsDeleteInDualMode_ThenDeletesFromBothAndEmitsIt() {
+
+        var userEntity = aUserEntity();
+        Mockito.when(compactUserRepository.delete(userEntity.getUuid())).thenReturn(Mono.empty());
+        Mockito.when(legacyUserRepository.delete(userEntity.getUuid())).thenReturn(Mono.just(userEntity));
+
+        StepVerifier.create(dualReadUserRepository().delete(userEntity.getUuid()))
+                .expectNext(userEntity)
+                .verifyComplete();
+    }
+
+    private DualReadReactiveUserRepository dualReadUserRepository() {
+        return new DualReadReactiveUserRepository(compactUserRepository, legacyUserRepository);
+    }
+}
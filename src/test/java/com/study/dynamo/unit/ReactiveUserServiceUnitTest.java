@@ -0,0 +1,129 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.exception.UserNotDeletedException;
+import com.study.dynamo.exception.UserNotFoundException;
+import com.study.dynamo.exception.UserNotPatchedException;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.ReactiveUserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.service.DefaultReactiveUserService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveUserServiceUnitTest {
+
+    @Spy
+    private UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    @Mock
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @InjectMocks
+    private DefaultReactiveUserService userService;
+
+    @Test
+    public void givenAValidUuid_whenCallsFindUserByUuid_shouldEmitUserDto() {
+
+        var expectedUuid = UUID.randomUUID();
+
+        var aUserEntity = UserEntity.builder()
+                .uuid(expectedUuid)
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .cpf("88661696097")
+                .phoneNumber("11988435898")
+                .build();
+
+        when(reactiveUserRepository.findByUuid(any(UUID.class))).thenReturn(Mono.just(aUserEntity));
+
+        StepVerifier.create(userService.findUserByUuid(expectedUuid))
+                .assertNext(userDto -> Assertions.assertEquals(expectedUuid, userDto.uuid()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenAnInvalidUuid_WhenCallsFindUserByUuid_shouldEmitUserNotFoundException() {
+
+        when(reactiveUserRepository.findByUuid(any(UUID.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.findUserByUuid(UUID.randomUUID()))
+                .verifyError(UserNotFoundException.class);
+    }
+
+    @Test
+    public void givenARepositoryError_WhenCallsUpdateUser_shouldEmitUserNotPatchedException() {
+
+        when(reactiveUserRepository.patch(any(UserEntity.class))).thenReturn(Mono.error(new IllegalArgumentException()));
+
+        var updateUserDto = UpdateUserDto.builder().username("João da Silva Updated").build();
+
+        StepVerifier.create(userService.patchUser(UUID.randomUUID(), updateUserDto))
+                .verifyError(UserNotPatchedException.class);
+    }
+
+    @Test
+    public void givenAnUnknownUuid_WhenCallsUpdateUser_shouldEmitUserNotFoundException() {
+
+        when(reactiveUserRepository.patch(any(UserEntity.class))).thenReturn(Mono.empty());
+
+        var updateUserDto = UpdateUserDto.builder().username("João da Silva Updated").build();
+
+        StepVerifier.create(userService.patchUser(UUID.randomUUID(), updateUserDto))
+                .verifyError(UserNotFoundException.class);
+        verify(reactiveUserRepository, never()).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenACreateUserDto_whenCallsCreateUser_shouldSaveOnlyOnSubscription() {
+
+        var aCreateUserDto = CreateUserDto.builder()
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .cpf("88661696097")
+                .phoneNumber("11988435898")
+                .build();
+
+        when(reactiveUserRepository.save(any(UserEntity.class))).thenReturn(Mono.empty());
+
+        var userCreated = userService.createUser(aCreateUserDto);
+        verify(reactiveUserRepository, never()).save(any(UserEntity.class));
+
+        StepVerifier.create(userCreated)
+                .assertNext(userDto -> Assertions.assertEquals(aCreateUserDto.username(), userDto.username()))
+                .verifyComplete();
+        verify(reactiveUserRepository, times(1)).save(any(UserEntity.class));
+    }
+
+    @Test
+    public void givenAnUnknownUuid_WhenCallsDeleteUser_shouldEmitUserNotFoundException() {
+
+        when(reactiveUserRepository.delete(any(UUID.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.deleteUser(UUID.randomUUID()))
+                .verifyError(UserNotFoundException.class);
+    }
+
+    @Test
+    public void givenARepositoryError_WhenCallsDeleteUser_shouldEmitUserNotDeletedException() {
+
+        when(reactiveUserRepository.delete(any(UUID.class))).thenReturn(Mono.error(new IllegalStateException()));
+
+        StepVerifier.create(userService.deleteUser(UUID.randomUUID()))
+                .verifyError(UserNotDeletedException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.respository.support.SingleFlight;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightUnitTest {
+
+    @Test
+    public void givenConcurrentCallsForTheSameKey_WhenCallsExecute_ThenLoaderRunsOnceAndAllCallersReceiveItsResult() throws Exception {
+
+        var singleFlight = new SingleFlight<String, String>();
+        var loaderCalls = new AtomicInteger();
+        var releaseLoader = new CountDownLatch(1);
+        var callers = 8;
+
+        var executor = Executors.newFixedThreadPool(callers);
+        try {
+            var results = new ArrayList<CompletableFuture<String>>();
+            for (var i = 0; i < callers; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+                    loaderCalls.incrementAndGet();
+                    await(releaseLoader);
+                    return "value";
+                }), executor));
+            }
+
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (singleFlight.collapsedCount() < callers - 1) {
+                if (System.nanoTime() > deadline) {
+                    Assertions.fail(String.format("so %d de %d chamadas colapsaram em 5s",
+                            singleFlight.collapsedCount(), callers - 1));
+                }
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            for (var result : results) {
+                Assertions.assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, loaderCalls.get());
+        Assertions.assertEquals(1, singleFlight.executedCount());
+        Assertions.assertEquals(callers - 1, singleFlight.collapsedCount());
+    }
+
+    @Test
+    public void givenAFailingLoader_WhenCallsExecute_ThenThrowsAndNextCallRunsTheLoaderAgain() {
+
+        var singleFlight = new SingleFlight<String, String>();
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("key", () -> {
+                    throw new IllegalStateException();
+                }));
+
+        Assertions.assertEquals("value", singleFlight.execute("key", () -> "value"));
+        Assertions.assertEquals(2, singleFlight.executedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.study.dynamo.unit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.dto.BatchGetUserDto;
+import com.study.dynamo.dto.BatchGetUserResultDto;
+import com.study.dynamo.dto.BulkCreateUserDto;
+import com.study.dynamo.dto.BulkCreateUserItemDto;
+import com.study.dynamo.dto.BulkCreateUserResultDto;
 import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.ReadConsistency;
 import com.study.dynamo.dto.UpdateUserDto;
 import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.dto.UserPageDto;
+import com.study.dynamo.controller.UserController;
 import com.study.dynamo.exception.UserNotCreatedException;
 import com.study.dynamo.exception.UserNotDeletedException;
 import com.study.dynamo.exception.UserNotFoundException;
+import com.study.dynamo.service.UserExportService;
 import com.study.dynamo.service.UserService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -22,6 +31,9 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @WebMvcTest
@@ -36,6 +48,9 @@ public class UserControllerUnitTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserExportService userExportService;
+
     @Test
     public void givenAValidUuid_whenCallsGetUser_shouldReturnUser() throws Exception {
 
@@ -102,6 +117,305 @@ public class UserControllerUnitTest {
         Mockito.verify(userService, Mockito.times(1)).findUserByUuid(ArgumentMatchers.eq(expectedUuid));
     }
 
+    @Test
+    public void givenFields_whenCallsGetUser_shouldReturnSparseUser() throws Exception {
+
+        //given
+        var expectedUuid = UUID.randomUUID();
+        var expectedUsername = "joao.silva";
+
+        var userDto = UserDto.builder()
+                .uuid(expectedUuid)
+                .username(expectedUsername)
+                .build();
+
+        Mockito.when(userService.findUserByUuid(Mockito.any(UUID.class), ArgumentMatchers.anySet(), Mockito.any(ReadConsistency.class)))
+                .thenReturn(userDto);
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users/{uuid}", expectedUuid)
+                .param("fields", "username")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.uuid", Matchers.equalTo(expectedUuid.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.username", Matchers.equalTo(expectedUsername)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.cpf").doesNotExist());
+
+        Mockito.verify(userService, Mockito.times(1))
+                .findUserByUuid(ArgumentMatchers.eq(expectedUuid), ArgumentMatchers.eq(Set.of("username")),
+                        ArgumentMatchers.eq(ReadConsistency.EVENTUAL));
+    }
+
+    @Test
+    public void givenAUserWithoutPhoneNumber_whenCallsGetUserWithoutFields_shouldReturnTheNullFields() throws Exception {
+
+        //given
+        var expectedUuid = UUID.randomUUID();
+
+        var userDto = UserDto.builder()
+                .uuid(expectedUuid)
+                .username("joao.silva")
+                .build();
+
+        Mockito.when(userService.findUserByUuid(Mockito.any(UUID.class)))
+                .thenReturn(userDto);
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users/{uuid}", expectedUuid)
+                .accept(MediaType.APPLICATION_JSON);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("\"phoneNumber\":null")))
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("\"email\":null")));
+    }
+
+    @Test
+    public void givenStrongReadConsistencyHeader_whenCallsGetUser_shouldReadWithStrongConsistency() throws Exception {
+
+        //given
+        var expectedUuid = UUID.randomUUID();
+
+        var userDto = UserDto.builder()
+                .uuid(expectedUuid)
+                .username("joao.silva")
+                .build();
+
+        Mockito.when(userService.findUserByUuid(Mockito.any(UUID.class), ArgumentMatchers.anySet(), Mockito.any(ReadConsistency.class)))
+                .thenReturn(userDto);
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users/{uuid}", expectedUuid)
+                .header(UserController.READ_CONSISTENCY_HEADER, "STRONG")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.uuid", Matchers.equalTo(expectedUuid.toString())));
+
+        Mockito.verify(userService, Mockito.times(1))
+                .findUserByUuid(ArgumentMatchers.eq(expectedUuid), ArgumentMatchers.eq(Set.of()),
+                        ArgumentMatchers.eq(ReadConsistency.STRONG));
+        Mockito.verify(userService, Mockito.never()).findUserByUuid(Mockito.any(UUID.class));
+    }
+
+    @Test
+    public void givenAnUnknownReadConsistency_whenCallsGetUser_shouldReturnBadRequest() throws Exception {
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users/{uuid}", UUID.randomUUID())
+                .header(UserController.READ_CONSISTENCY_HEADER, "LINEARIZABLE")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void givenACursor_whenCallsListUsers_shouldReturnPageWithNextCursor() throws Exception {
+
+        //given
+        var userPageDto = UserPageDto.builder()
+                .users(List.of(UserDto.builder().uuid(UUID.randomUUID()).build()))
+                .nextCursor("next")
+                .build();
+
+        Mockito.when(userService.findUsers(10, "current")).thenReturn(userPageDto);
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users")
+                .param("limit", "10")
+                .param("cursor", "current")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.users", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.equalTo("next")));
+    }
+
+    @Test
+    public void givenALimitAboveTheMaximum_whenCallsListUsers_shouldReturnBadRequest() throws Exception {
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users")
+                .param("limit", String.valueOf(UserController.MAX_PAGE_SIZE + 1))
+                .accept(MediaType.APPLICATION_JSON);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void givenGzip_whenCallsExportUsers_shouldStreamNdjsonWithGzipEncoding() throws Exception {
+
+        //given
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{}\n".getBytes());
+            return null;
+        }).when(userExportService).export(ArgumentMatchers.any(), ArgumentMatchers.eq(true));
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users/export")
+                .param("gzip", "true");
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        Mockito.verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void givenAnEmail_whenCallsFindUsers_shouldReturnUsersFromEmailIndex() throws Exception {
+
+        //given
+        var userDto = UserDto.builder()
+                .uuid(UUID.randomUUID())
+                .email("joao.silva@email.com")
+                .build();
+
+        Mockito.when(userService.findUsersByEmail("joao.silva@email.com")).thenReturn(List.of(userDto));
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users")
+                .param("email", "joao.silva@email.com")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email", Matchers.equalTo("joao.silva@email.com")));
+
+        Mockito.verify(userService, Mockito.never()).findUsersByCpf(ArgumentMatchers.anyString());
+    }
+
+    @Test
+    public void givenACpfWithoutMatches_whenCallsFindUsers_shouldReturnEmptyList() throws Exception {
+
+        //given
+        Mockito.when(userService.findUsersByCpf("88661696097")).thenReturn(List.of());
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users")
+                .param("cpf", "88661696097")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(0)));
+    }
+
+    @Test
+    public void givenAnUnknownField_whenCallsGetUser_shouldReturnConstraintViolationException() throws Exception {
+
+        //given
+        var expectedUuid = UUID.randomUUID();
+
+        //when
+        final var request = MockMvcRequestBuilders.get("/users/{uuid}", expectedUuid)
+                .param("fields", "username,password")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors", Matchers.hasSize(1)));
+
+        Mockito.verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void givenValidUuids_whenCallsBatchGetUsers_shouldReturnUsersAndMissingUuids() throws Exception {
+
+        //given
+        var foundUuid = UUID.randomUUID();
+        var missingUuid = UUID.randomUUID();
+
+        var batchGetUserDto = BatchGetUserDto.builder()
+                .uuids(List.of(foundUuid, missingUuid))
+                .build();
+
+        var batchGetUserResultDto = BatchGetUserResultDto.builder()
+                .users(List.of(UserDto.builder().uuid(foundUuid).username("joao.silva").build()))
+                .missingUuids(List.of(missingUuid))
+                .build();
+
+        Mockito.when(userService.findUsersByUuids(List.of(foundUuid, missingUuid))).thenReturn(batchGetUserResultDto);
+
+        //when
+        final var request = MockMvcRequestBuilders.post("/users/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchGetUserDto));
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.users", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.users[0].uuid", Matchers.equalTo(foundUuid.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.missingUuids[0]", Matchers.equalTo(missingUuid.toString())));
+
+        Mockito.verify(userService, Mockito.times(1)).findUsersByUuids(ArgumentMatchers.eq(List.of(foundUuid, missingUuid)));
+    }
+
+    @Test
+    public void givenAnEmptyRequest_whenCallsBatchGetUsers_shouldReturnMethodArgumentNotValidException() throws Exception {
+
+        //when
+        final var request = MockMvcRequestBuilders.post("/users/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BatchGetUserDto.builder().uuids(List.of()).build()));
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0]", Matchers.equalTo("'uuids' should not be empty")));
+
+        Mockito.verify(userService, Mockito.times(0)).findUsersByUuids(Mockito.any());
+    }
+
     @Test
     public void givenAValidRequest_whenCallsCreateUser_shouldReturnUser() throws Exception {
 
@@ -221,6 +535,73 @@ public class UserControllerUnitTest {
         Mockito.verify(userService, Mockito.times(1)).createUser(ArgumentMatchers.eq(createUserDto));
     }
 
+    @Test
+    public void givenAPartiallyFailedBulk_whenCallsBulkCreateUsers_shouldReturnMultiStatus() throws Exception {
+
+        //given
+        var createUserDto = CreateUserDto.builder()
+                .cpf("123456789")
+                .email("joao@silva.com")
+                .phoneNumber("119878674768")
+                .username("joao.silva")
+                .build();
+
+        var bulkCreateUserResultDto = BulkCreateUserResultDto.builder()
+                .created(1)
+                .failed(1)
+                .items(List.of(
+                        BulkCreateUserItemDto.builder().index(0).status(BulkCreateUserItemDto.Status.CREATED)
+                                .user(UserDto.builder().uuid(UUID.randomUUID()).username("joao.silva").build()).build(),
+                        BulkCreateUserItemDto.builder().index(1).status(BulkCreateUserItemDto.Status.FAILED)
+                                .error("Não foi possível criar usuário com username: joao.silva").build()))
+                .build();
+
+        Mockito.when(userService.createUsers(List.of(createUserDto, createUserDto))).thenReturn(bulkCreateUserResultDto);
+
+        //when
+        final var request = MockMvcRequestBuilders.post("/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkCreateUserDto(List.of(createUserDto, createUserDto))));
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isMultiStatus())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created", Matchers.equalTo(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failed", Matchers.equalTo(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].status", Matchers.equalTo("FAILED")));
+
+        Mockito.verify(userService, Mockito.times(1)).createUsers(ArgumentMatchers.eq(List.of(createUserDto, createUserDto)));
+    }
+
+    @Test
+    public void givenAnInvalidItem_whenCallsBulkCreateUsers_shouldReturnMethodArgumentNotValidException() throws Exception {
+
+        //given
+        var createUserDto = CreateUserDto.builder()
+                .cpf("123456789")
+                .email("joao@silva.com")
+                .phoneNumber("119878674768")
+                .build();
+
+        //when
+        final var request = MockMvcRequestBuilders.post("/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkCreateUserDto(List.of(createUserDto))));
+
+        final var response = mockMvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0]", Matchers.equalTo("'username' should not be null")));
+
+        Mockito.verify(userService, Mockito.times(0)).createUsers(Mockito.any());
+    }
+
     @Test
     public void givenAValidRequest_whenCallsPatchUser_shouldReturnUser() throws Exception {
 
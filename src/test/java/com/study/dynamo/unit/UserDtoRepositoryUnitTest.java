@@ -0,0 +1,64 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.respository.DefaultUserDtoRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+
+@ExtendWith(MockitoExtension.class)
+public class UserDtoRepositoryUnitTest {
+
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    @InjectMocks
+    private DefaultUserDtoRepository userDtoRepository;
+
+    @Test
+    public void givenAnExistingItem_WhenCallsFindByUuid_ThenDecodesItIntoUserDto() {
+
+        var expectedUuid = UUID.randomUUID();
+        var item = Map.of(
+                "user_id", AttributeValue.fromS(expectedUuid.toString()),
+                "username", AttributeValue.fromS("João da Silva"),
+                "email", AttributeValue.fromS("joao.silva@email.com"),
+                "cpf", AttributeValue.fromS("88661696097"));
+
+        var requestCaptor = ArgumentCaptor.forClass(GetItemRequest.class);
+        Mockito.when(dynamoDbClient.getItem(requestCaptor.capture()))
+                .thenReturn(GetItemResponse.builder().item(item).build());
+
+        var userDto = userDtoRepository.findByUuid(expectedUuid).get();
+
+        Assertions.assertEquals(expectedUuid, userDto.uuid());
+        Assertions.assertEquals("João da Silva", userDto.username());
+        Assertions.assertEquals("joao.silva@email.com", userDto.email());
+        Assertions.assertEquals("88661696097", userDto.cpf());
+        Assertions.assertNull(userDto.phoneNumber());
+        Assertions.assertEquals("user_table", requestCaptor.getValue().tableName());
+        Assertions.assertEquals(expectedUuid.toString(), requestCaptor.getValue().key().get("user_id").s());
+    }
+
+    @Test
+    public void givenAMissingItem_WhenCallsFindByUuid_ThenReturnsEmpty() {
+
+        Mockito.when(dynamoDbClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().build());
+
+        Assertions.assertTrue(userDtoRepository.findByUuid(UUID.randomUUID()).isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserItemLayout;
+import com.study.dynamo.service.UserEncodingMigrationJob;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.List;
+
+import static com.study.dynamo.unit.UserEntityFixture.aUserEntity;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class UserEncodingMigrationJobUnitTest {
+
+    @Mock
+    private DynamoDbEnhancedClient dynamoDbEnhancedClient;
+
+    @Mock
+    private DynamoDbTable<UserEntity> legacyTable;
+
+    @Mock
+    private DynamoDbTable<UserEntity> compactTable;
+
+    private UserEncodingMigrationJob migrationJob;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(dynamoDbEnhancedClient.table(UserItemLayout.LEGACY.tableName(), UserItemLayout.LEGACY.tableSchema()))
+                .thenReturn(legacyTable);
+        Mockito.when(dynamoDbEnhancedClient.table(UserItemLayout.COMPACT.tableName(), UserItemLayout.COMPACT.tableSchema()))
+                .thenReturn(compactTable);
+        migrationJob = new UserEncodingMigrationJob(dynamoDbEnhancedClient, 1000, 100);
+    }
+
+    @Test
+    public void givenLegacyUsers_WhenCallsRun_ThenCopiesThemAndRemovesTheLegacyItems() {
+
+        var userEntities = List.of(aUserEntity(), aUserEntity());
+        givenLegacyItems(userEntities);
+
+        migrationJob.run();
+
+        ArgumentCaptor<PutItemEnhancedRequest<UserEntity>> putCaptor = ArgumentCaptor.captor();
+        Mockito.verify(compactTable, times(2)).putItem(putCaptor.capture());
+        Assertions.assertEquals(userEntities, putCaptor.getAllValues().stream().map(PutItemEnhancedRequest::item).toList());
+        Assertions.assertEquals("attribute_not_exists(#id)", putCaptor.getValue().conditionExpression().expression());
+        Mockito.verify(legacyTable, times(2)).deleteItem(any(DeleteItemEnhancedRequest.class));
+        Assertions.assertEquals(2, migrationJob.migratedCount());
+    }
+
+    @Test
+    public void givenAUserChangedDuringMigration_WhenCallsRun_ThenUndoesTheCopyAndKeepsTheLegacyItem() {
+
+        var userEntity = aUserEntity();
+        givenLegacyItems(List.of(userEntity));
+        Mockito.when(legacyTable.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().build());
+
+        migrationJob.run();
+
+        var undoCaptor = ArgumentCaptor.forClass(DeleteItemEnhancedRequest.class);
+        Mockito.verify(compactTable, times(1)).deleteItem(undoCaptor.capture());
+        Assertions.assertEquals(UserItemLayout.COMPACT.key(userEntity.getUuid()), undoCaptor.getValue().key());
+        Assertions.assertTrue(undoCaptor.getValue().conditionExpression().expressionValues()
+                .containsValue(UserItemLayout.COMPACT.tableSchema().attributeValue(userEntity, "id")));
+        Assertions.assertEquals(0, migrationJob.migratedCount());
+        Assertions.assertEquals(1, migrationJob.conflictedCount());
+    }
+
+    @Test
+    public void givenACopyUpdatedDuringMigration_WhenCallsRun_ThenKeepsTheCopyAndMovesOn() {
+
+        var changedUser = aUserEntity();
+        var otherUser = aUserEntity();
+        givenLegacyItems(List.of(changedUser, otherUser));
+        Mockito.when(legacyTable.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().build())
+                .thenReturn(otherUser);
+        Mockito.when(compactTable.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().build());
+
+        migrationJob.run();
+
+        Assertions.assertEquals(1, migrationJob.conflictedCount());
+        Assertions.assertEquals(1, migrationJob.migratedCount());
+        Assertions.assertEquals(0, migrationJob.failedCount());
+    }
+
+    @Test
+    public void givenAnAlreadyCopiedUser_WhenCallsRun_ThenOnlyRemovesTheLegacyItem() {
+
+        var userEntity = aUserEntity();
+        givenLegacyItems(List.of(userEntity));
+        Mockito.doThrow(ConditionalCheckFailedException.builder().build())
+                .when(compactTable).putItem(Mockito.<PutItemEnhancedRequest<UserEntity>>any());
+
+        migrationJob.run();
+
+        Mockito.verify(legacyTable, times(1)).deleteItem(any(DeleteItemEnhancedRequest.class));
+        Assertions.assertEquals(1, migrationJob.migratedCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenLegacyItems(List<UserEntity> userEntities) {
+        var pageIterable = (PageIterable<UserEntity>) Mockito.mock(PageIterable.class);
+        Mockito.when(pageIterable.items()).thenReturn((SdkIterable<UserEntity>) userEntities::iterator);
+        Mockito.when(legacyTable.scan(any(ScanEnhancedRequest.class))).thenReturn(pageIterable);
+    }
+}
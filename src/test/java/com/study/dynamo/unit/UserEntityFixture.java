@@ -0,0 +1,25 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.respository.entity.UserEntity;
+
+import java.util.UUID;
+
+public final class UserEntityFixture {
+
+    private UserEntityFixture() {
+    }
+
+    public static UserEntity aUserEntity() {
+        return aUserEntity("joao.silva@email.com", "88661696097");
+    }
+
+    public static UserEntity aUserEntity(String email, String cpf) {
+        return UserEntity.builder()
+                .uuid(UUID.randomUUID())
+                .username("João da Silva")
+                .email(email)
+                .cpf(cpf)
+                .phoneNumber("11988435898")
+                .build();
+    }
+}
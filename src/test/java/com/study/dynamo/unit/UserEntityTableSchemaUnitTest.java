@@ -0,0 +1,74 @@
+package com.study.dynamo.unit;
+
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityTableSchema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.util.Set;
+
+import static com.study.dynamo.unit.UserEntityFixture.aUserEntity;
+
+public class UserEntityTableSchemaUnitTest {
+
+    private final TableSchema<UserEntity> beanTableSchema = TableSchema.fromBean(UserEntity.class);
+
+    @Test
+    public void givenAUserEntity_WhenCallsItemToMap_ThenProducesTheSameItemAsTheBeanSchema() {
+
+        var userEntity = aUserEntity();
+
+        Assertions.assertEquals(beanTableSchema.itemToMap(userEntity, true),
+                UserEntityTableSchema.INSTANCE.itemToMap(userEntity, true));
+        Assertions.assertEquals(beanTableSchema.itemToMap(userEntity, false),
+                UserEntityTableSchema.INSTANCE.itemToMap(userEntity, false));
+    }
+
+    @Test
+    public void givenAnItemWrittenByTheBeanSchema_WhenCallsMapToItem_ThenReadsTheSameUserEntity() {
+
+        var userEntity = aUserEntity();
+
+        var item = beanTableSchema.itemToMap(userEntity, true);
+
+        Assertions.assertEquals(userEntity, UserEntityTableSchema.INSTANCE.mapToItem(item));
+    }
+
+    @Test
+    public void givenTheStaticSchema_WhenCallsTableMetadata_ThenUsesUserIdAsPartitionKey() {
+
+        TableMetadata tableMetadata = UserEntityTableSchema.INSTANCE.tableMetadata();
+
+        Assertions.assertEquals(beanTableSchema.tableMetadata().primaryPartitionKey(), tableMetadata.primaryPartitionKey());
+        Assertions.assertEquals(Set.copyOf(beanTableSchema.attributeNames()), Set.copyOf(UserEntityTableSchema.INSTANCE.attributeNames()));
+    }
+
+    @Test
+    public void givenTheStaticSchemas_WhenCallsIndexPartitionKey_ThenDeclaresEmailAndCpfIndexes() {
+
+        TableMetadata tableMetadata = UserEntityTableSchema.INSTANCE.tableMetadata();
+
+        Assertions.assertEquals(beanTableSchema.tableMetadata().indexPartitionKey(UserEntity.EMAIL_INDEX),
+                tableMetadata.indexPartitionKey(UserEntity.EMAIL_INDEX));
+        Assertions.assertEquals(beanTableSchema.tableMetadata().indexPartitionKey(UserEntity.CPF_INDEX),
+                tableMetadata.indexPartitionKey(UserEntity.CPF_INDEX));
+        Assertions.assertEquals("e", UserEntityTableSchema.COMPACT.tableMetadata().indexPartitionKey(UserEntity.EMAIL_INDEX));
+        Assertions.assertEquals("c", UserEntityTableSchema.COMPACT.tableMetadata().indexPartitionKey(UserEntity.CPF_INDEX));
+    }
+
+    @Test
+    public void givenAUserEntity_WhenCallsCompactItemToMap_ThenUsesBinaryKeyAndShortNames() {
+
+        var userEntity = aUserEntity().toBuilder()
+                .phoneNumber(null)
+                .build();
+
+        var item = UserEntityTableSchema.COMPACT.itemToMap(userEntity, true);
+
+        Assertions.assertEquals(Set.of("id", "u", "e", "c"), item.keySet());
+        Assertions.assertEquals(16, item.get("id").b().asByteArray().length);
+        Assertions.assertEquals(userEntity, UserEntityTableSchema.COMPACT.mapToItem(item));
+    }
+}
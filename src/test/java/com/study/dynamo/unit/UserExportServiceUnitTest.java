@@ -0,0 +1,174 @@
+package com.study.dynamo.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.exception.UserNotRetrievedException;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.UserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityPage;
+import com.study.dynamo.service.DefaultUserExportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static com.study.dynamo.unit.UserEntityFixture.aUserEntity;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExportServiceUnitTest {
+
+    private static final int SEGMENTS = 2;
+
+    private static final int PAGE_SIZE = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @TempDir
+    private Path directory;
+
+    private DefaultUserExportService userExportService;
+
+    private final List<UserEntity> segmentZero = List.of(aUserEntity(), aUserEntity(), aUserEntity());
+
+    private final List<UserEntity> segmentOne = List.of(aUserEntity());
+
+    @BeforeEach
+    public void setUp() {
+        userExportService = new DefaultUserExportService(userRepository, Mappers.getMapper(UserMapper.class),
+                objectMapper, SEGMENTS, PAGE_SIZE, 1_000_000, false);
+    }
+
+    @Test
+    public void givenTwoSegments_WhenCallsExport_ThenWritesEveryUserAsOneJsonLine() throws IOException {
+
+        givenSegmentPages();
+
+        var output = new ByteArrayOutputStream();
+        userExportService.export(output, false);
+
+        Assertions.assertEquals(expectedUuids(), readUuids(new ByteArrayInputStream(output.toByteArray())));
+    }
+
+    @Test
+    public void givenGzip_WhenCallsExport_ThenWritesAValidGzipStream() throws IOException {
+
+        givenSegmentPages();
+
+        var output = new ByteArrayOutputStream();
+        userExportService.export(output, true);
+
+        Assertions.assertEquals(expectedUuids(),
+                readUuids(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))));
+    }
+
+    @Test
+    public void givenAFailureBeforeAnyPage_WhenCallsExport_ThenThrowsUserNotRetrievedException() {
+
+        Mockito.when(userRepository.findSegmentPage(anyInt(), Mockito.eq(SEGMENTS), anyInt(), isNull()))
+                .thenThrow(IllegalStateException.class);
+
+        Assertions.assertThrows(UserNotRetrievedException.class,
+                () -> userExportService.export(new ByteArrayOutputStream(), true));
+    }
+
+    @Test
+    public void givenAFailureAfterTheFirstPage_WhenCallsExport_ThenThrowsIOExceptionWithoutFinishingTheGzip() {
+
+        Mockito.when(userRepository.findSegmentPage(0, SEGMENTS, PAGE_SIZE, null))
+                .thenReturn(new UserEntityPage(segmentZero.subList(0, 2), "page-2"));
+        Mockito.when(userRepository.findSegmentPage(0, SEGMENTS, PAGE_SIZE, "page-2"))
+                .thenThrow(IllegalStateException.class);
+        Mockito.lenient().when(userRepository.findSegmentPage(1, SEGMENTS, PAGE_SIZE, null))
+                .thenReturn(new UserEntityPage(segmentOne, null));
+        var output = new ByteArrayOutputStream();
+
+        var exception = Assertions.assertThrows(IOException.class, () -> userExportService.export(output, true));
+
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+        Assertions.assertThrows(EOFException.class,
+                () -> new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())).readAllBytes());
+    }
+
+    @Test
+    public void givenAFailureMidSegment_WhenCallsExportToDirectoryAgain_ThenResumesWithoutDuplicates() throws IOException {
+
+        Mockito.when(userRepository.findSegmentPage(0, SEGMENTS, PAGE_SIZE, null))
+                .thenReturn(new UserEntityPage(segmentZero.subList(0, 2), "page-2", 5));
+        Mockito.when(userRepository.findSegmentPage(0, SEGMENTS, PAGE_SIZE, "page-2"))
+                .thenThrow(IllegalStateException.class)
+                .thenReturn(new UserEntityPage(segmentZero.subList(2, 3), null, 5));
+        Mockito.when(userRepository.findSegmentPage(1, SEGMENTS, PAGE_SIZE, null))
+                .thenReturn(new UserEntityPage(segmentOne, null, 5));
+
+        Assertions.assertThrows(UserNotRetrievedException.class, () -> userExportService.exportToDirectory(directory, true));
+        userExportService.exportToDirectory(directory, true);
+
+        var uuids = new ArrayList<UUID>();
+        for (var segment = 0; segment < SEGMENTS; segment++) {
+            var file = directory.resolve(String.format("users-%d-of-%d.ndjson.gz", segment, SEGMENTS));
+            uuids.addAll(readUuidList(new GZIPInputStream(Files.newInputStream(file))));
+        }
+        Assertions.assertEquals(expectedUuids().size(), uuids.size());
+        Assertions.assertEquals(expectedUuids(), Set.copyOf(uuids));
+        Mockito.verify(userRepository, Mockito.times(1)).findSegmentPage(0, SEGMENTS, PAGE_SIZE, null);
+        Mockito.verify(userRepository, Mockito.times(1)).findSegmentPage(1, SEGMENTS, PAGE_SIZE, null);
+    }
+
+    private void givenSegmentPages() {
+        Mockito.when(userRepository.findSegmentPage(Mockito.eq(0), Mockito.eq(SEGMENTS), anyInt(), isNull()))
+                .thenReturn(new UserEntityPage(segmentZero.subList(0, 2), "page-2"));
+        Mockito.when(userRepository.findSegmentPage(Mockito.eq(0), Mockito.eq(SEGMENTS), anyInt(), Mockito.eq("page-2")))
+                .thenReturn(new UserEntityPage(segmentZero.subList(2, 3), null));
+        Mockito.when(userRepository.findSegmentPage(Mockito.eq(1), Mockito.eq(SEGMENTS), anyInt(), isNull()))
+                .thenReturn(new UserEntityPage(segmentOne, null));
+    }
+
+    private Set<UUID> expectedUuids() {
+        var uuids = new HashSet<UUID>();
+        segmentZero.forEach(userEntity -> uuids.add(userEntity.getUuid()));
+        segmentOne.forEach(userEntity -> uuids.add(userEntity.getUuid()));
+        return uuids;
+    }
+
+    private List<UUID> readUuidList(InputStream inputStream) throws IOException {
+        var uuids = new ArrayList<UUID>();
+        try (inputStream) {
+            for (var line : new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                uuids.add(objectMapper.readValue(line, UserDto.class).uuid());
+            }
+        }
+        return uuids;
+    }
+
+    private Set<UUID> readUuids(InputStream inputStream) throws IOException {
+        var uuids = readUuidList(inputStream);
+        Assertions.assertEquals(uuids.size(), Set.copyOf(uuids).size());
+        return Set.copyOf(uuids);
+    }
+}
@@ -0,0 +1,211 @@
+package com.study.dynamo.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.UserRepository;
+import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.service.DefaultUserImportService;
+import com.study.dynamo.service.UserImportFormat;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyList;
+
+@ExtendWith(MockitoExtension.class)
+public class UserImportServiceUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    public void givenAnNdjsonFile_WhenCallsImportUsers_ThenSavesValidRowsInBatchesAndRejectsTheRest() throws IOException {
+
+        var input = new StringBuilder();
+        for (var index = 0; index < 30; index++) {
+            input.append(aJsonLine("user-" + index)).append('\n');
+        }
+        input.append("{\"username\": \n");
+        input.append("{\"username\":\"sem email\",\"cpf\":\"88661696097\",\"phoneNumber\":\"11988435898\"}\n");
+
+        var savedUserEntities = new ArrayList<UserEntity>();
+        Mockito.when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            synchronized (savedUserEntities) {
+                savedUserEntities.addAll(invocation.getArgument(0));
+            }
+            return List.of();
+        });
+
+        var rejects = new StringWriter();
+        var result = importService(2, 4).importUsers(new StringReader(input.toString()), UserImportFormat.NDJSON, rejects);
+
+        Assertions.assertEquals(32, result.read());
+        Assertions.assertEquals(30, result.imported());
+        Assertions.assertEquals(2, result.rejected());
+        Assertions.assertEquals(30, savedUserEntities.size());
+        Mockito.verify(userRepository, Mockito.times(2)).saveAll(anyList());
+
+        var rejectedLines = rejects.toString().lines().map(this::readTree).toList();
+        Assertions.assertEquals(List.of(31L, 32L), rejectedLines.stream().map(reject -> reject.get("line").asLong()).sorted().toList());
+        Assertions.assertTrue(rejectedLines.stream().anyMatch(reject -> reject.get("error").asText().contains("'email' should not be null")));
+    }
+
+    @Test
+    public void givenACsvFileAndAnUnprocessedItem_WhenCallsImportUsers_ThenRejectsItWithItsLineNumber() throws IOException {
+
+        var input = """
+                username,email,cpf,phone_number
+                "Silva, João",joao.silva@email.com,88661696097,11988435898
+                Maria,maria@email.com,12345678901,11911112222
+                """;
+
+        ArgumentCaptor<List<UserEntity>> captor = ArgumentCaptor.captor();
+        Mockito.when(userRepository.saveAll(captor.capture())).thenAnswer(invocation -> {
+            List<UserEntity> userEntities = invocation.getArgument(0);
+            return List.of(userEntities.get(1));
+        });
+
+        var rejects = new StringWriter();
+        var result = importService(1, 1).importUsers(new StringReader(input), UserImportFormat.CSV, rejects);
+
+        Assertions.assertEquals(1, result.imported());
+        Assertions.assertEquals(1, result.rejected());
+        var userEntity = captor.getValue().get(0);
+        Assertions.assertEquals("Silva, João", userEntity.getUsername());
+        Assertions.assertEquals("11988435898", userEntity.getPhoneNumber());
+        Assertions.assertEquals(3, readTree(rejects.toString().trim()).get("line").asInt());
+    }
+
+    @Test
+    public void givenSlowWorkers_WhenCallsImportUsers_ThenStopsReadingUntilTheQueueDrains() throws Exception {
+
+        var release = new CountDownLatch(1);
+        Mockito.when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        var lines = 5_000;
+        var linesProduced = new AtomicInteger();
+        var reader = new GeneratedReader(lines, linesProduced);
+
+        var result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return importService(1, 1).importUsers(reader, UserImportFormat.NDJSON, new StringWriter());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        Assertions.assertTrue(linesProduced.get() < 1_000, "leu " + linesProduced.get() + " linhas sem backpressure");
+
+        release.countDown();
+        Assertions.assertEquals(lines, result.get(10, TimeUnit.SECONDS).imported());
+    }
+
+    @Test
+    public void givenWorkersThatFail_WhenCallsImportUsers_ThenAbortsWithTheWorkerFailure() {
+
+        Mockito.when(userRepository.saveAll(anyList())).thenThrow(new IllegalStateException("dynamo fora"));
+        var rejects = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("disco cheio");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        var exception = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> Assertions.assertThrows(
+                IOException.class,
+                () -> importService(2, 1).importUsers(new GeneratedReader(50_000, new AtomicInteger()),
+                        UserImportFormat.NDJSON, rejects)));
+
+        Assertions.assertEquals("disco cheio", exception.getMessage());
+    }
+
+    private DefaultUserImportService importService(int workers, int queueCapacity) {
+        return new DefaultUserImportService(userRepository, Mappers.getMapper(UserMapper.class), objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), workers, queueCapacity, 10, false);
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String aJsonLine(String username) {
+        return String.format("{\"username\":\"%s\",\"email\":\"%s@email.com\",\"cpf\":\"88661696097\",\"phoneNumber\":\"11988435898\"}",
+                username, username);
+    }
+
+    /**
+     * Gera as linhas sob demanda e conta quantas ja foram entregues ao leitor.
+     */
+    private static class GeneratedReader extends Reader {
+
+        private final int lines;
+
+        private final AtomicInteger linesProduced;
+
+        private String current = "";
+
+        private int position;
+
+        private GeneratedReader(int lines, AtomicInteger linesProduced) {
+            this.lines = lines;
+            this.linesProduced = linesProduced;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == current.length()) {
+                if (linesProduced.get() == lines) {
+                    return -1;
+                }
+                current = aJsonLine("user-" + linesProduced.incrementAndGet()) + "\n";
+                position = 0;
+            }
+            var count = Math.min(length, current.length() - position);
+            current.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -1,21 +1,51 @@
 package com.study.dynamo.unit;
 
+import com.study.dynamo.dto.ReadConsistency;
 import com.study.dynamo.respository.DefaultUserRepository;
 import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityTableSchema;
+import com.study.dynamo.respository.support.UserPageCursor;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.IgnoreNullsMode;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -30,13 +60,19 @@ public class UserRepositoryUnitTest {
     @Mock
     private DynamoDbTable<UserEntity> dynamoDbTable;
 
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    @Spy
+    private ExecutorService batchExecutor = Executors.newSingleThreadExecutor();
+
     @InjectMocks
     private DefaultUserRepository userRepository;
 
     @BeforeEach
     public void setUp() {
         Mockito.when(dynamoDbEnhancedClient.table(anyString(),
-                Mockito.eq(TableSchema.fromBean(UserEntity.class)))).thenReturn(dynamoDbTable);
+                Mockito.eq(UserEntityTableSchema.INSTANCE))).thenReturn(dynamoDbTable);
     }
 
     @Test
@@ -79,6 +115,50 @@ public class UserRepositoryUnitTest {
         Mockito.verify(dynamoDbTable, times(1)).getItem(any(Key.class));
     }
 
+    @Test
+    public void givenValidUuids_WhenCallsFindAllByUuids_ThenRetriesUnprocessedKeysAndReturnsAllUserEntities() {
+
+        var firstUserEntity = UserEntity.builder().uuid(UUID.randomUUID()).username("first").build();
+        var secondUserEntity = UserEntity.builder().uuid(UUID.randomUUID()).username("second").build();
+
+        Mockito.when(dynamoDbTable.tableSchema()).thenReturn(UserEntityTableSchema.INSTANCE);
+        Mockito.when(dynamoDbTable.tableName()).thenReturn("user_table");
+
+        var firstPage = Mockito.mock(BatchGetResultPage.class);
+        Mockito.when(firstPage.resultsForTable(dynamoDbTable)).thenReturn(List.of(firstUserEntity));
+        Mockito.when(firstPage.unprocessedKeysForTable(dynamoDbTable))
+                .thenReturn(List.of(Key.builder().partitionValue(secondUserEntity.getUuid().toString()).build()));
+
+        var secondPage = Mockito.mock(BatchGetResultPage.class);
+        Mockito.when(secondPage.resultsForTable(dynamoDbTable)).thenReturn(List.of(secondUserEntity));
+        Mockito.when(secondPage.unprocessedKeysForTable(dynamoDbTable)).thenReturn(List.of());
+
+        Mockito.when(dynamoDbEnhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class)))
+                .thenReturn(BatchGetResultPageIterable.create(() -> List.of(firstPage, secondPage).iterator()));
+
+        var response = userRepository.findAllByUuids(List.of(firstUserEntity.getUuid(), secondUserEntity.getUuid()));
+
+        Assertions.assertEquals(List.of(firstUserEntity, secondUserEntity), response);
+        Mockito.verify(dynamoDbEnhancedClient, times(1)).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+    }
+
+    @Test
+    public void givenKeysAlwaysUnprocessed_WhenCallsFindAllByUuids_ThenThrowsException() {
+
+        Mockito.when(dynamoDbTable.tableSchema()).thenReturn(UserEntityTableSchema.INSTANCE);
+        Mockito.when(dynamoDbTable.tableName()).thenReturn("user_table");
+
+        var page = Mockito.mock(BatchGetResultPage.class);
+        Mockito.when(page.unprocessedKeysForTable(dynamoDbTable))
+                .thenReturn(List.of(Key.builder().partitionValue(UUID.randomUUID().toString()).build()));
+
+        Mockito.when(dynamoDbEnhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class)))
+                .thenReturn(BatchGetResultPageIterable.create(() -> Stream.generate(() -> page).iterator()));
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> userRepository.findAllByUuids(List.of(UUID.randomUUID())));
+    }
+
     @Test
     public void givenAUserEntity_WhenCallsSave_ThenPutItemIsCalled() {
 
@@ -95,30 +175,213 @@ public class UserRepositoryUnitTest {
         Mockito.verify(dynamoDbTable, times(1)).putItem(userEntity);
     }
 
+    @Test
+    public void givenUserEntities_WhenCallsSaveAll_ThenResubmitsUnprocessedItemsAndReturnsNothingUnsaved() {
+
+        Mockito.when(dynamoDbTable.tableSchema()).thenReturn(UserEntityTableSchema.INSTANCE);
+        Mockito.when(dynamoDbTable.tableName()).thenReturn("user_table");
+
+        var userEntities = Stream.generate(() -> UserEntity.builder().uuid(UUID.randomUUID()).username("user").build())
+                .limit(30)
+                .toList();
+
+        var partiallyProcessed = Mockito.mock(BatchWriteResult.class);
+        Mockito.when(partiallyProcessed.unprocessedPutItemsForTable(dynamoDbTable)).thenReturn(List.of(userEntities.get(0)));
+        var fullyProcessed = Mockito.mock(BatchWriteResult.class);
+        Mockito.when(fullyProcessed.unprocessedPutItemsForTable(dynamoDbTable)).thenReturn(List.of());
+
+        Mockito.when(dynamoDbEnhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class)))
+                .thenReturn(partiallyProcessed, fullyProcessed);
+
+        var unsaved = userRepository.saveAll(userEntities);
+
+        Assertions.assertTrue(unsaved.isEmpty());
+        Mockito.verify(dynamoDbEnhancedClient, times(3)).batchWriteItem(any(BatchWriteItemEnhancedRequest.class));
+    }
+
+    @Test
+    public void givenAFailingBatch_WhenCallsSaveAll_ThenReturnsTheWholeChunkAsUnsaved() {
+
+        Mockito.when(dynamoDbTable.tableSchema()).thenReturn(UserEntityTableSchema.INSTANCE);
+        Mockito.when(dynamoDbTable.tableName()).thenReturn("user_table");
+
+        var userEntities = List.of(UserEntity.builder().uuid(UUID.randomUUID()).username("user").build());
+
+        Mockito.when(dynamoDbEnhancedClient.batchWriteItem(any(BatchWriteItemEnhancedRequest.class)))
+                .thenThrow(IllegalArgumentException.class);
+
+        var unsaved = userRepository.saveAll(userEntities);
+
+        Assertions.assertEquals(userEntities, unsaved);
+    }
+
+    @Test
+    public void givenFields_WhenCallsFindByUuid_ThenProjectsOnlyTheRequestedAttributes() {
+        var expectedUuid = UUID.randomUUID();
+
+        Mockito.when(dynamoDbTable.tableName()).thenReturn("user_table");
+        Mockito.when(dynamoDbTable.tableSchema()).thenReturn(UserEntityTableSchema.INSTANCE);
+        var requestCaptor = ArgumentCaptor.forClass(GetItemRequest.class);
+        Mockito.when(dynamoDbClient.getItem(requestCaptor.capture())).thenReturn(GetItemResponse.builder()
+                .item(Map.of(
+                        "user_id", AttributeValue.fromS(expectedUuid.toString()),
+                        "phone_number", AttributeValue.fromS("11988435898")))
+                .build());
+
+        var userEntity = userRepository.findByUuid(expectedUuid, Set.of("phoneNumber"), ReadConsistency.EVENTUAL).get();
+
+        Assertions.assertEquals(UserEntity.builder().uuid(expectedUuid).phoneNumber("11988435898").build(), userEntity);
+        var request = requestCaptor.getValue();
+        Assertions.assertEquals("user_table", request.tableName());
+        Assertions.assertEquals(Set.of("#uuid", "#phoneNumber"), Set.of(request.projectionExpression().split(", ")));
+        Assertions.assertEquals(Map.of("#uuid", "user_id", "#phoneNumber", "phone_number"), request.expressionAttributeNames());
+        Assertions.assertFalse(request.consistentRead());
+    }
+
+    @Test
+    public void givenStrongConsistency_WhenCallsFindByUuid_ThenIssuesAConsistentGetItem() {
+        var expectedUserEntity = UserEntity.builder().uuid(UUID.randomUUID()).build();
+
+        var requestCaptor = ArgumentCaptor.forClass(GetItemEnhancedRequest.class);
+        Mockito.when(dynamoDbTable.getItem(requestCaptor.capture())).thenReturn(expectedUserEntity);
+
+        var userEntity = userRepository.findByUuid(expectedUserEntity.getUuid(), ReadConsistency.STRONG);
+
+        Assertions.assertEquals(expectedUserEntity, userEntity.get());
+        Assertions.assertTrue(requestCaptor.getValue().consistentRead());
+        Assertions.assertEquals(expectedUserEntity.getUuid().toString(), requestCaptor.getValue().key().partitionKeyValue().s());
+        Mockito.verify(dynamoDbTable, times(0)).getItem(any(Key.class));
+    }
+
+    @Test
+    public void givenAMissingUser_WhenCallsFindByUuidWithFields_ThenReturnsEmpty() {
+        Mockito.when(dynamoDbTable.tableName()).thenReturn("user_table");
+        Mockito.when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder().build());
+
+        Assertions.assertTrue(userRepository.findByUuid(UUID.randomUUID(), Set.of("username"), ReadConsistency.STRONG).isEmpty());
+    }
+
     @Test
     public void givenAUserEntity_WhenCallsPatch_ThenUpdateItemIsCalledAndReturnUpdatedEntity() {
-        var userEntity = UserEntity.builder()
+        var userEntityToPatch = UserEntity.builder()
                 .uuid(UUID.randomUUID())
                 .username("Updated User")
+                .build();
+        var userEntity = userEntityToPatch.toBuilder()
                 .email("updated@user.com")
                 .cpf("98765432100")
                 .phoneNumber("0987654321")
                 .build();
 
-        Mockito.when(dynamoDbTable.updateItem(userEntity)).thenReturn(userEntity);
+        ArgumentCaptor<UpdateItemEnhancedRequest<UserEntity>> requestCaptor = ArgumentCaptor.captor();
+        Mockito.when(dynamoDbTable.updateItem(requestCaptor.capture())).thenReturn(userEntity);
 
-        var updatedUser = userRepository.patch(userEntity);
+        var updatedUser = userRepository.patch(userEntityToPatch);
 
-        Assertions.assertEquals(userEntity, updatedUser);
-        Mockito.verify(dynamoDbTable, times(1)).updateItem(userEntity);
+        Assertions.assertEquals(userEntity, updatedUser.get());
+        Assertions.assertEquals(userEntityToPatch, requestCaptor.getValue().item());
+        Assertions.assertEquals(IgnoreNullsMode.SCALAR_ONLY, requestCaptor.getValue().ignoreNullsMode());
+        Assertions.assertEquals("attribute_exists(#user_id)", requestCaptor.getValue().conditionExpression().expression());
     }
 
     @Test
-    public void givenAUuid_WhenCallsDelete_ThenDeleteItemIsCalled() {
+    public void givenAMissingUser_WhenCallsPatch_ThenReturnsEmpty() {
+        var userEntity = UserEntity.builder()
+                .uuid(UUID.randomUUID())
+                .username("Updated User")
+                .build();
+
+        Mockito.when(dynamoDbTable.updateItem(Mockito.<UpdateItemEnhancedRequest<UserEntity>>any()))
+                .thenThrow(ConditionalCheckFailedException.builder().message("The conditional request failed").build());
+
+        Assertions.assertTrue(userRepository.patch(userEntity).isEmpty());
+    }
+
+    @Test
+    public void givenAUuid_WhenCallsDelete_ThenDeleteItemIsCalledAndReturnDeletedEntity() {
         var uuidToDelete = UUID.randomUUID();
+        var userEntity = UserEntity.builder().uuid(uuidToDelete).build();
+
+        var requestCaptor = ArgumentCaptor.forClass(DeleteItemEnhancedRequest.class);
+        Mockito.when(dynamoDbTable.deleteItem(requestCaptor.capture())).thenReturn(userEntity);
+
+        var deletedUser = userRepository.delete(uuidToDelete);
+
+        Assertions.assertEquals(userEntity, deletedUser.get());
+        Assertions.assertEquals(uuidToDelete.toString(), requestCaptor.getValue().key().partitionKeyValue().s());
+        Assertions.assertEquals("attribute_exists(#user_id)", requestCaptor.getValue().conditionExpression().expression());
+    }
+
+    @Test
+    public void givenAMissingUser_WhenCallsDelete_ThenReturnsEmpty() {
+        Mockito.when(dynamoDbTable.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("The conditional request failed").build());
+
+        Assertions.assertTrue(userRepository.delete(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenAnIndexedEmail_WhenCallsFindByEmail_ThenQueriesEmailIndexAcrossPages() {
+        var emailIndex = (DynamoDbIndex<UserEntity>) Mockito.mock(DynamoDbIndex.class);
+        var first = UserEntity.builder().uuid(UUID.randomUUID()).email("joao.silva@email.com").build();
+        var second = UserEntity.builder().uuid(UUID.randomUUID()).email("joao.silva@email.com").build();
+        SdkIterable<Page<UserEntity>> pages = () -> List.of(
+                Page.builder(UserEntity.class).items(List.of(first)).build(),
+                Page.builder(UserEntity.class).items(List.of(second)).build()).iterator();
+
+        var queryCaptor = ArgumentCaptor.forClass(QueryConditional.class);
+        Mockito.when(dynamoDbTable.index(UserEntity.EMAIL_INDEX)).thenReturn(emailIndex);
+        Mockito.when(emailIndex.query(queryCaptor.capture())).thenReturn(pages);
+
+        var result = userRepository.findByEmail("joao.silva@email.com");
+
+        Assertions.assertEquals(List.of(first, second), result);
+        var expression = queryCaptor.getValue().expression(UserEntityTableSchema.INSTANCE, UserEntity.EMAIL_INDEX);
+        Assertions.assertEquals("joao.silva@email.com", expression.expressionValues().values().iterator().next().s());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenAnUnknownCpf_WhenCallsFindByCpf_ThenReturnsEmptyList() {
+        var cpfIndex = (DynamoDbIndex<UserEntity>) Mockito.mock(DynamoDbIndex.class);
+        SdkIterable<Page<UserEntity>> pages = () -> List.of(Page.builder(UserEntity.class).items(List.of()).build()).iterator();
+
+        Mockito.when(dynamoDbTable.index(UserEntity.CPF_INDEX)).thenReturn(cpfIndex);
+        Mockito.when(cpfIndex.query(any(QueryConditional.class))).thenReturn(pages);
+
+        Assertions.assertTrue(userRepository.findByCpf("88661696097").isEmpty());
+    }
+
+    @Test
+    public void givenACursor_WhenCallsFindPage_ThenScansFromItAndEncodesTheLastEvaluatedKey() {
+        var startUuid = UUID.randomUUID();
+        var lastUuid = UUID.randomUUID();
+        var userEntity = UserEntity.builder().uuid(lastUuid).build();
+        var page = Page.builder(UserEntity.class)
+                .items(List.of(userEntity))
+                .lastEvaluatedKey(Map.of("user_id", AttributeValue.fromS(lastUuid.toString())))
+                .build();
+
+        var requestCaptor = ArgumentCaptor.forClass(ScanEnhancedRequest.class);
+        Mockito.when(dynamoDbTable.scan(requestCaptor.capture())).thenReturn(PageIterable.create(() -> List.of(page).iterator()));
+
+        var result = userRepository.findPage(10, UserPageCursor.encode(startUuid));
+
+        Assertions.assertEquals(List.of(userEntity), result.userEntities());
+        Assertions.assertEquals(lastUuid, UserPageCursor.decode(result.nextCursor()));
+        Assertions.assertEquals(10, requestCaptor.getValue().limit());
+        Assertions.assertEquals(startUuid.toString(), requestCaptor.getValue().exclusiveStartKey().get("user_id").s());
+    }
+
+    @Test
+    public void givenTheLastPage_WhenCallsFindPage_ThenReturnsNullCursor() {
+        var page = Page.builder(UserEntity.class)
+                .items(List.of(UserEntity.builder().uuid(UUID.randomUUID()).build()))
+                .build();
 
-        userRepository.delete(uuidToDelete);
+        Mockito.when(dynamoDbTable.scan(any(ScanEnhancedRequest.class))).thenReturn(PageIterable.create(() -> List.of(page).iterator()));
 
-        Mockito.verify(dynamoDbTable, times(1)).deleteItem(any(Key.class));
+        Assertions.assertNull(userRepository.findPage(10, null).nextCursor());
     }
 }
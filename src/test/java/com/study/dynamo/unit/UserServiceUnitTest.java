@@ -1,23 +1,33 @@
 package com.study.dynamo.unit;
 
+import com.study.dynamo.dto.BulkCreateUserItemDto;
 import com.study.dynamo.dto.CreateUserDto;
+import com.study.dynamo.dto.ReadConsistency;
 import com.study.dynamo.dto.UpdateUserDto;
+import com.study.dynamo.dto.UserDto;
+import com.study.dynamo.exception.UserNotDeletedException;
+import com.study.dynamo.exception.InvalidCursorException;
 import com.study.dynamo.exception.UserNotFoundException;
 import com.study.dynamo.exception.UserNotPatchedException;
+import com.study.dynamo.exception.UserNotRetrievedException;
 import com.study.dynamo.mapper.UserMapper;
+import com.study.dynamo.respository.UserDtoRepository;
 import com.study.dynamo.respository.UserRepository;
 import com.study.dynamo.respository.entity.UserEntity;
+import com.study.dynamo.respository.entity.UserEntityPage;
 import com.study.dynamo.service.DefaultUserService;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.anyString;
@@ -32,9 +42,16 @@ public class UserServiceUnitTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private UserDtoRepository userDtoRepository;
+
     private DefaultUserService userService;
 
+    @BeforeEach
+    public void setUp() {
+        userService = new DefaultUserService(userMapper, userRepository, Optional.empty());
+    }
+
 
     // 1. Teste feliz ao encontrar usuario
     // 2. Teste de erro ao encontrar usuario
@@ -80,23 +97,144 @@ public class UserServiceUnitTest {
 
     }
 
+    @Test
+    public void givenUuids_whenCallsFindUsersByUuids_shouldKeepRequestOrderAndReportMissingUuids() {
+
+        var firstUuid = UUID.randomUUID();
+        var missingUuid = UUID.randomUUID();
+        var secondUuid = UUID.randomUUID();
+
+        var firstUserEntity = UserEntity.builder().uuid(firstUuid).username("first").build();
+        var secondUserEntity = UserEntity.builder().uuid(secondUuid).username("second").build();
+
+        when(userRepository.findAllByUuids(anyCollection())).thenReturn(List.of(secondUserEntity, firstUserEntity));
+
+        var result = userService.findUsersByUuids(List.of(firstUuid, missingUuid, secondUuid, firstUuid));
+
+        Assertions.assertEquals(List.of(firstUuid, secondUuid), result.users().stream().map(UserDto::uuid).toList());
+        Assertions.assertEquals(List.of(missingUuid), result.missingUuids());
+        verify(userRepository, times(1)).findAllByUuids(anyCollection());
+    }
+
+    @Test
+    public void givenARepositoryFailure_whenCallsFindUsersByUuids_shouldThrowsUserNotRetrievedException() {
+
+        when(userRepository.findAllByUuids(anyCollection())).thenThrow(IllegalStateException.class);
+
+        Assertions.assertThrows(UserNotRetrievedException.class,
+                () -> userService.findUsersByUuids(List.of(UUID.randomUUID())));
+    }
+
+    @Test
+    public void givenAnIndexedEmail_whenCallsFindUsersByEmail_shouldReturnUserDtos() {
+
+        var userEntity = UserEntity.builder()
+                .uuid(UUID.randomUUID())
+                .username("João da Silva")
+                .email("joao.silva@email.com")
+                .build();
+
+        when(userRepository.findByEmail("joao.silva@email.com")).thenReturn(List.of(userEntity));
+
+        var result = userService.findUsersByEmail("joao.silva@email.com");
+
+        Assertions.assertEquals(List.of(userEntity.getUuid()), result.stream().map(UserDto::uuid).toList());
+    }
+
+    @Test
+    public void givenARepositoryFailure_whenCallsFindUsersByCpf_shouldThrowsUserNotRetrievedException() {
+
+        when(userRepository.findByCpf(anyString())).thenThrow(IllegalStateException.class);
+
+        Assertions.assertThrows(UserNotRetrievedException.class, () -> userService.findUsersByCpf("88661696097"));
+    }
+
+    @Test
+    public void givenAPage_whenCallsFindUsers_shouldReturnUsersAndNextCursor() {
+
+        var userEntity = UserEntity.builder().uuid(UUID.randomUUID()).username("João da Silva").build();
+
+        when(userRepository.findPage(50, null)).thenReturn(new UserEntityPage(List.of(userEntity), "next"));
+
+        var result = userService.findUsers(50, null);
+
+        Assertions.assertEquals(List.of(userEntity.getUuid()), result.users().stream().map(UserDto::uuid).toList());
+        Assertions.assertEquals("next", result.nextCursor());
+    }
+
+    @Test
+    public void givenAnInvalidCursor_whenCallsFindUsers_shouldThrowsInvalidCursorException() {
+
+        when(userRepository.findPage(50, "???")).thenThrow(IllegalArgumentException.class);
+
+        Assertions.assertThrows(InvalidCursorException.class, () -> userService.findUsers(50, "???"));
+    }
+
+    @Test
+    public void givenDirectReadEnabled_whenCallsFindUserByUuid_shouldReadUserDtoWithoutUserRepository() {
+
+        var expectedUuid = UUID.randomUUID();
+        var expectedUserDto = UserDto.builder()
+                .uuid(expectedUuid)
+                .username("João da Silva")
+                .build();
+
+        userService = new DefaultUserService(userMapper, userRepository, Optional.of(userDtoRepository));
+        when(userDtoRepository.findByUuid(expectedUuid)).thenReturn(Optional.of(expectedUserDto));
+
+        Assertions.assertEquals(expectedUserDto, userService.findUserByUuid(expectedUuid));
+
+        verify(userRepository, never()).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenDirectReadEnabled_whenCallsFindUserByUuidWithUnknownUuid_shouldThrowsUserNotFoundException() {
+
+        userService = new DefaultUserService(userMapper, userRepository, Optional.of(userDtoRepository));
+        when(userDtoRepository.findByUuid(any(UUID.class))).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(UserNotFoundException.class, () -> userService.findUserByUuid(UUID.randomUUID()));
+    }
+
+    @Test
+    public void givenFields_whenCallsFindUserByUuid_shouldReturnSparseUserDto() {
+
+        var expectedUuid = UUID.randomUUID();
+        var fields = Set.of("username");
+
+        when(userRepository.findByUuid(expectedUuid, fields, ReadConsistency.EVENTUAL))
+                .thenReturn(Optional.of(UserEntity.builder().uuid(expectedUuid).username("João da Silva").build()));
+
+        var userDto = userService.findUserByUuid(expectedUuid, fields, ReadConsistency.EVENTUAL);
+
+        Assertions.assertEquals(expectedUuid, userDto.uuid());
+        Assertions.assertEquals("João da Silva", userDto.username());
+        Assertions.assertNull(userDto.email());
+        verify(userRepository, never()).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenStrongConsistency_whenCallsFindUserByUuid_shouldReadTheWholeUserConsistently() {
+
+        var expectedUuid = UUID.randomUUID();
+
+        when(userRepository.findByUuid(expectedUuid, ReadConsistency.STRONG))
+                .thenReturn(Optional.of(UserEntity.builder().uuid(expectedUuid).username("João da Silva").build()));
+
+        var userDto = userService.findUserByUuid(expectedUuid, Set.of(), ReadConsistency.STRONG);
+
+        Assertions.assertEquals("João da Silva", userDto.username());
+        verify(userRepository, never()).findByUuid(any(UUID.class));
+    }
+
     @Test
     public void givenAnValidUuid_WhenCallsUpdateUser_shouldReturnUserDto() {
 
         var expectedUuid = UUID.randomUUID();
-        var expectedUsername = "João da Silva";
         var expectedEmail = "joao.silva@email.com";
         var expectedCpf = "88661696097";
         var expectedPhoneNumber = "11988435898";
 
-        var aUserEntityFound = UserEntity.builder()
-                .uuid(expectedUuid)
-                .username(expectedUsername)
-                .email(expectedEmail)
-                .cpf(expectedCpf)
-                .phoneNumber(expectedPhoneNumber)
-                .build();
-
         var expectedUpdatedUsername = "João da Silva Updated";
 
         var aUserEntityUpdated = UserEntity.builder()
@@ -107,9 +245,12 @@ public class UserServiceUnitTest {
                 .phoneNumber(expectedPhoneNumber)
                 .build();
 
-        when(userRepository.findByUuid(any(UUID.class))).thenReturn(Optional.ofNullable(aUserEntityFound));
+        var expectedUserEntityToPatch = UserEntity.builder()
+                .uuid(expectedUuid)
+                .username(expectedUpdatedUsername)
+                .build();
 
-        when(userRepository.patch(any(UserEntity.class))).thenReturn(aUserEntityUpdated);
+        when(userRepository.patch(expectedUserEntityToPatch)).thenReturn(Optional.of(aUserEntityUpdated));
 
         var updateUserDto = UpdateUserDto.builder().username(expectedUpdatedUsername).build();
 
@@ -121,39 +262,34 @@ public class UserServiceUnitTest {
         Assertions.assertEquals(expectedCpf, updatedUser.cpf());
         Assertions.assertEquals(expectedPhoneNumber, updatedUser.phoneNumber());
 
-        verify(userRepository, times(1)).findByUuid(any(UUID.class));
-        verify(userRepository, times(1)).patch(any(UserEntity.class));
+        verify(userRepository, never()).findByUuid(any(UUID.class));
+        verify(userRepository, times(1)).patch(expectedUserEntityToPatch);
 
     }
 
     @Test
-    public void givenAnInvalidUuid_WhenCallsCallsUpdateUser_shouldThrowsException() {
+    public void givenAnUnknownUuid_WhenCallsUpdateUser_shouldThrowsUserNotFoundException() {
 
-        var expectedUuid = UUID.randomUUID();
-        var expectedUsername = "João da Silva";
-        var expectedEmail = "joao.silva@email.com";
-        var expectedCpf = "88661696097";
-        var expectedPhoneNumber = "11988435898";
+        var updateUserDto = UpdateUserDto.builder().username("João da Silva Updated").build();
 
-        var aUserEntity = UserEntity.builder()
-                .uuid(expectedUuid)
-                .username(expectedUsername)
-                .email(expectedEmail)
-                .cpf(expectedCpf)
-                .phoneNumber(expectedPhoneNumber)
-                .build();
+        when(userRepository.patch(any(UserEntity.class))).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(UserNotFoundException.class, () -> userService.patchUser(UUID.randomUUID(), updateUserDto));
+
+    }
+
+    @Test
+    public void givenAnInvalidUuid_WhenCallsCallsUpdateUser_shouldThrowsException() {
 
         var expectedUpdatedUsername = "João da Silva Updated";
 
         var updateUserDto = UpdateUserDto.builder().username(expectedUpdatedUsername).build();
 
-        when(userRepository.findByUuid(any(UUID.class))).thenReturn(Optional.ofNullable(aUserEntity));
-
         when(userRepository.patch(any(UserEntity.class))).thenThrow(IllegalArgumentException.class);
 
-        Assertions.assertThrows(UserNotPatchedException.class, () -> userService.patchUser(expectedUuid, updateUserDto));
+        Assertions.assertThrows(UserNotPatchedException.class, () -> userService.patchUser(UUID.randomUUID(), updateUserDto));
 
-        verify(userRepository, times(1)).findByUuid(any(UUID.class));
+        verify(userRepository, never()).findByUuid(any(UUID.class));
 
     }
 
@@ -183,14 +319,58 @@ public class UserServiceUnitTest {
         verify(userRepository, times(1)).save(any(UserEntity.class));
     }
 
+    @Test
+    public void givenCreateUserDtos_whenCallsCreateUsers_shouldReturnOutcomePerItem() {
+
+        var createdUserDto = CreateUserDto.builder().username("created").email("created@email.com")
+                .cpf("88661696097").phoneNumber("11988435898").build();
+        var failedUserDto = CreateUserDto.builder().username("failed").email("failed@email.com")
+                .cpf("88661696097").phoneNumber("11988435898").build();
+
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<UserEntity> userEntities = invocation.getArgument(0);
+            return List.of(userEntities.get(1));
+        });
+
+        var result = userService.createUsers(List.of(createdUserDto, failedUserDto));
+
+        Assertions.assertEquals(1, result.created());
+        Assertions.assertEquals(1, result.failed());
+        Assertions.assertEquals(BulkCreateUserItemDto.Status.CREATED, result.items().get(0).status());
+        Assertions.assertEquals("created", result.items().get(0).user().username());
+        Assertions.assertNotNull(result.items().get(0).user().uuid());
+        Assertions.assertEquals(BulkCreateUserItemDto.Status.FAILED, result.items().get(1).status());
+        Assertions.assertNull(result.items().get(1).user());
+        verify(userRepository, times(1)).saveAll(anyList());
+    }
+
     @Test
     public void givenAValidUuid_whenCallsDeleteUser_shouldReturnVoid() {
 
         var expectedUuid = UUID.randomUUID();
 
+        when(userRepository.delete(expectedUuid)).thenReturn(Optional.of(UserEntity.builder().uuid(expectedUuid).build()));
+
         Assertions.assertDoesNotThrow(() -> userService.deleteUser(expectedUuid));
 
         verify(userRepository, times(1)).delete(any(UUID.class));
+        verify(userRepository, never()).findByUuid(any(UUID.class));
+    }
+
+    @Test
+    public void givenAnUnknownUuid_whenCallsDeleteUser_shouldThrowsUserNotFoundException() {
+
+        when(userRepository.delete(any(UUID.class))).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(UserNotFoundException.class, () -> userService.deleteUser(UUID.randomUUID()));
+    }
+
+    @Test
+    public void givenARepositoryFailure_whenCallsDeleteUser_shouldThrowsUserNotDeletedException() {
+
+        when(userRepository.delete(any(UUID.class))).thenThrow(IllegalStateException.class);
+
+        Assertions.assertThrows(UserNotDeletedException.class, () -> userService.deleteUser(UUID.randomUUID()));
     }
 
 }